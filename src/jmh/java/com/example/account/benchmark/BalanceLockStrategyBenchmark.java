@@ -0,0 +1,95 @@
+package com.example.account.benchmark;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.dto.TransactionDto;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountUserRepository;
+import com.example.account.service.TransactionService;
+import com.example.account.service.lock.BalanceLockStrategy;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.account.type.AccountStatus.IN_USE;
+
+// 잔액 동시성 제어 전략별 처리량과 p99 비교.
+// hot: 모든 스레드가 한 계좌에 몰리는 경우, cold: 1024개 계좌에 고르게 분산되는 경우
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@Threads(16)
+public class BalanceLockStrategyBenchmark {
+    private static final int COLD_ACCOUNTS = 1024;
+    private static final String PASSWORD = "1234";
+
+    @Param({"pessimistic", "optimistic", "striped"})
+    public String strategy;
+
+    @Param({"hot", "cold"})
+    public String contention;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private BalanceLockStrategy balanceLockStrategy;
+    private Long userId;
+    private String[] accountNumbers;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Failures {
+        public long conflicts;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(
+                "account.balance.lock.strategy=" + strategy,
+                "account.transaction.conditional-debit=false");
+        transactionService = context.getBean(TransactionService.class);
+        balanceLockStrategy = context.getBean(BalanceLockStrategy.class);
+
+        AccountUser user = context.getBean(AccountUserRepository.class)
+                .save(AccountUser.builder().name("bench").build());
+        userId = user.getId();
+
+        AccountRepository accountRepository = context.getBean(AccountRepository.class);
+        int count = "hot".equals(contention) ? 1 : COLD_ACCOUNTS;
+        accountNumbers = new String[count];
+        for (int i = 0; i < count; i++) {
+            accountNumbers[i] = String.valueOf(1_000_000_000L + i);
+            accountRepository.save(Account.builder()
+                    .accountUser(user)
+                    .accountNumber(accountNumbers[i])
+                    .accountPassword(PASSWORD)
+                    .balance(Long.MAX_VALUE / 2)
+                    .accountStatus(IN_USE)
+                    .registeredAt(LocalDateTime.now())
+                    .build());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TransactionDto useBalance(Failures failures) {
+        String accountNumber = accountNumbers[ThreadLocalRandom.current().nextInt(accountNumbers.length)];
+        try {
+            return balanceLockStrategy.execute(accountNumber, () ->
+                    transactionService.useBalance(userId, accountNumber, PASSWORD, 1000L));
+        } catch (AccountException e) {
+            failures.conflicts++;
+            return null;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.account.benchmark;
+
+import com.example.account.dto.CreateAccount;
+import com.example.account.serializer.LocalDateTimeSerializer;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocalDateTimeSerializerBenchmark {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LocalDateTimeSerializer serializer = new LocalDateTimeSerializer();
+
+    private LocalDateTime dateTime;
+    private CreateAccount.Response response;
+
+    @Setup
+    public void setUp() {
+        dateTime = LocalDateTime.of(2025, 4, 1, 12, 34, 56);
+        response = CreateAccount.Response.builder()
+                .userId(1L)
+                .accountNumber("1000000000")
+                .accountName("bench")
+                .registeredAt(dateTime)
+                .build();
+    }
+
+    @Benchmark
+    public String serializeLocalDateTime() throws IOException {
+        StringWriter writer = new StringWriter(32);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)) {
+            serializer.serialize(dateTime, generator, objectMapper.getSerializerProvider());
+        }
+        return writer.toString();
+    }
+
+    @Benchmark
+    public String serializeCreateAccountResponse() throws IOException {
+        return objectMapper.writeValueAsString(response);
+    }
+}
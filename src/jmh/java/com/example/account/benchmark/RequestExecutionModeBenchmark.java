@@ -0,0 +1,130 @@
+package com.example.account.benchmark;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountUserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.account.type.AccountStatus.IN_USE;
+
+// 플랫폼 스레드(Tomcat 기본 풀) 와 가상 스레드 요청 처리 비교.
+// 한 번의 호출이 clients 개의 POST /transaction/use 를 동시에 보내고 모두 응답받을 때까지의 시간이다.
+// 가상 스레드 모드는 JDK 21 이 필요하다: ./gradlew jmh -PvirtualThreads -PjmhIncludes=RequestExecutionModeBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 20)
+@Fork(1)
+public class RequestExecutionModeBenchmark {
+    private static final int ACCOUNTS = 1024;
+    private static final String PASSWORD = "1234";
+
+    @Param({"platform", "virtual"})
+    public String threadMode;
+
+    @Param({"1000", "2000"})
+    public int clients;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientExecutor;
+    private HttpClient httpClient;
+    private URI useUri;
+    private Long userId;
+    private String[] accountNumbers;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Responses {
+        public long ok;
+        public long failed;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean virtual = "virtual".equals(threadMode);
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("virtual thread mode requires JDK 21, run with -PvirtualThreads");
+        }
+        context = virtual
+                ? BenchmarkApplication.startServer("spring.profiles.active=virtual-threads")
+                : BenchmarkApplication.startServer();
+
+        AccountUser user = context.getBean(AccountUserRepository.class)
+                .save(AccountUser.builder().name("bench").build());
+        userId = user.getId();
+        AccountRepository accountRepository = context.getBean(AccountRepository.class);
+        accountNumbers = new String[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountNumbers[i] = String.valueOf(1_000_000_000L + i);
+            accountRepository.save(Account.builder()
+                    .accountUser(user)
+                    .accountNumber(accountNumbers[i])
+                    .accountPassword(PASSWORD)
+                    .balance(Long.MAX_VALUE / 2)
+                    .accountStatus(IN_USE)
+                    .registeredAt(LocalDateTime.now())
+                    .build());
+        }
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        useUri = URI.create("http://localhost:" + port + "/transaction/use");
+        clientExecutor = Executors.newFixedThreadPool(16);
+        httpClient = HttpClient.newBuilder()
+                .executor(clientExecutor)
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        clientExecutor.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    public void useBalance(Responses responses) {
+        CompletableFuture<?>[] inFlight = new CompletableFuture<?>[clients];
+        for (int i = 0; i < clients; i++) {
+            inFlight[i] = httpClient.sendAsync(useRequest(), HttpResponse.BodyHandlers.discarding())
+                    .handle((response, e) -> e == null && response.statusCode() == 200);
+        }
+        CompletableFuture.allOf(inFlight).join();
+        for (CompletableFuture<?> response : inFlight) {
+            if ((Boolean) response.join()) {
+                responses.ok++;
+            } else {
+                responses.failed++;
+            }
+        }
+    }
+
+    private HttpRequest useRequest() {
+        String accountNumber = accountNumbers[ThreadLocalRandom.current().nextInt(ACCOUNTS)];
+        String body = "{\"user_id\":" + userId
+                + ",\"account_number\":\"" + accountNumber
+                + "\",\"account_password\":\"" + PASSWORD
+                + "\",\"amount\":1000}";
+        return HttpRequest.newBuilder(useUri)
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.account.benchmark;
+
+import com.example.account.config.TransactionProperties;
+import com.example.account.service.id.TimeOrderedTransactionIdGenerator;
+import com.example.account.service.id.TransactionIdGenerator;
+import com.example.account.service.id.UuidTransactionIdGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// 기존 UUID 방식과 시간순 거래 아이디 생성 비용 비교
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionIdGeneratorBenchmark {
+
+    @Param({"uuid", "time-ordered"})
+    public String generator;
+
+    private TransactionIdGenerator transactionIdGenerator;
+
+    @Setup
+    public void setUp() {
+        if ("uuid".equals(generator)) {
+            transactionIdGenerator = new UuidTransactionIdGenerator();
+        } else {
+            TransactionProperties transactionProperties = new TransactionProperties();
+            transactionProperties.getId().setNodeId(1);
+            transactionIdGenerator = new TimeOrderedTransactionIdGenerator(transactionProperties);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String generateSingleThread() {
+        return transactionIdGenerator.generate();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String generateContended() {
+        return transactionIdGenerator.generate();
+    }
+}
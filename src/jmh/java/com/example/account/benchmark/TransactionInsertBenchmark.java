@@ -0,0 +1,116 @@
+package com.example.account.benchmark;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.domain.Transaction;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountUserRepository;
+import com.example.account.repository.TransactionRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.account.type.AccountStatus.IN_USE;
+import static com.example.account.type.TransactionResultType.S;
+import static com.example.account.type.TransactionType.USE;
+
+// 1,000 건의 차감 거래를 한 트랜잭션에서 저장할 때 실행되는 JDBC statement 수 비교.
+// idAllocationSize=1, jdbcBatchSize=1 이 적용 전(insert 마다 시퀀스 조회), 100/100 이 적용 후 설정이다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class TransactionInsertBenchmark {
+    private static final int DEBITS = 1_000;
+
+    @Param({"1", "100"})
+    public int jdbcBatchSize;
+
+    // 1 이면 META-INF/transaction-id-per-insert.xml 로 거래 id 를 insert 마다 시퀀스에서 받는다.
+    @Param({"1", "100"})
+    public int idAllocationSize;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private TransactionRepository transactionRepository;
+    private AccountRepository accountRepository;
+    private Statistics statistics;
+    private Long accountId;
+    private long sequence;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class StatementCounters {
+        public long statementsPer1000Debits;
+        public long entityInsertsPer1000Debits;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<String> properties = new ArrayList<>(List.of(
+                "spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize,
+                "spring.jpa.properties.hibernate.generate_statistics=true"));
+        if (idAllocationSize == 1) {
+            properties.add("spring.jpa.mapping-resources=META-INF/transaction-id-per-insert.xml");
+        }
+        context = BenchmarkApplication.start(properties.toArray(String[]::new));
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionRepository = context.getBean(TransactionRepository.class);
+        accountRepository = context.getBean(AccountRepository.class);
+        statistics = context.getBean(EntityManagerFactory.class)
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+
+        AccountUser user = context.getBean(AccountUserRepository.class)
+                .save(AccountUser.builder().name("bench").build());
+        accountId = accountRepository.save(Account.builder()
+                        .accountUser(user)
+                        .accountNumber("1000000000")
+                        .accountPassword("1234")
+                        .balance(Long.MAX_VALUE / 2)
+                        .accountStatus(IN_USE)
+                        .registeredAt(LocalDateTime.now())
+                        .build())
+                .getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void debitsInOneTransaction(StatementCounters counters) {
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            Account account = accountRepository.findById(accountId).orElseThrow();
+            List<Transaction> transactions = new ArrayList<>(DEBITS);
+            for (int i = 0; i < DEBITS; i++) {
+                account.useBalance(1000L);
+                transactions.add(Transaction.builder()
+                        .account(account)
+                        .transactionType(USE)
+                        .transactionResultType(S)
+                        .amount(1000L)
+                        .balanceSnapshot(account.getBalance())
+                        .transactionId(String.format("%032x", ++sequence))
+                        .transactedAt(LocalDateTime.now())
+                        .build());
+            }
+            transactionRepository.saveAll(transactions);
+        });
+        counters.statementsPer1000Debits += statistics.getPrepareStatementCount();
+        counters.entityInsertsPer1000Debits += statistics.getEntityInsertCount();
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.account.benchmark;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.dto.TransactionDto;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountUserRepository;
+import com.example.account.service.TransactionService;
+import com.example.account.service.password.AccountPasswordVerifier;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.account.type.AccountStatus.IN_USE;
+
+// MySQL 모드 H2 위에서 잔액 사용/취소 서비스 호출 비용 측정
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class TransactionServiceBenchmark {
+    private static final int ACCOUNTS = 256;
+    private static final String PASSWORD = "1234";
+    private static final long AMOUNT = 1000L;
+
+    @Param({"true", "false"})
+    public String conditionalDebit;
+
+    // 서비스 타이머, 리포지토리 타이머, 요청별 DB 시간 계측을 켜고 끈 비용 비교
+    @Param({"true", "false"})
+    public String metrics;
+
+    // 비밀번호 검증 캐시를 끄면 요청마다 bcrypt 를 계산한다.
+    @Param({"true", "false"})
+    public String passwordCache;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private Long userId;
+    private String[] accountNumbers;
+    private String[] useTransactionIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(
+                "account.transaction.conditional-debit=" + conditionalDebit,
+                "management.observations.annotations.enabled=" + metrics,
+                "management.metrics.data.repository.autotime.enabled=" + metrics,
+                "account.metrics.request-db-time.enabled=" + metrics,
+                "account.password.verification-cache.enabled=" + passwordCache);
+        transactionService = context.getBean(TransactionService.class);
+
+        AccountUser user = context.getBean(AccountUserRepository.class)
+                .save(AccountUser.builder().name("bench").build());
+        userId = user.getId();
+
+        AccountRepository accountRepository = context.getBean(AccountRepository.class);
+        String encodedPassword = context.getBean(AccountPasswordVerifier.class).encode(PASSWORD);
+        accountNumbers = new String[ACCOUNTS];
+        useTransactionIds = new String[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountNumbers[i] = String.valueOf(1_000_000_000L + i);
+            accountRepository.save(Account.builder()
+                    .accountUser(user)
+                    .accountNumber(accountNumbers[i])
+                    .accountPassword(encodedPassword)
+                    .balance(Long.MAX_VALUE / 2)
+                    .accountStatus(IN_USE)
+                    .registeredAt(LocalDateTime.now())
+                    .build());
+            // 취소 벤치마크 대상 거래
+            useTransactionIds[i] = transactionService
+                    .useBalance(userId, accountNumbers[i], PASSWORD, AMOUNT)
+                    .getTransactionId();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public TransactionDto useBalance() {
+        int index = ThreadLocalRandom.current().nextInt(ACCOUNTS);
+        return transactionService.useBalance(userId, accountNumbers[index], PASSWORD, AMOUNT);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public TransactionDto cancelBalance() {
+        int index = ThreadLocalRandom.current().nextInt(ACCOUNTS);
+        return transactionService.cancelBalance(useTransactionIds[index], accountNumbers[index], AMOUNT);
+    }
+}
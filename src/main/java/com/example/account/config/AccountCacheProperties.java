@@ -0,0 +1,20 @@
+package com.example.account.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.cache")
+public class AccountCacheProperties {
+    private final Prewarm prewarm = new Prewarm();
+
+    @Getter
+    @Setter
+    public static class Prewarm {
+        // 기동 시 최근에 사용된 계좌를 미리 캐시에 올린다.
+        private boolean enabled = false;
+        private int size = 10_000;
+    }
+}
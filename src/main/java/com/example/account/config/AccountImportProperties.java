@@ -0,0 +1,17 @@
+package com.example.account.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.import")
+public class AccountImportProperties {
+    // 한 트랜잭션에서 배치로 넣을 계좌 수
+    private int chunkSize = 1000;
+    // 비밀번호 해시 스레드 수. 0 이면 CPU 수
+    private int hashThreads = 0;
+    // 응답에 담을 거절 행 수. 전체 건수는 따로 센다.
+    private int maxReportedRejects = 100;
+}
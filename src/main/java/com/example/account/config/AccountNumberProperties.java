@@ -0,0 +1,13 @@
+package com.example.account.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.number")
+public class AccountNumberProperties {
+    // 한 번에 예약하는 계좌번호 개수. 재시작 시 사용하지 않은 번호는 건너뛴다.
+    private int blockSize = 100;
+}
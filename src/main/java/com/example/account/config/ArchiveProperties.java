@@ -0,0 +1,20 @@
+package com.example.account.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.archive")
+public class ArchiveProperties {
+    // 취소 기간이 지난 달의 거래를 압축 세그먼트 파일로 옮기고 DB 에서 지운다.
+    private boolean enabled = false;
+    private String directory = "data/transaction-archive";
+    // 압축 블록 하나의 행 수. 희소 인덱스는 블록마다 한 항목이다.
+    private int blockRows = 512;
+    // 넘으면 같은 달의 다음 세그먼트 파일로 이어 쓴다(mmap 은 파일당 2GB 까지).
+    private long segmentBytes = 1024L * 1024 * 1024;
+    private int deleteBatchSize = 10_000;
+    private long checkIntervalMinutes = 60;
+}
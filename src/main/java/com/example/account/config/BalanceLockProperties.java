@@ -0,0 +1,19 @@
+package com.example.account.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.balance.lock")
+public class BalanceLockProperties {
+    // pessimistic | optimistic | striped
+    private String strategy = "pessimistic";
+
+    private int optimisticMaxAttempts = 3;
+    private long optimisticBackoffMillis = 5;
+
+    private int stripes = 1024;
+    private long stripeTimeoutMillis = 3000;
+}
@@ -0,0 +1,12 @@
+package com.example.account.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String ACCOUNT_USERS = "accountUsers";
+    // 계좌의 변하지 않는 정보(id, 계좌번호, 소유주)와 상태. 잔액은 캐시하지 않는다.
+    public static final String ACCOUNT_METADATA = "accountMetadata";
+}
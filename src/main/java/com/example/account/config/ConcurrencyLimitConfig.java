@@ -0,0 +1,43 @@
+package com.example.account.config;
+
+import com.example.account.metrics.ErrorCodeMetrics;
+import com.example.account.service.concurrency.AdaptiveConcurrencyLimiter;
+import com.example.account.service.concurrency.ConcurrencyLimitFilter;
+import com.example.account.service.concurrency.TransactionServiceLatencyAspect;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnProperty(prefix = "account.concurrency-limit", name = "enabled", havingValue = "true")
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties,
+                                                          MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+    }
+
+    @Bean
+    TransactionServiceLatencyAspect transactionServiceLatencyAspect(AdaptiveConcurrencyLimiter limiter) {
+        return new TransactionServiceLatencyAspect(limiter);
+    }
+
+    @Bean
+    FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter,
+                                                                         ErrorCodeMetrics errorCodeMetrics,
+                                                                         ObjectMapper objectMapper,
+                                                                         ConcurrencyLimitProperties properties) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(limiter, errorCodeMetrics, objectMapper,
+                        properties.getRetryAfterSeconds()));
+        registration.setUrlPatterns(properties.getUrlPatterns());
+        // 요청 본문을 읽거나 다른 필터가 일을 하기 전에 거절한다.
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
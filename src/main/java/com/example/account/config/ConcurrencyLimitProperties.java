@@ -0,0 +1,31 @@
+package com.example.account.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.concurrency-limit")
+public class ConcurrencyLimitProperties {
+    // TransactionService 지연을 보고 DB 를 쓰는 API 의 동시 처리 수를 조절한다(gradient 방식).
+    private boolean enabled = false;
+    private List<String> urlPatterns = new ArrayList<>(List.of(
+            "/transaction/use", "/transaction/use/batch", "/transaction/cancel"));
+    private int initialLimit = 20;
+    private int minLimit = 4;
+    private int maxLimit = 200;
+    // 평소(긴 구간) 지연의 이만큼 배까지는 줄이지 않는다.
+    private double rttTolerance = 1.5;
+    // 새로 계산한 limit 을 반영하는 비율
+    private double smoothing = 0.2;
+    // 지연은 이 구간마다 평균을 내어 한 번씩 limit 에 반영한다.
+    private long windowMillis = 1000;
+    private int minWindowSamples = 10;
+    // 평소 지연(지수 이동 평균)에 반영할 구간 수
+    private int longWindows = 100;
+    private int retryAfterSeconds = 1;
+}
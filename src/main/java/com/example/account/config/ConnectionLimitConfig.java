@@ -0,0 +1,72 @@
+package com.example.account.config;
+
+import com.example.account.datasource.ConnectionLimitingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+@Configuration
+@ConditionalOnProperty(prefix = "account.datasource.connection-limit", name = "enabled", havingValue = "true")
+public class ConnectionLimitConfig {
+
+    @Bean
+    static BeanPostProcessor connectionLimitingDataSourcePostProcessor(
+            ObjectProvider<ConnectionLimitProperties> connectionLimitProperties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // 다른 DataSource 에 위임만 하는 빈(복제본 라우팅의 LazyConnectionDataSourceProxy 등)은 건너뛴다.
+                // 그 아래의 풀은 직접 빈이면 여기서, ReadReplicaConfig 가 만든 풀이면 그쪽에서 제한한다.
+                if (!(bean instanceof DataSource dataSource)
+                        || bean instanceof DelegatingDataSource
+                        || bean instanceof AbstractRoutingDataSource) {
+                    return bean;
+                }
+                ConnectionLimitProperties properties = connectionLimitProperties.getObject();
+                int permits = properties.getPermits();
+                if (permits <= 0) {
+                    if (!(dataSource instanceof HikariDataSource hikariDataSource)) {
+                        throw new IllegalStateException(
+                                "account.datasource.connection-limit.permits is required for " + beanName);
+                    }
+                    permits = hikariDataSource.getMaximumPoolSize();
+                }
+                return new ConnectionLimitingDataSource(dataSource, permits, properties.getAcquireTimeoutMillis());
+            }
+        };
+    }
+
+    // ReadReplicaConfig 처럼 빈이 아닌 풀을 직접 만드는 곳에서 쓴다.
+    public static DataSource limit(HikariDataSource pool, int permits, ConnectionLimitProperties properties) {
+        return new ConnectionLimitingDataSource(pool, permits > 0 ? permits : pool.getMaximumPoolSize(),
+                properties.getAcquireTimeoutMillis());
+    }
+
+    @Bean
+    MeterBinder connectionLimitMetrics(DataSource dataSource) {
+        return registry -> {
+            ConnectionLimitingDataSource limitingDataSource;
+            try {
+                limitingDataSource = dataSource.unwrap(ConnectionLimitingDataSource.class);
+            } catch (SQLException e) {
+                return;
+            }
+            Gauge.builder("datasource.connection.limit.available", limitingDataSource,
+                            ConnectionLimitingDataSource::getAvailablePermits)
+                    .register(registry);
+            Gauge.builder("datasource.connection.limit.waiting", limitingDataSource,
+                            ConnectionLimitingDataSource::getWaitingThreads)
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.account.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.datasource.connection-limit")
+public class ConnectionLimitProperties {
+    private boolean enabled = false;
+    // 0 이하면 Hikari maximum-pool-size 를 그대로 쓴다.
+    private int permits = 0;
+    private long acquireTimeoutMillis = 3000;
+}
@@ -0,0 +1,19 @@
+package com.example.account.config;
+
+import com.example.account.service.journal.JournalOverflowPolicy;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.failed-transaction-journal")
+public class FailedTransactionJournalProperties {
+    // false 면 기존처럼 요청 스레드에서 바로 저장한다.
+    private boolean enabled = true;
+    private int capacity = 10_000;
+    private int batchSize = 100;
+    private long flushIntervalMillis = 50;
+    private JournalOverflowPolicy overflowPolicy = JournalOverflowPolicy.CALLER_RUNS;
+    private long shutdownTimeoutMillis = 10_000;
+}
@@ -0,0 +1,24 @@
+package com.example.account.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.ledger")
+public class LedgerProperties {
+    // 계좌번호 해시로 나눈 파티션 수. 파티션마다 스레드 하나가 잔액을 변경한다.
+    private int partitions = Runtime.getRuntime().availableProcessors();
+    private String walDirectory = "data/ledger-wal";
+    private long walSegmentBytes = 64L * 1024 * 1024;
+    // fsync 한 번으로 함께 내구화할 최대 기록 수
+    private int groupCommitMaxBatch = 1024;
+    private long flushIntervalMillis = 100;
+    private int flushBatchSize = 1000;
+    // 데이터 오류로 이만큼 연달아 실패한 배치는 한 건씩 반영하고, 안 되는 기록은 WAL 디렉터리의 dead-letter.log 로 보낸다.
+    private int flushMaxAttempts = 5;
+    // 넘으면 DB 반영이 끝난 계좌부터 메모리에서 내린다.
+    private int maxAccountsPerPartition = 100_000;
+    private long shutdownTimeoutMillis = 10_000;
+}
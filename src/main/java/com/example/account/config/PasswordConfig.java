@@ -0,0 +1,45 @@
+package com.example.account.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+
+@Configuration
+public class PasswordConfig {
+    static final String BCRYPT = "bcrypt";
+
+    @Bean
+    public PasswordEncoder accountPasswordEncoder(PasswordProperties passwordProperties) {
+        return createPasswordEncoder(passwordProperties.getBcryptStrength());
+    }
+
+    // {bcrypt}... 로 저장한다. 접두어가 없는 값은 해시로 바꾸기 전의 평문으로 보고 비교한다.
+    public static PasswordEncoder createPasswordEncoder(int bcryptStrength) {
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(
+                BCRYPT, Map.of(BCRYPT, new BCryptPasswordEncoder(bcryptStrength)));
+        encoder.setDefaultPasswordEncoderForMatches(new LegacyPlainTextPasswordEncoder());
+        return encoder;
+    }
+
+    // DelegatingPasswordEncoder 는 접두어 없는 값의 matches 에만 이 encoder 를 쓴다.
+    // encode 는 항상 bcrypt 로 가므로 여기로 오지 않는다.
+    private static class LegacyPlainTextPasswordEncoder implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            throw new UnsupportedOperationException("plain text passwords are no longer stored");
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword != null && MessageDigest.isEqual(
+                    rawPassword.toString().getBytes(StandardCharsets.UTF_8),
+                    encodedPassword.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
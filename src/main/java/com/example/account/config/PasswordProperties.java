@@ -0,0 +1,34 @@
+package com.example.account.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.password")
+public class PasswordProperties {
+    // 4 ~ 31. 1 올릴 때마다 해시 비용이 두 배가 된다.
+    private int bcryptStrength = 10;
+    private final VerificationCache verificationCache = new VerificationCache();
+    private final Migration migration = new Migration();
+
+    @Getter
+    @Setter
+    public static class VerificationCache {
+        // 최근에 맞힌 (계좌, 비밀번호) 는 해시 없이 통과시킨다. 실패는 캐시하지 않는다.
+        private boolean enabled = true;
+        private long maximumSize = 100_000;
+        private long expireSeconds = 300;
+    }
+
+    @Getter
+    @Setter
+    public static class Migration {
+        // 기동 후 평문으로 남은 비밀번호를 백그라운드에서 해시로 바꾼다.
+        private boolean enabled = false;
+        private int batchSize = 500;
+        // 0 이면 CPU 수
+        private int threads = 0;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.account.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.rate-limit")
+public class RateLimitProperties {
+    // 거래 API 를 사용자/계좌별 토큰 버킷으로 제한한다. 실행 중에는 /actuator/ratelimits 로 바꾼다.
+    private boolean enabled = false;
+    private int stripes = 1024;
+    // 넘으면 가장 오래 쓰이지 않은 버킷부터 버린다(다시 가득 찬 상태로 시작).
+    private int maxBucketsPerStripe = 1024;
+    // 키: use, cancel (취소 요청에는 사용자 아이디가 없어 계좌로만 제한한다.)
+    private Map<String, Limit> endpoints = new HashMap<>(Map.of(
+            "use", new Limit(20, 10, 10, 5),
+            "cancel", new Limit(0, 0, 10, 5)));
+
+    // 용량(순간 허용량)이 0 이하면 그 키로는 제한하지 않는다.
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        private int userCapacity;
+        private double userRefillPerSecond;
+        private int accountCapacity;
+        private double accountRefillPerSecond;
+    }
+}
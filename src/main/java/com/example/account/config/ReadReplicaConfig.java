@@ -0,0 +1,93 @@
+package com.example.account.config;
+
+import com.example.account.datasource.ReadReplica;
+import com.example.account.datasource.ReadReplicaGroup;
+import com.example.account.datasource.ReplicaReadAspect;
+import com.example.account.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// DataSource 빈을 직접 만들어 자동 구성된 Hikari 풀을 대신한다.
+// 복제본 풀도 spring.datasource.hikari 설정(ledger 프로파일의 auto-commit: false 등)을 그대로 물려받는다.
+@Configuration
+@ConditionalOnProperty(prefix = "account.datasource.replica", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+
+    @Bean(destroyMethod = "close")
+    public ReadReplicaGroup readReplicaGroup(Environment environment,
+                                             DataSourceProperties dataSourceProperties,
+                                             ReadReplicaProperties properties,
+                                             ConnectionLimitProperties connectionLimitProperties,
+                                             MeterRegistry meterRegistry) {
+        if (properties.getReplicas().isEmpty()) {
+            throw new IllegalStateException("account.datasource.replica.replicas is required");
+        }
+        Binder binder = Binder.get(environment);
+
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        binder.bind(HIKARI_PREFIX, Bindable.ofInstance(primary));
+        primary.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+        primary.setMetricRegistry(meterRegistry);
+
+        List<ReadReplica> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            ReadReplicaProperties.Replica replica = properties.getReplicas().get(i);
+            HikariDataSource pool = new HikariDataSource();
+            binder.bind(HIKARI_PREFIX, Bindable.ofInstance(pool));
+            pool.setDriverClassName(dataSourceProperties.determineDriverClassName());
+            pool.setJdbcUrl(replica.getUrl());
+            // 계정을 지정하지 않으면 primary 와 같은 계정을 쓴다.
+            pool.setUsername(replica.getUsername() != null
+                    ? replica.getUsername() : dataSourceProperties.determineUsername());
+            pool.setPassword(replica.getPassword() != null
+                    ? replica.getPassword() : dataSourceProperties.determinePassword());
+            if (replica.getMaximumPoolSize() > 0) {
+                pool.setMaximumPoolSize(replica.getMaximumPoolSize());
+            }
+            pool.setReadOnly(true);
+            pool.setPoolName("replica-" + i);
+            pool.setMetricRegistry(meterRegistry);
+            replicas.add(new ReadReplica(pool.getPoolName(), limit(pool, 0, connectionLimitProperties)));
+        }
+        return new ReadReplicaGroup(limit(primary, connectionLimitProperties.getPermits(), connectionLimitProperties),
+                replicas, properties.getLagQuery(), properties.getLagColumn(),
+                properties.getLagCheckIntervalMillis(), meterRegistry);
+    }
+
+    // 풀이 빈이 아니므로 account.datasource.connection-limit 은 여기서 풀마다 적용한다.
+    private static DataSource limit(HikariDataSource pool, int permits, ConnectionLimitProperties properties) {
+        if (!properties.isEnabled()) {
+            return pool;
+        }
+        return ConnectionLimitConfig.limit(pool, permits, properties);
+    }
+
+    @Bean
+    public DataSource dataSource(ReadReplicaGroup readReplicaGroup,
+                                 ReadReplicaProperties properties,
+                                 MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(
+                readReplicaGroup.getPrimary(), readReplicaGroup.getReplicas(),
+                properties.getMaxLagSeconds(), meterRegistry));
+    }
+
+    @Bean
+    public ReplicaReadAspect replicaReadAspect() {
+        return new ReplicaReadAspect();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.account.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.datasource.replica")
+public class ReadReplicaProperties {
+    private boolean enabled = false;
+    private List<Replica> replicas = new ArrayList<>();
+    // 지연이 이보다 크거나 확인되지 않은 복제본은 건너뛰고, 모두 건너뛰면 primary 에서 읽는다.
+    private long maxLagSeconds = 5;
+    private long lagCheckIntervalMillis = 1000;
+    // 첫 행의 lagColumn 값(초)을 복제 지연으로 본다. 행이 없거나 NULL 이면 복제가 멈춘 것으로 본다.
+    private String lagQuery = "SHOW REPLICA STATUS";
+    private String lagColumn = "Seconds_Behind_Source";
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        // 0 이하면 spring.datasource.hikari.maximum-pool-size 를 따른다.
+        private int maximumPoolSize = 0;
+    }
+}
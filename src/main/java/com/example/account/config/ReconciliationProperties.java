@@ -0,0 +1,20 @@
+package com.example.account.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.reconciliation")
+public class ReconciliationProperties {
+    // 계좌 잔액과 거래 잔액 스냅샷이 거래 내역과 맞는지 주기적으로 확인한다.
+    private boolean enabled = false;
+    // 동시에 커서를 여는 작업 수. 작업마다 커넥션을 하나씩 쓴다.
+    private int parallelism = 4;
+    // 작업 하나가 맡는 계좌 id 구간의 크기. 이 구간의 계좌 잔액만 메모리에 올린다.
+    private int accountsPerTask = 10_000;
+    private int fetchSize = 1000;
+    private int maxReportedDrifts = 1000;
+    private long checkIntervalMinutes = 1440;
+}
@@ -0,0 +1,34 @@
+package com.example.account.config;
+
+import com.example.account.metrics.RepositoryDbTimeListener;
+import com.example.account.metrics.RequestDbTimeFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+@Configuration
+@ConditionalOnProperty(prefix = "account.metrics.request-db-time", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RequestDbTimeConfig {
+
+    @Bean
+    static BeanPostProcessor repositoryDbTimeListenerPostProcessor() {
+        RepositoryDbTimeListener listener = new RepositoryDbTimeListener();
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addInvocationListener(listener));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    RequestDbTimeFilter requestDbTimeFilter(MeterRegistry meterRegistry) {
+        return new RequestDbTimeFilter(meterRegistry);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.account.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.statement")
+public class StatementProperties {
+    // 지난달 거래명세서를 계좌 id 구간별 파일로 만든다.
+    private boolean enabled = false;
+    private String directory = "data/statements";
+    // 동시에 커서를 여는 작업 수. 작업마다 커넥션을 하나씩 쓴다.
+    private int workers = 4;
+    // 파일 하나에 담을 계좌 id 구간의 크기. 체크포인트도 이 단위로 남는다.
+    private int accountsPerFile = 10_000;
+    private int fetchSize = 1000;
+    private long checkIntervalMinutes = 60;
+}
@@ -0,0 +1,67 @@
+package com.example.account.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.transaction")
+public class TransactionProperties {
+    // 잔액 사용 시 소유주/비밀번호/상태/잔액 검사를 조건부 UPDATE 한 번으로 처리
+    private boolean conditionalDebit = false;
+
+    // database | ledger (메모리 원장 + WAL, DB 는 비동기 반영)
+    private String engine = "database";
+
+    private final Id id = new Id();
+    private final Coalescing coalescing = new Coalescing();
+    private final Idempotency idempotency = new Idempotency();
+    private final Partitioning partitioning = new Partitioning();
+
+    @Getter
+    @Setter
+    public static class Id {
+        // time-ordered | uuid
+        private String generator = "time-ordered";
+        // 0 ~ 65535. 인스턴스마다 달라야 하며, 음수면 기동 시 임의로 정한다.
+        private int nodeId = -1;
+        // time-ordered 생성기를 도입한 날. 이전에 쓰던 UUID 아이디도 32자리라 발급 시각이 임의의 날짜로 읽히므로,
+        // 이 날과 지금 사이가 아닌 발급 시각은 쓰지 않는다. 비워두면 이전 아이디가 없는 것으로 본다.
+        private LocalDate issuedSince;
+    }
+
+    @Getter
+    @Setter
+    public static class Coalescing {
+        // 같은 계좌로 몰리는 잔액 사용 요청을 모아 한 DB 트랜잭션으로 처리
+        private boolean enabled = false;
+        // 같은 계좌의 이전 묶음이 처리 중일 때만 이만큼 더 모은다.
+        private long windowMicros = 2000;
+        private int maxBatchSize = 256;
+    }
+
+    @Getter
+    @Setter
+    public static class Idempotency {
+        // 멱등성 키별 응답을 메모리에 둔다. 밀려난 키는 DB(unique 컬럼)에서 찾는다.
+        private long cacheSize = 100_000;
+        private long cacheExpireMinutes = 60;
+        // 이보다 오래된 키는 지운다. 0 이면 지우지 않는다.
+        private int retentionDays = 30;
+    }
+
+    @Getter
+    @Setter
+    public static class Partitioning {
+        // transaction 테이블이 월별 파티션일 때 켠다(db/transaction-partitioning.sql).
+        private boolean enabled = false;
+        // 이번 달 이후로 미리 만들어 둘 월 파티션 수
+        private int monthsAhead = 3;
+        // 이보다 오래된 월 파티션은 지운다. 0 이면 지우지 않으며, 취소 기간이 남은 13개월은 항상 남긴다.
+        private int retentionMonths = 0;
+        private long checkIntervalMinutes = 60;
+    }
+}
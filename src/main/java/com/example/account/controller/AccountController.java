@@ -1,13 +1,22 @@
 package com.example.account.controller;
 
+import com.example.account.dto.AccountImport;
 import com.example.account.dto.AccountInfo;
 import com.example.account.dto.CreateAccount;
 import com.example.account.dto.DeleteAccount;
 import com.example.account.service.AccountService;
+import com.example.account.service.importer.AccountImportService;
+import com.example.account.service.importer.ImportFormat;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -16,6 +25,7 @@ import java.util.stream.Collectors;
 @RequestMapping("/account")
 public class AccountController {
     private final AccountService accountService;
+    private final AccountImportService accountImportService;
 
     @PostMapping
     public CreateAccount.Response createAccount(
@@ -31,6 +41,18 @@ public class AccountController {
         );
     }
 
+    // 요청 본문을 읽는 대로 chunk 단위로 넣는다. 큰 파일은 AccountImportRunner 로 가져온다.
+    @PostMapping(value = "/import", consumes = {ImportFormat.CSV_MEDIA_TYPE, ImportFormat.NDJSON_MEDIA_TYPE})
+    public AccountImport.Response importAccounts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body
+    ) throws IOException {
+        try (Reader reader = new InputStreamReader(body, StandardCharsets.UTF_8)) {
+            return accountImportService.importAccounts(reader, ImportFormat.fromContentType(contentType),
+                    reject -> {});
+        }
+    }
+
     @DeleteMapping
     public DeleteAccount.Response deleteAccount(
             @RequestBody @Valid DeleteAccount.Request request
@@ -1,36 +1,80 @@
 package com.example.account.controller;
 
 import com.example.account.dto.CancelBalance;
+import com.example.account.dto.TransactionHistory;
+import com.example.account.dto.TransactionHistoryItem;
+import com.example.account.dto.TransactionResult;
 import com.example.account.dto.UseBalance;
+import com.example.account.dto.UseBalanceBatch;
 import com.example.account.exception.AccountException;
+import com.example.account.metrics.ErrorCodeMetrics;
+import com.example.account.service.DebitCoalescer;
+import com.example.account.service.IdempotencyService;
+import com.example.account.service.TransactionBatchService;
+import com.example.account.service.TransactionHistoryService;
 import com.example.account.service.TransactionService;
+import com.example.account.service.journal.FailedTransactionJournal;
+import com.example.account.service.lock.BalanceLockStrategy;
+import com.example.account.service.ratelimit.TransactionRateLimiter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.example.account.type.ErrorCode.TOO_MANY_REQUESTS;
+import static com.example.account.type.TransactionType.CANCEL;
+import static com.example.account.type.TransactionType.USE;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/transaction")
 public class TransactionController {
     private final TransactionService transactionService;
+    private final TransactionBatchService transactionBatchService;
+    private final DebitCoalescer debitCoalescer;
+    private final IdempotencyService idempotencyService;
+    private final TransactionHistoryService transactionHistoryService;
+    private final BalanceLockStrategy balanceLockStrategy;
+    private final FailedTransactionJournal failedTransactionJournal;
+    private final TransactionRateLimiter transactionRateLimiter;
+    private final ErrorCodeMetrics errorCodeMetrics;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/use")
     public UseBalance.Response useBalance(
             @RequestBody @Valid UseBalance.Request request
     ){
+        // 한도를 넘은 요청은 조회나 실패 기록 없이 바로 거절한다.
+        transactionRateLimiter.acquire("use", request.getUserId(), request.getAccountNumber());
         try {
             return UseBalance.Response.from(
-                    transactionService.useBalance(
-                            request.getUserId(),
-                            request.getAccountNumber(),
-                            request.getAccountPassword(),
-                            request.getAmount())
+                    idempotencyService.execute(request.getIdempotencyKey(),
+                            USE, request.getAccountNumber(), request.getAmount(), () ->
+                                    debitCoalescer.isEnabled()
+                                            ? debitCoalescer.useBalance(request)
+                                            : balanceLockStrategy.execute(request.getAccountNumber(), () ->
+                                                    transactionService.useBalance(
+                                                            request.getUserId(),
+                                                            request.getAccountNumber(),
+                                                            request.getAccountPassword(),
+                                                            request.getAmount(),
+                                                            request.getIdempotencyKey())))
             );
         }catch (AccountException e){
-            transactionService.saveFailedUseTransaction(
+            failedTransactionJournal.append(
+                    USE,
                     request.getAccountNumber(),
                     request.getAmount()
             );
@@ -38,21 +82,108 @@ public class TransactionController {
         }
     }
 
+    @PostMapping("/use/batch")
+    public UseBalanceBatch.Response useBalanceBatch(
+            @RequestBody @Valid UseBalanceBatch.Request request
+    ){
+        List<UseBalance.Request> items = request.getItems();
+        // 단건 API 와 같은 버킷에서 항목마다 토큰을 가져간다. 한도를 넘은 항목은 처리하지 않고 거절한다.
+        List<TransactionResult> results = new ArrayList<>(Collections.nCopies(items.size(), null));
+        List<UseBalance.Request> admitted = new ArrayList<>(items.size());
+        List<Integer> admittedIndexes = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            UseBalance.Request item = items.get(i);
+            try {
+                transactionRateLimiter.acquire("use", item.getUserId(), item.getAccountNumber());
+                admitted.add(item);
+                admittedIndexes.add(i);
+            } catch (AccountException e) {
+                results.set(i, TransactionResult.failure(e.getErrorCode()));
+            }
+        }
+        if (!admitted.isEmpty()) {
+            List<TransactionResult> admittedResults = transactionBatchService.useBalance(admitted);
+            for (int i = 0; i < admittedIndexes.size(); i++) {
+                results.set(admittedIndexes.get(i), admittedResults.get(i));
+            }
+        }
+
+        for (int i = 0; i < results.size(); i++) {
+            if (!results.get(i).isSuccess()) {
+                errorCodeMetrics.increment(results.get(i).getErrorCode());
+                // 단건 API 처럼 한도로 거절한 항목은 실패 기록을 남기지 않는다.
+                if (results.get(i).getErrorCode() == TOO_MANY_REQUESTS) {
+                    continue;
+                }
+                failedTransactionJournal.append(
+                        USE,
+                        items.get(i).getAccountNumber(),
+                        items.get(i).getAmount()
+                );
+            }
+        }
+        return UseBalanceBatch.Response.from(items, results);
+    }
+
     @PostMapping("/cancel")
     public CancelBalance.Response cancelBalance(
             @RequestBody @Valid CancelBalance.Request request
     ){
+        transactionRateLimiter.acquire("cancel", null, request.getAccountNumber());
         try {
             return CancelBalance.Response.from(
-                    transactionService.cancelBalance(request.getTransactionId(),
-                            request.getAccountNumber(), request.getAmount())
+                    idempotencyService.execute(request.getIdempotencyKey(),
+                            CANCEL, request.getAccountNumber(), request.getAmount(), () ->
+                                    balanceLockStrategy.execute(request.getAccountNumber(), () ->
+                                            transactionService.cancelBalance(request.getTransactionId(),
+                                                    request.getAccountNumber(), request.getAmount(),
+                                                    request.getIdempotencyKey())))
             );
         }catch (AccountException e){
-            transactionService.saveFailedCancelTransaction(
+            failedTransactionJournal.append(
+                    CANCEL,
                     request.getAccountNumber(),
                     request.getAmount()
             );
             throw e;
         }
     }
+
+    @GetMapping("/history")
+    public TransactionHistory.Response getTransactionHistory(
+            @RequestParam("account_number") String accountNumber,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "50") int size
+    ){
+        return transactionHistoryService.getHistory(accountNumber, from, to, cursor, size);
+    }
+
+    // 전체 내역을 줄 단위 JSON(NDJSON)으로 내려준다.
+    @GetMapping("/history/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactionHistory(
+            @RequestParam("account_number") String accountNumber,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ){
+        transactionHistoryService.validateHistoryRequest(accountNumber, from, to);
+
+        ObjectWriter writer = objectMapper.writerFor(TransactionHistoryItem.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n");
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter sequenceWriter = writer.writeValues(outputStream)) {
+                transactionHistoryService.exportHistory(accountNumber, from, to, sequenceWriter::write);
+            }
+            outputStream.write('\n');
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
 }
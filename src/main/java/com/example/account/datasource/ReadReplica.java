@@ -0,0 +1,61 @@
+package com.example.account.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// 읽기 전용 복제본 하나와 마지막으로 확인한 복제 지연
+@Slf4j
+public class ReadReplica {
+    static final long UNKNOWN_LAG = -1;
+
+    private final String name;
+    private final DataSource dataSource;
+    private volatile long lagSeconds = UNKNOWN_LAG;
+
+    public ReadReplica(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public long getLagSeconds() {
+        return lagSeconds;
+    }
+
+    public boolean isFresh(long maxLagSeconds) {
+        long lag = lagSeconds;
+        return lag != UNKNOWN_LAG && lag <= maxLagSeconds;
+    }
+
+    public void checkLag(String lagQuery, String lagColumn) {
+        long lag = UNKNOWN_LAG;
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            if (resultSet.next()) {
+                Object value = resultSet.getObject(lagColumn);
+                if (value instanceof Number number) {
+                    lag = Math.max(number.longValue(), 0);
+                }
+            }
+        } catch (SQLException e) {
+            log.warn("replica lag check failed. replica: {}", name, e);
+        }
+        if (lag == UNKNOWN_LAG && lagSeconds != UNKNOWN_LAG) {
+            log.warn("replica {} is not replicating, reads fall back to primary", name);
+        }
+        lagSeconds = lag;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.account.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// primary 와 복제본 풀을 함께 들고, 복제 지연을 주기적으로 확인한다. 닫으면 풀도 모두 닫는다.
+@Slf4j
+public class ReadReplicaGroup implements Closeable {
+    private final DataSource primary;
+    private final List<ReadReplica> replicas;
+    private final String lagQuery;
+    private final String lagColumn;
+    private final ScheduledExecutorService lagChecker;
+
+    public ReadReplicaGroup(DataSource primary, List<ReadReplica> replicas, String lagQuery, String lagColumn,
+                            long lagCheckIntervalMillis, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.lagQuery = lagQuery;
+        this.lagColumn = lagColumn;
+        for (ReadReplica replica : this.replicas) {
+            Gauge.builder("datasource.replica.lag", replica, ReadReplica::getLagSeconds)
+                    .tag("replica", replica.getName())
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+        this.lagChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 첫 확인 전까지는 복제본을 쓰지 않는다.
+        lagChecker.scheduleWithFixedDelay(this::checkLag, 0, lagCheckIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public List<ReadReplica> getReplicas() {
+        return replicas;
+    }
+
+    void checkLag() {
+        for (ReadReplica replica : replicas) {
+            replica.checkLag(lagQuery, lagColumn);
+        }
+    }
+
+    @Override
+    public void close() {
+        lagChecker.shutdownNow();
+        for (ReadReplica replica : replicas) {
+            closeQuietly(replica.getName(), replica.getDataSource());
+        }
+        closeQuietly(ReplicaRoutingDataSource.PRIMARY, primary);
+    }
+
+    private static void closeQuietly(String name, DataSource dataSource) {
+        // 커넥션 수 제한 등으로 감싼 경우 안쪽 풀을 닫는다.
+        try {
+            if (dataSource.isWrapperFor(AutoCloseable.class)) {
+                dataSource.unwrap(AutoCloseable.class).close();
+            }
+        } catch (Exception e) {
+            log.warn("failed to close datasource {}", name, e);
+        }
+    }
+}
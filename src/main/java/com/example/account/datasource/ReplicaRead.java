@@ -0,0 +1,12 @@
+package com.example.account.datasource;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 복제 지연을 허용하는 조회임을 표시한다. readOnly 트랜잭션이어도 이 표시가 없으면 primary 에서 읽는다.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReplicaRead {
+}
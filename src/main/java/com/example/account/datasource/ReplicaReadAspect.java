@@ -0,0 +1,23 @@
+package com.example.account.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+// @ReplicaRead 메서드가 도는 동안 ReplicaRoutingDataSource 에 복제본 조회를 허용한다.
+// 트랜잭션을 열기 전부터 표시되도록 트랜잭션 advice 보다 바깥에서 감싼다.
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReplicaReadAspect {
+    @Around("@annotation(com.example.account.datasource.ReplicaRead)")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean previous = ReplicaRoutingDataSource.markReplicaRead(true);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReplicaRoutingDataSource.markReplicaRead(previous);
+        }
+    }
+}
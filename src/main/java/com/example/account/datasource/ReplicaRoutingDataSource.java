@@ -0,0 +1,84 @@
+package com.example.account.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// @ReplicaRead 로 표시된 readOnly 트랜잭션의 커넥션은 지연이 허용 범위 안인 복제본에 번갈아 보내고, 나머지는 primary 로 보낸다.
+// readOnly 만으로는 보내지 않는다. 트랜잭션 밖의 JpaRepository 조회(findById 등)도 readOnly 라서
+// 방금 쓴 행을 다시 읽는 경로(멱등성 키 확인, 원장 계좌 적재)가 지연된 복제본을 읽게 된다.
+// 트랜잭션이 readOnly 로 표시된 뒤에 커넥션을 잡도록 LazyConnectionDataSourceProxy 로 감싸서 쓴다.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    static final String PRIMARY = "primary";
+    private static final ThreadLocal<Boolean> replicaRead = ThreadLocal.withInitial(() -> false);
+
+    private final List<ReadReplica> replicas;
+    private final long maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Map<String, Counter> routedConnections = new HashMap<>();
+    private final Counter fallbacks;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<ReadReplica> replicas,
+                                    long maxLagSeconds, MeterRegistry meterRegistry) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("at least one replica is required");
+        }
+        this.replicas = List.copyOf(replicas);
+        this.maxLagSeconds = maxLagSeconds;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        routedConnections.put(PRIMARY, routedConnectionCounter(meterRegistry, PRIMARY));
+        for (ReadReplica replica : this.replicas) {
+            targets.put(replica.getName(), replica.getDataSource());
+            routedConnections.put(replica.getName(), routedConnectionCounter(meterRegistry, replica.getName()));
+        }
+        this.fallbacks = meterRegistry.counter("datasource.replica.fallbacks");
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String target = replicaRead.get() && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? selectReplica()
+                : PRIMARY;
+        routedConnections.get(target).increment();
+        return target;
+    }
+
+    // 이전 값을 돌려주므로 호출한 쪽이 finally 에서 되돌린다.
+    static boolean markReplicaRead(boolean marked) {
+        boolean previous = replicaRead.get();
+        replicaRead.set(marked);
+        return previous;
+    }
+
+    private String selectReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            ReadReplica replica = replicas.get((start + i) % size);
+            if (replica.isFresh(maxLagSeconds)) {
+                return replica.getName();
+            }
+        }
+        fallbacks.increment();
+        return PRIMARY;
+    }
+
+    private static Counter routedConnectionCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("datasource.routing.connections")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+}
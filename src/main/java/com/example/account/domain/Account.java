@@ -3,6 +3,7 @@ package com.example.account.domain;
 import com.example.account.type.AccountStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -21,7 +22,7 @@ public class Account {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private AccountUser accountUser;
 
     private String accountNumber;
@@ -34,6 +35,10 @@ public class Account {
 
     private String accountName;
 
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
     @CreatedDate
     private LocalDateTime createdAt;
     @LastModifiedDate
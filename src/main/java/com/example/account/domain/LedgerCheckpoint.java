@@ -0,0 +1,19 @@
+package com.example.account.domain;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.*;
+
+// 원장 엔진이 DB 에 반영을 끝낸 마지막 WAL 시퀀스. 반영과 같은 트랜잭션에서 갱신한다.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+public class LedgerCheckpoint {
+    @Id
+    private String name;
+
+    private Long sequence;
+}
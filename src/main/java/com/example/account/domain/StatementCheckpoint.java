@@ -0,0 +1,31 @@
+package com.example.account.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// 월별 거래명세서 생성 진행 상황. 계좌 id 구간 하나의 파일을 다 쓰고 공개한 뒤에 남기며,
+// 다시 실행하면 남아있는 구간은 건너뛴다.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(
+        name = "uk_statement_checkpoint_month_from", columnNames = {"statement_month", "from_account_id"}))
+public class StatementCheckpoint {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // yyyy-MM
+    private String statementMonth;
+    private Long fromAccountId;
+    private Long toAccountId;
+
+    private Long statements;
+    private Long transactionRows;
+    private LocalDateTime completedAt;
+}
@@ -1,12 +1,11 @@
 package com.example.account.domain;
 
+import com.example.account.metrics.TransactionMetricsListener;
 import com.example.account.type.TransactionResultType;
 import com.example.account.type.TransactionType;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.persistence.*;
 import lombok.*;
-import org.springframework.data.annotation.CreatedDate;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
 
@@ -16,13 +15,21 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Builder
 @Entity
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners(TransactionMetricsListener.class)
+@Table(indexes = {
+        @Index(name = "idx_transaction_account_transacted_at", columnList = "account_id, transacted_at, id"),
+        @Index(name = "idx_transaction_transaction_id", columnList = "transaction_id")
+})
 public class Transaction {
+    // pooled-lo: 한 번의 시퀀스 조회로 allocationSize 개의 id 를 메모리에서 발급한다.
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "transaction_seq", allocationSize = 100)
     private Long id;
 
-    @ManyToOne
+    // 월별 파티션 테이블에는 외래 키를 둘 수 없다.
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Account account;
 
     @Enumerated(EnumType.STRING)
@@ -34,6 +41,14 @@ public class Transaction {
     private Long balanceSnapshot;
 
     private String transactionId;
-    @CreatedDate
     private LocalDateTime transactedAt;
+
+    // 호출한 쪽이 정한 시각을 그대로 저장한다. 원장 엔진과 실패 저널은 나중에 반영하므로
+    // 저장 시각으로 덮으면 응답한 시각과 달라지고 월 경계를 넘을 수 있다.
+    @PrePersist
+    void fillTransactedAt() {
+        if (transactedAt == null) {
+            transactedAt = LocalDateTime.now();
+        }
+    }
 }
@@ -0,0 +1,43 @@
+package com.example.account.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+// 멱등성 키 -> 처음 반영된 거래. transaction 테이블은 월별 파티션이라 전역 unique 키를 둘 수 없어 따로 둔다.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(indexes = @Index(name = "idx_transaction_idempotency_transacted_at", columnList = "transacted_at"))
+public class TransactionIdempotency implements Persistable<String> {
+    @Id
+    @Column(length = 64)
+    private String idempotencyKey;
+
+    private String transactionId;
+    private LocalDateTime transactedAt;
+
+    public static TransactionIdempotency of(String idempotencyKey, Transaction transaction) {
+        return TransactionIdempotency.builder()
+                .idempotencyKey(idempotencyKey)
+                .transactionId(transaction.getTransactionId())
+                .transactedAt(transaction.getTransactedAt())
+                .build();
+    }
+
+    @Override
+    public String getId() {
+        return idempotencyKey;
+    }
+
+    // 키는 클라이언트가 정하므로 merge(조회 후 update) 대신 항상 insert 해서 중복을 unique 위반으로 드러낸다.
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.account.dto;
+
+import com.example.account.type.ErrorCode;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+public class AccountImport {
+    @Getter
+    @AllArgsConstructor
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public static class Response {
+        private long rowsRead;
+        private long usersCreated;
+        private long accountsCreated;
+        private long rejected;
+        // 앞에서부터 maxReportedRejects 건까지만
+        private List<Reject> rejects;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public static class Reject {
+        private long line;
+        private ErrorCode errorCode;
+        private String message;
+    }
+}
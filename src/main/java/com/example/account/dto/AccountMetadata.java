@@ -0,0 +1,14 @@
+package com.example.account.dto;
+
+import com.example.account.type.AccountStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class AccountMetadata {
+    private Long id;
+    private String accountNumber;
+    private Long ownerId;
+    private AccountStatus accountStatus;
+}
@@ -22,6 +22,10 @@ public class CancelBalance {
         @Min(value = 1000, message = "최소 거래금액은 1000원 입니다.")
         @Max(value = 100_000_000, message = "최대 거래금액은 1억원 입니다.")
         private Long amount;
+
+        // 재시도 시 같은 값을 보내면 처음 처리한 결과를 그대로 돌려준다.
+        @Size(max = 64, message = "멱등성 키는 최대 64자 입니다.")
+        private String idempotencyKey;
     }
 
     @Getter
@@ -22,8 +22,12 @@ public class TransactionDto {
     private LocalDateTime transactedAt;
 
     public static TransactionDto fromEntity(Transaction transaction){
+        return fromEntity(transaction, transaction.getAccount().getAccountNumber());
+    }
+
+    public static TransactionDto fromEntity(Transaction transaction, String accountNumber){
         return TransactionDto.builder()
-                .accountNumber(transaction.getAccount().getAccountNumber())
+                .accountNumber(accountNumber)
                 .transactionType(transaction.getTransactionType())
                 .transactionResultType(transaction.getTransactionResultType())
                 .transactionId(transaction.getTransactionId())
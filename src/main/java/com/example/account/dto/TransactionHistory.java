@@ -0,0 +1,19 @@
+package com.example.account.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+public class TransactionHistory {
+    @Getter
+    @AllArgsConstructor
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public static class Response {
+        private List<TransactionHistoryItem> items;
+        // 마지막 페이지면 null
+        private String nextCursor;
+    }
+}
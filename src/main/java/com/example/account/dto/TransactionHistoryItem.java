@@ -0,0 +1,30 @@
+package com.example.account.dto;
+
+import com.example.account.serializer.LocalDateTimeSerializer;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 거래 내역 조회용 프로젝션. 엔티티를 영속성 컨텍스트에 올리지 않는다.
+@Getter
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class TransactionHistoryItem {
+    // 다음 페이지 커서에만 쓰는 내부 키
+    @JsonIgnore
+    private Long id;
+    private String transactionId;
+    private TransactionType transactionType;
+    private TransactionResultType transactionResult;
+    private Long amount;
+    private Long balanceSnapshot;
+    @JsonSerialize(using = LocalDateTimeSerializer.class)
+    private LocalDateTime transactedAt;
+}
@@ -0,0 +1,26 @@
+package com.example.account.dto;
+
+import com.example.account.type.ErrorCode;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 여러 거래를 한 번에 처리할 때 건별 결과. 성공이면 transactionDto, 실패면 errorCode 를 가진다.
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class TransactionResult {
+    private TransactionDto transactionDto;
+    private ErrorCode errorCode;
+
+    public static TransactionResult success(TransactionDto transactionDto) {
+        return new TransactionResult(transactionDto, null);
+    }
+
+    public static TransactionResult failure(ErrorCode errorCode) {
+        return new TransactionResult(null, errorCode);
+    }
+
+    public boolean isSuccess() {
+        return errorCode == null;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.account.dto;
+
+import com.example.account.type.ErrorCode;
+import com.example.account.type.TransactionResultType;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.account.type.TransactionResultType.F;
+
+public class UseBalanceBatch {
+    public static final int MAX_ITEMS = 1000;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public static class Request {
+        @NotEmpty(message = "거래 목록은 필수입니다.")
+        @Size(max = MAX_ITEMS, message = "한 번에 요청할 수 있는 거래는 최대 1000건 입니다.")
+        private List<@Valid UseBalance.Request> items;
+    }
+
+    @Getter
+    @Setter
+    @Builder
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public static class Response {
+        private int successCount;
+        private int failureCount;
+        private List<Item> items;
+
+        public static Response from(List<UseBalance.Request> requests, List<TransactionResult> results) {
+            List<Item> items = new ArrayList<>(results.size());
+            int successCount = 0;
+            for (int i = 0; i < results.size(); i++) {
+                TransactionResult result = results.get(i);
+                if (result.isSuccess()) {
+                    successCount++;
+                    items.add(Item.from(result.getTransactionDto()));
+                } else {
+                    items.add(Item.failure(requests.get(i), result.getErrorCode()));
+                }
+            }
+            return Response.builder()
+                    .successCount(successCount)
+                    .failureCount(results.size() - successCount)
+                    .items(items)
+                    .build();
+        }
+    }
+
+    @Getter
+    @Setter
+    @Builder
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public static class Item {
+        private String accountNumber;
+        private TransactionResultType transactionResult;
+        private String transactionId;
+        private Long amount;
+        private LocalDateTime transactionAt;
+        private ErrorCode errorCode;
+
+        public static Item from(TransactionDto transactionDto) {
+            return Item.builder()
+                    .accountNumber(transactionDto.getAccountNumber())
+                    .transactionResult(transactionDto.getTransactionResultType())
+                    .transactionId(transactionDto.getTransactionId())
+                    .amount(transactionDto.getAmount())
+                    .transactionAt(transactionDto.getTransactedAt())
+                    .build();
+        }
+
+        public static Item failure(UseBalance.Request request, ErrorCode errorCode) {
+            return Item.builder()
+                    .accountNumber(request.getAccountNumber())
+                    .transactionResult(F)
+                    .amount(request.getAmount())
+                    .errorCode(errorCode)
+                    .build();
+        }
+    }
+}
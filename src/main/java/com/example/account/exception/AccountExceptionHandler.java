@@ -1,6 +1,8 @@
 package com.example.account.exception;
 
 import com.example.account.dto.ErrorResponse;
+import com.example.account.metrics.ErrorCodeMetrics;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -9,10 +11,14 @@ import java.util.Collections;
 
 @Slf4j
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class AccountExceptionHandler {
+    private final ErrorCodeMetrics errorCodeMetrics;
+
     @ExceptionHandler(AccountException.class)
     public ErrorResponse handleAccountException(AccountException e){
         log.error("{} is occurred.", e.getErrorCode());
+        errorCodeMetrics.increment(e.getErrorCode());
 
         return new ErrorResponse(e.getStatus(), e.getErrorCode(), Collections.singletonList(e.getErrorMessage()));
     }
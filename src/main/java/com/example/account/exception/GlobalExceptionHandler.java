@@ -1,7 +1,9 @@
 package com.example.account.exception;
 
 import com.example.account.dto.ErrorResponse;
+import com.example.account.metrics.ErrorCodeMetrics;
 import com.example.account.type.ErrorCode;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -15,7 +17,9 @@ import java.util.Objects;
 
 @Slf4j
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
+    private final ErrorCodeMetrics errorCodeMetrics;
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationException(MethodArgumentNotValidException e){
@@ -27,6 +31,7 @@ public class GlobalExceptionHandler {
                         "message", Objects.requireNonNull(ex.getDefaultMessage())
                 ))
                 .toList();
+        errorCodeMetrics.increment(ErrorCode.VALIDATION_FAILED);
 
         ErrorResponse errorResponse = ErrorResponse.builder()
                 .status(HttpStatus.BAD_REQUEST.value())
@@ -0,0 +1,29 @@
+package com.example.account.metrics;
+
+import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+// ErrorCode 별 발생 횟수. 카운터를 미리 만들어 두어 기록 시 조회 비용이 없다.
+@Component
+public class ErrorCodeMetrics {
+    private final Map<ErrorCode, Counter> counters = new EnumMap<>(ErrorCode.class);
+
+    public ErrorCodeMetrics(MeterRegistry meterRegistry) {
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            counters.put(errorCode, Counter.builder("account.errors")
+                    .tag("code", errorCode.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    public void increment(ErrorCode errorCode) {
+        if (errorCode != null) {
+            counters.get(errorCode).increment();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.account.metrics;
+
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+
+import java.util.concurrent.TimeUnit;
+
+// 리포지토리 메서드별 시간은 spring.data.repository.invocations 가 기록하고,
+// 여기서는 같은 호출 시간을 현재 요청의 DB 시간에 더한다.
+public class RepositoryDbTimeListener implements RepositoryMethodInvocationListener {
+    @Override
+    public void afterInvocation(RepositoryMethodInvocation invocation) {
+        RequestDbTime.record(invocation.getDuration(TimeUnit.NANOSECONDS));
+    }
+}
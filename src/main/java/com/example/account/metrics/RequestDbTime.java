@@ -0,0 +1,39 @@
+package com.example.account.metrics;
+
+// 요청 스레드에서 실행된 리포지토리 호출 시간을 합산한다.
+// 요청 밖(스케줄러, 저널 스레드 등)에서의 호출은 기록하지 않는다.
+public final class RequestDbTime {
+    private static final ThreadLocal<RequestDbTime> CURRENT = new ThreadLocal<>();
+
+    private long nanos;
+    private int calls;
+
+    private RequestDbTime() {
+    }
+
+    static RequestDbTime begin() {
+        RequestDbTime requestDbTime = new RequestDbTime();
+        CURRENT.set(requestDbTime);
+        return requestDbTime;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static void record(long nanos) {
+        RequestDbTime requestDbTime = CURRENT.get();
+        if (requestDbTime != null) {
+            requestDbTime.nanos += nanos;
+            requestDbTime.calls++;
+        }
+    }
+
+    long getNanos() {
+        return nanos;
+    }
+
+    int getCalls() {
+        return calls;
+    }
+}
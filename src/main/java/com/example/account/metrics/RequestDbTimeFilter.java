@@ -0,0 +1,46 @@
+package com.example.account.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// 요청 하나가 DB(리포지토리 호출)에서 보낸 시간과 호출 횟수를 uri 별로 기록한다.
+public class RequestDbTimeFilter extends OncePerRequestFilter {
+    private final MeterRegistry meterRegistry;
+
+    public RequestDbTimeFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestDbTime requestDbTime = RequestDbTime.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDbTime.end();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            Timer.builder("http.server.requests.db")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(requestDbTime.getNanos(), TimeUnit.NANOSECONDS);
+            DistributionSummary.builder("http.server.requests.db.calls")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(requestDbTime.getCalls());
+        }
+    }
+}
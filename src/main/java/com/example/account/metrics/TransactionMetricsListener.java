@@ -0,0 +1,42 @@
+package com.example.account.metrics;
+
+import com.example.account.domain.Transaction;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.PostPersist;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+// 저장되는 거래를 종류(USE/CANCEL)와 결과(S/F)별로 센다.
+// 거래를 저장하는 경로(단건, 배치, 실패 저널)가 여러 곳이라 엔티티 리스너에서 한 번에 센다.
+@Component
+public class TransactionMetricsListener {
+    private final Map<TransactionType, Map<TransactionResultType, Counter>> counters =
+            new EnumMap<>(TransactionType.class);
+
+    public TransactionMetricsListener(MeterRegistry meterRegistry) {
+        for (TransactionType transactionType : TransactionType.values()) {
+            Map<TransactionResultType, Counter> byResult = new EnumMap<>(TransactionResultType.class);
+            for (TransactionResultType resultType : TransactionResultType.values()) {
+                byResult.put(resultType, Counter.builder("transaction.results")
+                        .tag("type", transactionType.name())
+                        .tag("result", resultType.name())
+                        .register(meterRegistry));
+            }
+            counters.put(transactionType, byResult);
+        }
+    }
+
+    @PostPersist
+    public void onPersist(Transaction transaction) {
+        if (transaction.getTransactionType() != null && transaction.getTransactionResultType() != null) {
+            counters.get(transaction.getTransactionType())
+                    .get(transaction.getTransactionResultType())
+                    .increment();
+        }
+    }
+}
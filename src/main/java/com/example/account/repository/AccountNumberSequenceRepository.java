@@ -0,0 +1,24 @@
+package com.example.account.repository;
+
+import com.example.account.domain.AccountNumberSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface AccountNumberSequenceRepository extends JpaRepository<AccountNumberSequence, String> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from AccountNumberSequence s where s.name = :name")
+    Optional<AccountNumberSequence> findByNameForUpdate(String name);
+
+    // 이미 있으면 DataIntegrityViolationException
+    @Modifying
+    @Query(value = "insert into account_number_sequence (name, next_value) values (:name, :nextValue)",
+            nativeQuery = true)
+    int insertSequence(String name, long nextValue);
+}
@@ -1,10 +1,21 @@
 package com.example.account.repository;
 
+import com.example.account.config.CacheConfig;
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
+import com.example.account.dto.AccountDto;
+import com.example.account.dto.AccountMetadata;
+import jakarta.persistence.LockModeType;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,9 +23,54 @@ import java.util.Optional;
 public interface AccountRepository extends JpaRepository<Account, Long> {
     Integer countByAccountUser(AccountUser accountUser);
 
-    Optional<Account> findFirstByOrderByIdDesc();
+    @Query("select max(a.accountNumber) from Account a")
+    Optional<String> findMaxAccountNumber();
 
     Optional<Account> findByAccountNumber(String accountNumber);
 
-    List<Account> findByAccountUser(AccountUser accountUser);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.accountNumber = :accountNumber")
+    Optional<Account> findByAccountNumberForUpdate(String accountNumber);
+
+    @Cacheable(cacheNames = CacheConfig.ACCOUNT_METADATA, key = "#p0", unless = "#result == null")
+    @Query("select new com.example.account.dto.AccountMetadata(a.id, a.accountNumber, a.accountUser.id, a.accountStatus) " +
+            "from Account a where a.accountNumber = :accountNumber")
+    Optional<AccountMetadata> findMetadataByAccountNumber(String accountNumber);
+
+    @Query("select new com.example.account.dto.AccountMetadata(a.id, a.accountNumber, a.accountUser.id, a.accountStatus) " +
+            "from Account a where a.accountStatus = com.example.account.type.AccountStatus.IN_USE " +
+            "order by a.updatedAt desc")
+    List<AccountMetadata> findRecentlyActiveMetadata(Pageable pageable);
+
+    @Modifying
+    @Query("update Account a set a.balance = a.balance - :amount, a.version = a.version + 1, a.updatedAt = :now " +
+            "where a.id = :accountId and a.accountUser.id = :userId " +
+            "and a.accountStatus = com.example.account.type.AccountStatus.IN_USE " +
+            "and a.balance >= :amount")
+    int useBalanceIfSufficient(Long accountId, Long userId, Long amount, LocalDateTime now);
+
+    @Query("select a.accountPassword from Account a where a.id = :accountId")
+    String findPasswordById(Long accountId);
+
+    // 원장 엔진이 DB 에 잔액을 반영할 때 쓴다. 거래 후 잔액(balanceSnapshot)을 그대로 덮어쓰므로 재반영해도 같다.
+    @Modifying
+    @Query("update Account a set a.balance = :balance, a.version = a.version + 1, a.updatedAt = :now " +
+            "where a.id = :accountId")
+    int updateBalance(Long accountId, Long balance, LocalDateTime now);
+
+    @Modifying
+    @Query("update Account a set a.accountStatus = com.example.account.type.AccountStatus.UNREGISTERED, " +
+            "a.unRegisteredAt = :now, a.version = a.version + 1, a.updatedAt = :now where a.id = :accountId")
+    int unregister(Long accountId, LocalDateTime now);
+
+    @Query("select a.balance from Account a where a.id = :accountId")
+    Long findBalanceById(Long accountId);
+
+    // 조회 전용. 필요한 컬럼만 읽고 사용자 테이블은 조인하지 않는다.
+    @Query("select new com.example.account.dto.AccountDto(a.accountUser.id, a.accountNumber, a.balance, " +
+            "a.accountName, a.registeredAt, a.unRegisteredAt) " +
+            "from Account a where a.accountUser.id = :userId order by a.id")
+    List<AccountDto> findAccountDtosByUserId(Long userId);
+
+    List<Account> findByAccountNumberIn(Collection<String> accountNumbers);
 }
@@ -1,9 +1,16 @@
 package com.example.account.repository;
 
+import com.example.account.config.CacheConfig;
 import com.example.account.domain.AccountUser;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface AccountUserRepository extends JpaRepository<AccountUser,Long> {
+    @Override
+    @Cacheable(cacheNames = CacheConfig.ACCOUNT_USERS, key = "#p0", unless = "#result == null")
+    Optional<AccountUser> findById(Long id);
 }
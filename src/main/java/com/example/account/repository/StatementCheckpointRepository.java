@@ -0,0 +1,12 @@
+package com.example.account.repository;
+
+import com.example.account.domain.StatementCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StatementCheckpointRepository extends JpaRepository<StatementCheckpoint, Long> {
+    List<StatementCheckpoint> findByStatementMonth(String statementMonth);
+}
@@ -0,0 +1,16 @@
+package com.example.account.repository;
+
+import com.example.account.domain.TransactionIdempotency;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface TransactionIdempotencyRepository extends JpaRepository<TransactionIdempotency, String> {
+    @Modifying
+    @Query("delete from TransactionIdempotency i where i.transactedAt < :before")
+    int deleteTransactedBefore(LocalDateTime before);
+}
@@ -1,12 +1,77 @@
 package com.example.account.repository;
 
 import com.example.account.domain.Transaction;
+import com.example.account.dto.TransactionHistoryItem;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction,Long> {
+    // 취소 가능 기간(1년)
+    Period CANCEL_PERIOD = Period.ofYears(1);
+    // 거래 아이디의 발급 시각과 transactedAt 사이의 허용 오차
+    Duration ISSUED_AT_TOLERANCE = Duration.ofMinutes(5);
+
+    // 모든 파티션을 찾아본다. 취소 기간 밖의 거래인지 가릴 때만 쓴다.
     Optional<Transaction> findByTransactionId(String transactionId);
+
+    @EntityGraph(attributePaths = "account")
+    Optional<Transaction> findByTransactionIdAndTransactedAtBetween(String transactionId,
+                                                                    LocalDateTime from, LocalDateTime to);
+
+    // transacted_at 조건으로 최근 12개월 파티션만 읽는다. 발급 시각을 알면 그 달의 파티션 하나로 좁혀진다.
+    default Optional<Transaction> findCancelTarget(String transactionId, Optional<LocalDateTime> issuedAt) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = now.minus(CANCEL_PERIOD);
+        LocalDateTime to = now.plus(ISSUED_AT_TOLERANCE);
+        if (issuedAt.isPresent()) {
+            LocalDateTime issuedFrom = issuedAt.get().minus(ISSUED_AT_TOLERANCE);
+            LocalDateTime issuedTo = issuedAt.get().plus(ISSUED_AT_TOLERANCE);
+            from = issuedFrom.isAfter(from) ? issuedFrom : from;
+            to = issuedTo.isBefore(to) ? issuedTo : to;
+        }
+        return from.isAfter(to)
+                ? Optional.empty()
+                : findByTransactionIdAndTransactedAtBetween(transactionId, from, to);
+    }
+
+    // (account_id, transacted_at, id) 인덱스를 역순으로 읽는 keyset 페이지.
+    // 커서 (cursorAt, cursorId) 보다 앞선 거래만 조회한다.
+    @Query("select new com.example.account.dto.TransactionHistoryItem(" +
+            "t.id, t.transactionId, t.transactionType, t.transactionResultType, " +
+            "t.amount, t.balanceSnapshot, t.transactedAt) " +
+            "from Transaction t where t.account.id = :accountId " +
+            "and t.transactedAt >= :from and t.transactedAt < :to " +
+            "and (t.transactedAt < :cursorAt or (t.transactedAt = :cursorAt and t.id < :cursorId)) " +
+            "order by t.transactedAt desc, t.id desc")
+    List<TransactionHistoryItem> findHistory(Long accountId, LocalDateTime from, LocalDateTime to,
+                                             LocalDateTime cursorAt, Long cursorId, Limit limit);
+
+    // 대량 내보내기용. MySQL 은 useCursorFetch 로 fetchSize 만큼씩 읽는다.
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.example.account.dto.TransactionHistoryItem(" +
+            "t.id, t.transactionId, t.transactionType, t.transactionResultType, " +
+            "t.amount, t.balanceSnapshot, t.transactedAt) " +
+            "from Transaction t where t.account.id = :accountId " +
+            "and t.transactedAt >= :from and t.transactedAt < :to " +
+            "order by t.transactedAt desc, t.id desc")
+    Stream<TransactionHistoryItem> streamHistory(Long accountId, LocalDateTime from, LocalDateTime to);
 }
@@ -0,0 +1,48 @@
+package com.example.account.service;
+
+import com.example.account.config.AccountCacheProperties;
+import com.example.account.config.CacheConfig;
+import com.example.account.dto.AccountMetadata;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountUserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+
+// 기동 직후 최근에 사용된 계좌와 소유주를 캐시에 미리 올린다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccountCachePrewarmer {
+    private final AccountCacheProperties accountCacheProperties;
+    private final AccountRepository accountRepository;
+    private final AccountUserRepository accountUserRepository;
+    private final CacheManager cacheManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void prewarm() {
+        AccountCacheProperties.Prewarm prewarm = accountCacheProperties.getPrewarm();
+        if (!prewarm.isEnabled()) {
+            return;
+        }
+
+        List<AccountMetadata> accounts = accountRepository.findRecentlyActiveMetadata(
+                PageRequest.of(0, prewarm.getSize()));
+        Cache accountMetadataCache = Objects.requireNonNull(cacheManager.getCache(CacheConfig.ACCOUNT_METADATA));
+        accounts.forEach(metadata -> accountMetadataCache.put(metadata.getAccountNumber(), metadata));
+
+        Cache accountUserCache = Objects.requireNonNull(cacheManager.getCache(CacheConfig.ACCOUNT_USERS));
+        accountUserRepository.findAllById(accounts.stream().map(AccountMetadata::getOwnerId).distinct().toList())
+                .forEach(accountUser -> accountUserCache.put(accountUser.getId(), accountUser));
+
+        log.info("account cache prewarmed. accounts: {}", accounts.size());
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.account.service;
+
+import com.example.account.config.AccountNumberProperties;
+import com.example.account.domain.AccountNumberSequence;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountNumberSequenceRepository;
+import com.example.account.repository.AccountRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.example.account.type.ErrorCode.ACCOUNT_NUMBER_EXHAUSTED;
+
+// hi/lo 방식 계좌번호 발급기.
+// account_number_sequence 테이블에서 blockSize 만큼의 구간을 예약하고, 구간 안의 번호는 메모리에서 발급한다.
+// 예약된 구간은 DB에 먼저 반영되므로 재시작하더라도 같은 번호가 다시 발급되지 않는다.
+@Component
+public class AccountNumberAllocator {
+    static final String SEQUENCE_NAME = "account_number";
+    static final long FIRST_ACCOUNT_NUMBER = 1_000_000_000L;
+    static final long LAST_ACCOUNT_NUMBER = 9_999_999_999L;
+    private static final int MAX_RESERVE_ATTEMPTS = 5;
+
+    private final AccountNumberSequenceRepository accountNumberSequenceRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int blockSize;
+
+    private volatile Block block = new Block(0, 0);
+
+    public AccountNumberAllocator(AccountNumberSequenceRepository accountNumberSequenceRepository,
+                                  AccountRepository accountRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  AccountNumberProperties accountNumberProperties) {
+        this.accountNumberSequenceRepository = accountNumberSequenceRepository;
+        this.accountRepository = accountRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = Math.max(1, accountNumberProperties.getBlockSize());
+    }
+
+    public String nextAccountNumber() {
+        while (true) {
+            Block current = block;
+            long next = current.next.getAndIncrement();
+            if (next < current.end) {
+                return String.valueOf(next);
+            }
+            refill(current);
+        }
+    }
+
+    private synchronized void refill(Block exhausted) {
+        if (block == exhausted) {
+            block = reserveBlock();
+        }
+    }
+
+    private Block reserveBlock() {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Block reserved = transactionTemplate.execute(status -> reserveBlockInTransaction());
+                if (reserved != null) {
+                    return reserved;
+                }
+                // 시퀀스 행은 잠금 트랜잭션 밖에서 만든다. 없는 행을 FOR UPDATE 로 잡은 채 INSERT 하면
+                // 두 인스턴스가 서로의 gap lock 을 기다리다 교착된다.
+                transactionTemplate.executeWithoutResult(status -> createSequence());
+            } catch (DataIntegrityViolationException | PessimisticLockingFailureException e) {
+                // 다른 인스턴스가 시퀀스 행을 먼저 만들었거나, 잠금 대기 초과/교착으로 롤백된 경우
+                if (attempt >= MAX_RESERVE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private Block reserveBlockInTransaction() {
+        AccountNumberSequence sequence = accountNumberSequenceRepository.findByNameForUpdate(SEQUENCE_NAME)
+                .orElse(null);
+        if (sequence == null) {
+            return null;
+        }
+
+        long start = sequence.getNextValue();
+        if (start > LAST_ACCOUNT_NUMBER) {
+            throw new AccountException(ACCOUNT_NUMBER_EXHAUSTED);
+        }
+        long end = Math.min(start + blockSize, LAST_ACCOUNT_NUMBER + 1);
+        sequence.setNextValue(end);
+        accountNumberSequenceRepository.save(sequence);
+        return new Block(start, end);
+    }
+
+    private void createSequence() {
+        // 기존 계좌가 있다면 가장 큰 계좌번호 다음부터 발급한다.
+        long nextValue = accountRepository.findMaxAccountNumber()
+                .map(accountNumber -> Long.parseLong(accountNumber) + 1)
+                .orElse(FIRST_ACCOUNT_NUMBER);
+        // save 는 id 가 정해진 엔티티를 merge 하므로, 먼저 만들어진 행의 nextValue 를 되돌릴 수 있다.
+        accountNumberSequenceRepository.insertSequence(SEQUENCE_NAME, nextValue);
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
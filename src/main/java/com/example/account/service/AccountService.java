@@ -1,29 +1,40 @@
 package com.example.account.service;
 
+import com.example.account.config.CacheConfig;
+import com.example.account.datasource.ReplicaRead;
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
 import com.example.account.dto.AccountDto;
 import com.example.account.exception.AccountException;
 import com.example.account.repository.AccountRepository;
 import com.example.account.repository.AccountUserRepository;
+import com.example.account.service.ledger.LedgerEngine;
+import com.example.account.service.password.AccountPasswordVerifier;
 import com.example.account.type.AccountStatus;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import static com.example.account.type.AccountStatus.IN_USE;
 import static com.example.account.type.ErrorCode.*;
 
 @Service
+@Timed(value = "account.service", histogram = true)
 @RequiredArgsConstructor
 public class AccountService {
     private final AccountRepository accountRepository;
     private final AccountUserRepository accountUserRepository;
+    private final AccountNumberAllocator accountNumberAllocator;
+    private final AccountPasswordVerifier accountPasswordVerifier;
+    private final ObjectProvider<LedgerEngine> ledgerEngineProvider;
 
     public AccountDto createAccount(Long userId, String accountPassword, Long initialBalance, String accountName) {
         if (accountName.length() > 10){
@@ -36,9 +47,7 @@ public class AccountService {
             throw new AccountException(MAX_ACCOUNT_PER_USER_10);
         }
 
-        String newAccountNumber = accountRepository.findFirstByOrderByIdDesc()
-                .map(account -> (Integer.parseInt(account.getAccountNumber())) + 1 + "")
-                .orElse("1000000000");
+        String newAccountNumber = accountNumberAllocator.nextAccountNumber();
 
         accountName = Optional.of(accountName)
                                 .filter(name -> !name.trim().isEmpty())
@@ -49,7 +58,7 @@ public class AccountService {
                         Account.builder()
                                 .accountUser(accountUser)
                                 .accountNumber(newAccountNumber)
-                                .accountPassword(accountPassword)
+                                .accountPassword(accountPasswordVerifier.encode(accountPassword))
                                 .balance(initialBalance)
                                 .accountStatus(IN_USE)
                                 .accountName(accountName)
@@ -59,6 +68,7 @@ public class AccountService {
         );
     }
 
+    @CacheEvict(cacheNames = CacheConfig.ACCOUNT_METADATA, key = "#p1")
     public AccountDto deleteAccount(Long userId, String accountNumber, String accountPassword){
         AccountUser accountUser = accountUserRepository.findById(userId)
                 .orElseThrow(() -> new AccountException(USER_NOT_FOUND));
@@ -68,12 +78,22 @@ public class AccountService {
         if (!accountUser.getId().equals(account.getAccountUser().getId())){
             throw new AccountException(USER_ACCOUNT_MISMATCH);
         }
-        if (!accountPassword.equals(account.getAccountPassword())){
+        if (!accountPasswordVerifier.matches(account.getId(), accountPassword, account::getAccountPassword)){
             throw new AccountException(ACCOUNT_PASSWORD_MISMATCH);
         }
         if (account.getAccountStatus() == AccountStatus.UNREGISTERED){
             throw new AccountException(ACCOUNT_ALREADY_UNREGISTERED);
         }
+
+        LedgerEngine ledgerEngine = ledgerEngineProvider.getIfAvailable();
+        if (ledgerEngine != null){
+            // 원장 엔진에서는 DB 잔액이 늦을 수 있으므로 잔액 확인과 해지를 파티션에서 한 번에 한다.
+            account.setUnRegisteredAt(ledgerEngine.unregister(accountNumber));
+            account.setAccountStatus(AccountStatus.UNREGISTERED);
+            account.setBalance(0L);
+            return AccountDto.fromEntity(account);
+        }
+
         if (account.getBalance() > 0){
             throw new AccountException(BALANCE_NOT_EMPTY);
         }
@@ -85,14 +105,13 @@ public class AccountService {
         return AccountDto.fromEntity(account);
     }
 
+    @ReplicaRead
+    @Transactional(readOnly = true)
     public List<AccountDto> getAccountsInfoByUserId(Long userId){
-        AccountUser accountUser = accountUserRepository.findById(userId)
-                .orElseThrow(() -> new AccountException(USER_NOT_FOUND));
-
-        List<Account> accounts = accountRepository.findByAccountUser(accountUser);
+        if (accountUserRepository.findById(userId).isEmpty()){
+            throw new AccountException(USER_NOT_FOUND);
+        }
 
-        return accounts.stream()
-                .map(AccountDto::fromEntity)
-                .collect(Collectors.toList());
+        return accountRepository.findAccountDtosByUserId(userId);
     }
 }
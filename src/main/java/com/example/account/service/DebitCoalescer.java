@@ -0,0 +1,142 @@
+package com.example.account.service;
+
+import com.example.account.config.TransactionProperties;
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.TransactionResult;
+import com.example.account.dto.UseBalance;
+import com.example.account.exception.AccountException;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.account.type.ErrorCode.TRANSACTION_PROCESSING_FAILED;
+
+// 같은 계좌로 동시에 들어온 잔액 사용 요청을 묶어 한 번에 처리한다.
+// 묶음을 처음 만든 요청 스레드(leader)가 묶음을 닫고 TransactionBatchService 로 처리하므로 별도 스레드가 없다.
+// 계좌 행 잠금, 잔액 UPDATE, 커밋은 묶음당 한 번이고, 결과는 도착 순서대로 건별로 돌려준다.
+@Slf4j
+@Service
+public class DebitCoalescer {
+    private final TransactionBatchService transactionBatchService;
+    private final TransactionProperties.Coalescing properties;
+    private final Map<String, Batch> openBatches = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> executing = new ConcurrentHashMap<>();
+    private final DistributionSummary batchSizeSummary;
+
+    public DebitCoalescer(TransactionBatchService transactionBatchService,
+                          TransactionProperties transactionProperties,
+                          MeterRegistry meterRegistry) {
+        this.transactionBatchService = transactionBatchService;
+        this.properties = transactionProperties.getCoalescing();
+        this.batchSizeSummary = DistributionSummary.builder("transaction.coalesce.batch.size")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    // TransactionService.useBalance 와 같은 이름으로 기록해 묶음 처리를 켜도 거래 지연 지표가 이어진다.
+    @Timed(value = "transaction.service", histogram = true)
+    public TransactionDto useBalance(UseBalance.Request request) {
+        String accountNumber = request.getAccountNumber();
+        Entry entry = new Entry(request);
+        boolean[] leader = new boolean[1];
+        Batch batch = openBatches.compute(accountNumber, (key, open) -> {
+            if (open != null && open.tryAdd(entry)) {
+                return open;
+            }
+            leader[0] = true;
+            return new Batch(entry, properties.getMaxBatchSize());
+        });
+        if (leader[0]) {
+            execute(accountNumber, batch);
+        }
+
+        TransactionResult result = entry.result.join();
+        if (!result.isSuccess()) {
+            throw new AccountException(result.getErrorCode());
+        }
+        return result.getTransactionDto();
+    }
+
+    private void execute(String accountNumber, Batch batch) {
+        AtomicInteger inFlight = executing.computeIfAbsent(accountNumber, key -> new AtomicInteger());
+        // 같은 계좌의 이전 묶음이 행 잠금을 쥐고 있으면 어차피 기다려야 하므로 그동안 더 모은다.
+        if (inFlight.get() > 0) {
+            sleepWindow();
+        }
+        List<Entry> entries = batch.close();
+        openBatches.remove(accountNumber, batch);
+
+        inFlight.incrementAndGet();
+        try {
+            List<TransactionResult> results = transactionBatchService.useBalanceForAccount(
+                    accountNumber, entries.stream().map(e -> e.request).toList());
+            batchSizeSummary.record(entries.size());
+            for (int i = 0; i < entries.size(); i++) {
+                entries.get(i).result.complete(results.get(i));
+            }
+        } catch (RuntimeException e) {
+            log.error("failed to use coalesced balance. accountNumber: {}, requests: {}",
+                    accountNumber, entries.size(), e);
+            entries.forEach(failed -> failed.result.complete(TransactionResult.failure(TRANSACTION_PROCESSING_FAILED)));
+        } finally {
+            // 제거와 동시에 다른 leader 가 같은 카운터를 잡을 수 있지만, 대기 여부 판단에만 쓰므로 괜찮다.
+            if (inFlight.decrementAndGet() == 0) {
+                executing.remove(accountNumber, inFlight);
+            }
+        }
+    }
+
+    private void sleepWindow() {
+        try {
+            TimeUnit.MICROSECONDS.sleep(properties.getWindowMicros());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Entry {
+        private final UseBalance.Request request;
+        private final CompletableFuture<TransactionResult> result = new CompletableFuture<>();
+
+        private Entry(UseBalance.Request request) {
+            this.request = request;
+        }
+    }
+
+    private static final class Batch {
+        private final List<Entry> entries = new ArrayList<>();
+        private final int maxSize;
+        private boolean closed;
+
+        private Batch(Entry first, int maxSize) {
+            this.entries.add(first);
+            this.maxSize = Math.max(1, maxSize);
+        }
+
+        synchronized boolean tryAdd(Entry entry) {
+            if (closed || entries.size() >= maxSize) {
+                return false;
+            }
+            entries.add(entry);
+            return true;
+        }
+
+        synchronized List<Entry> close() {
+            closed = true;
+            return entries;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.account.service;
+
+import com.example.account.config.TransactionProperties;
+import com.example.account.dto.TransactionDto;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.TransactionIdempotencyRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.type.TransactionType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static com.example.account.type.ErrorCode.IDEMPOTENCY_KEY_REUSED;
+
+// 멱등성 키가 있는 잔액 사용/취소 요청의 재시도를 처음 결과로 응답한다.
+// 최근 키는 메모리(LRU)에서, 그 밖의 키는 TransactionIdempotency 의 PK(unique) 로 걸러 DB 에서 찾는다.
+// ledger 엔진은 DB 반영 전인 키를 엔진 안에서 거르고, 반영할 때 거래와 같은 트랜잭션으로 키를 저장한다.
+@Service
+public class IdempotencyService {
+    private final TransactionIdempotencyRepository transactionIdempotencyRepository;
+    private final TransactionRepository transactionRepository;
+    private final Cache<String, TransactionDto> responses;
+
+    public IdempotencyService(TransactionIdempotencyRepository transactionIdempotencyRepository,
+                              TransactionRepository transactionRepository,
+                              TransactionProperties transactionProperties,
+                              MeterRegistry meterRegistry) {
+        TransactionProperties.Idempotency properties = transactionProperties.getIdempotency();
+        this.transactionIdempotencyRepository = transactionIdempotencyRepository;
+        this.transactionRepository = transactionRepository;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheSize())
+                .expireAfterWrite(Duration.ofMinutes(properties.getCacheExpireMinutes()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "transactionIdempotency");
+    }
+
+    public TransactionDto execute(String idempotencyKey, TransactionType transactionType,
+                                  String accountNumber, Long amount, Supplier<TransactionDto> task) {
+        if (idempotencyKey == null) {
+            return task.get();
+        }
+        TransactionDto cached = responses.getIfPresent(idempotencyKey);
+        if (cached != null) {
+            return replay(cached, transactionType, accountNumber, amount);
+        }
+
+        TransactionDto result;
+        try {
+            result = task.get();
+        } catch (DataIntegrityViolationException | AccountException e) {
+            // 같은 키로 이미 반영된 거래가 있으면(캐시에서 밀려났거나 재기동 이후의 재시도) 그 결과로 응답한다.
+            // 처음 거래로 잔액이 줄어 이번 시도가 실패한 경우도 여기서 걸러진다.
+            TransactionDto original = findOriginal(idempotencyKey).orElseThrow(() -> e);
+            responses.put(idempotencyKey, original);
+            return replay(original, transactionType, accountNumber, amount);
+        }
+        responses.put(idempotencyKey, result);
+        return result;
+    }
+
+    // 이미 반영된 키면 처음 결과를 돌려준다. 묶음 처리는 execute 로 감쌀 수 없어 항목마다 반영 전에 확인한다.
+    public Optional<TransactionDto> findResponse(String idempotencyKey, TransactionType transactionType,
+                                                 String accountNumber, Long amount) {
+        TransactionDto original = responses.getIfPresent(idempotencyKey);
+        if (original == null) {
+            original = findOriginal(idempotencyKey).orElse(null);
+            if (original == null) {
+                return Optional.empty();
+            }
+            responses.put(idempotencyKey, original);
+        }
+        return Optional.of(replay(original, transactionType, accountNumber, amount));
+    }
+
+    // 커밋된 뒤에 부른다.
+    public void remember(String idempotencyKey, TransactionDto response) {
+        responses.put(idempotencyKey, response);
+    }
+
+    private Optional<TransactionDto> findOriginal(String idempotencyKey) {
+        return transactionIdempotencyRepository.findById(idempotencyKey)
+                .flatMap(idempotency -> transactionRepository.findByTransactionIdAndTransactedAtBetween(
+                        idempotency.getTransactionId(),
+                        idempotency.getTransactedAt().minusSeconds(1),
+                        idempotency.getTransactedAt().plusSeconds(1)))
+                .map(TransactionDto::fromEntity);
+    }
+
+    static TransactionDto replay(TransactionDto original, TransactionType transactionType,
+                                         String accountNumber, Long amount) {
+        if (original.getTransactionType() != transactionType
+                || !original.getAccountNumber().equals(accountNumber)
+                || !original.getAmount().equals(amount)) {
+            throw new AccountException(IDEMPOTENCY_KEY_REUSED);
+        }
+        return original;
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.domain.Transaction;
+import com.example.account.domain.TransactionIdempotency;
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.TransactionResult;
+import com.example.account.dto.UseBalance;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountUserRepository;
+import com.example.account.repository.TransactionIdempotencyRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.service.id.TransactionIdGenerator;
+import com.example.account.service.ledger.LedgerEngine;
+import com.example.account.service.lock.BalanceLockStrategy;
+import com.example.account.service.password.AccountPasswordVerifier;
+import com.example.account.type.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static com.example.account.type.ErrorCode.*;
+import static com.example.account.type.TransactionResultType.S;
+import static com.example.account.type.TransactionType.USE;
+
+// 여러 건의 잔액 사용 요청을 계좌별로 묶어 처리한다.
+// 계좌마다 한 번만 잠그고 조회하며, 계좌 단위로 커밋하므로 한 계좌의 실패가 다른 계좌의 거래를 롤백하지 않는다.
+// 멱등성 키는 항목마다 반영 전에 확인해, 이미 반영된 키는 처음 결과로 응답하고 새 키만 저장한다.
+@Slf4j
+@Service
+public class TransactionBatchService {
+    private final AccountRepository accountRepository;
+    private final AccountUserRepository accountUserRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionIdempotencyRepository transactionIdempotencyRepository;
+    private final IdempotencyService idempotencyService;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final BalanceLockStrategy balanceLockStrategy;
+    private final AccountPasswordVerifier accountPasswordVerifier;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<LedgerEngine> ledgerEngineProvider;
+
+    public TransactionBatchService(AccountRepository accountRepository,
+                                   AccountUserRepository accountUserRepository,
+                                   TransactionRepository transactionRepository,
+                                   TransactionIdempotencyRepository transactionIdempotencyRepository,
+                                   IdempotencyService idempotencyService,
+                                   TransactionIdGenerator transactionIdGenerator,
+                                   BalanceLockStrategy balanceLockStrategy,
+                                   AccountPasswordVerifier accountPasswordVerifier,
+                                   PlatformTransactionManager transactionManager,
+                                   ObjectProvider<LedgerEngine> ledgerEngineProvider) {
+        this.accountRepository = accountRepository;
+        this.accountUserRepository = accountUserRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionIdempotencyRepository = transactionIdempotencyRepository;
+        this.idempotencyService = idempotencyService;
+        this.transactionIdGenerator = transactionIdGenerator;
+        this.balanceLockStrategy = balanceLockStrategy;
+        this.accountPasswordVerifier = accountPasswordVerifier;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ledgerEngineProvider = ledgerEngineProvider;
+    }
+
+    public List<TransactionResult> useBalance(List<UseBalance.Request> requests) {
+        LedgerEngine ledgerEngine = ledgerEngineProvider.getIfAvailable();
+        if (ledgerEngine != null) {
+            return useBalanceOnLedger(ledgerEngine, requests);
+        }
+
+        Map<String, List<Integer>> indexesByAccountNumber = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            indexesByAccountNumber
+                    .computeIfAbsent(requests.get(i).getAccountNumber(), accountNumber -> new ArrayList<>())
+                    .add(i);
+        }
+
+        TransactionResult[] results = new TransactionResult[requests.size()];
+        indexesByAccountNumber.forEach((accountNumber, indexes) -> {
+            List<TransactionResult> accountResults = useBalanceForAccount(
+                    accountNumber, indexes.stream().map(requests::get).toList());
+            for (int i = 0; i < indexes.size(); i++) {
+                results[indexes.get(i)] = accountResults.get(i);
+            }
+        });
+        return Arrays.asList(results);
+    }
+
+    // 한 계좌에 대한 요청들을 도착 순서대로 하나의 DB 트랜잭션에서 처리한다.
+    public List<TransactionResult> useBalanceForAccount(String accountNumber, List<UseBalance.Request> requests) {
+        LedgerEngine ledgerEngine = ledgerEngineProvider.getIfAvailable();
+        if (ledgerEngine != null) {
+            return useBalanceOnLedger(ledgerEngine, requests);
+        }
+        try {
+            List<TransactionResult> results;
+            try {
+                results = lockAndApply(accountNumber, requests);
+            } catch (DataIntegrityViolationException e) {
+                // 잠금 밖(다른 계좌나 단건 API)에서 같은 키가 먼저 저장됐다. 다시 확인하면 그 키는 처음 결과로 응답한다.
+                results = lockAndApply(accountNumber, requests);
+            }
+            rememberIdempotencyKeys(requests, results);
+            return results;
+        } catch (AccountException e) {
+            return failAll(requests.size(), e.getErrorCode());
+        } catch (RuntimeException e) {
+            log.error("failed to use balance. accountNumber: {}, requests: {}", accountNumber, requests.size(), e);
+            return failAll(requests.size(), TRANSACTION_PROCESSING_FAILED);
+        }
+    }
+
+    private List<TransactionResult> lockAndApply(String accountNumber, List<UseBalance.Request> requests) {
+        return balanceLockStrategy.execute(accountNumber, () ->
+                transactionTemplate.execute(status -> applyUseBalances(accountNumber, requests)));
+    }
+
+    private List<TransactionResult> applyUseBalances(String accountNumber, List<UseBalance.Request> requests) {
+        Optional<Account> account = accountRepository.findByAccountNumberForUpdate(accountNumber);
+
+        List<TransactionResult> results = new ArrayList<>(requests.size());
+        List<Transaction> transactions = new ArrayList<>(requests.size());
+        // transactions 와 같은 순서의 멱등성 키. 키가 없으면 null 이다.
+        List<String> idempotencyKeys = new ArrayList<>(requests.size());
+        // 같은 묶음 안에서 먼저 나온 키. 아직 커밋 전이라 IdempotencyService 로는 찾을 수 없다.
+        Map<String, TransactionDto> pending = new HashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (UseBalance.Request request : requests) {
+            try {
+                String idempotencyKey = request.getIdempotencyKey();
+                Optional<TransactionDto> original = idempotencyKey == null ? Optional.empty()
+                        : findOriginal(pending, idempotencyKey, accountNumber, request.getAmount());
+                if (original.isPresent()) {
+                    results.add(TransactionResult.success(original.get()));
+                    continue;
+                }
+
+                AccountUser accountUser = accountUserRepository.findById(request.getUserId())
+                        .orElseThrow(() -> new AccountException(USER_NOT_FOUND));
+                Account lockedAccount = account
+                        .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
+                TransactionService.validateUseBalance(accountPasswordVerifier,
+                        accountUser, lockedAccount, request.getAccountPassword(), request.getAmount());
+
+                lockedAccount.useBalance(request.getAmount());
+                Transaction transaction = Transaction.builder()
+                        .account(lockedAccount)
+                        .transactionType(USE)
+                        .transactionResultType(S)
+                        .amount(request.getAmount())
+                        .balanceSnapshot(lockedAccount.getBalance())
+                        .transactionId(transactionIdGenerator.generate())
+                        .transactedAt(now)
+                        .build();
+                transactions.add(transaction);
+                idempotencyKeys.add(idempotencyKey);
+                TransactionDto transactionDto = TransactionDto.fromEntity(transaction, accountNumber);
+                if (idempotencyKey != null) {
+                    pending.put(idempotencyKey, transactionDto);
+                }
+                results.add(TransactionResult.success(transactionDto));
+            } catch (AccountException e) {
+                results.add(TransactionResult.failure(e.getErrorCode()));
+            }
+        }
+
+        // 멱등성 키는 저장된 거래로 만든다(TransactionService.saveTransaction 과 같다).
+        List<Transaction> saved = transactionRepository.saveAll(transactions);
+        List<TransactionIdempotency> idempotencies = new ArrayList<>();
+        for (int i = 0; i < saved.size(); i++) {
+            if (idempotencyKeys.get(i) != null) {
+                idempotencies.add(TransactionIdempotency.of(idempotencyKeys.get(i), saved.get(i)));
+            }
+        }
+        if (!idempotencies.isEmpty()) {
+            transactionIdempotencyRepository.saveAll(idempotencies);
+        }
+        return results;
+    }
+
+    private Optional<TransactionDto> findOriginal(Map<String, TransactionDto> pending, String idempotencyKey,
+                                                  String accountNumber, Long amount) {
+        TransactionDto inBatch = pending.get(idempotencyKey);
+        if (inBatch != null) {
+            return Optional.of(IdempotencyService.replay(inBatch, USE, accountNumber, amount));
+        }
+        return idempotencyService.findResponse(idempotencyKey, USE, accountNumber, amount);
+    }
+
+    private void rememberIdempotencyKeys(List<UseBalance.Request> requests, List<TransactionResult> results) {
+        for (int i = 0; i < requests.size(); i++) {
+            if (requests.get(i).getIdempotencyKey() != null && results.get(i).isSuccess()) {
+                idempotencyService.remember(requests.get(i).getIdempotencyKey(), results.get(i).getTransactionDto());
+            }
+        }
+    }
+
+    // 원장 엔진에는 모두 먼저 넘기고 기다린다. 같은 fsync 에 함께 실려 내구화된다.
+    // 멱등성 키는 엔진이 파티션 안에서 확인하고 반영 때 함께 저장하므로 같은 묶음 안의 중복 키도 걸러진다.
+    private List<TransactionResult> useBalanceOnLedger(LedgerEngine ledgerEngine, List<UseBalance.Request> requests) {
+        List<CompletableFuture<TransactionDto>> submitted = new ArrayList<>(requests.size());
+        for (UseBalance.Request request : requests) {
+            try {
+                submitted.add(ledgerEngine.submitUseBalance(request.getUserId(), request.getAccountNumber(),
+                        request.getAccountPassword(), request.getAmount(), request.getIdempotencyKey()));
+            } catch (AccountException e) {
+                submitted.add(CompletableFuture.failedFuture(e));
+            }
+        }
+
+        List<TransactionResult> results = new ArrayList<>(requests.size());
+        for (CompletableFuture<TransactionDto> future : submitted) {
+            try {
+                results.add(TransactionResult.success(future.join()));
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof AccountException accountException) {
+                    results.add(TransactionResult.failure(accountException.getErrorCode()));
+                } else {
+                    log.error("failed to use balance on ledger.", e.getCause());
+                    results.add(TransactionResult.failure(TRANSACTION_PROCESSING_FAILED));
+                }
+            }
+        }
+        rememberIdempotencyKeys(requests, results);
+        return results;
+    }
+
+    private static List<TransactionResult> failAll(int size, ErrorCode errorCode) {
+        return Collections.nCopies(size, TransactionResult.failure(errorCode));
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.account.service;
+
+import com.example.account.datasource.ReplicaRead;
+import com.example.account.dto.AccountMetadata;
+import com.example.account.dto.TransactionHistory;
+import com.example.account.dto.TransactionHistoryItem;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.service.archive.TransactionArchive;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.function.ThrowingConsumer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.example.account.type.ErrorCode.*;
+
+@Service
+@RequiredArgsConstructor
+public class TransactionHistoryService {
+    static final int MAX_PAGE_SIZE = 500;
+    private static final LocalDateTime MIN_TRANSACTED_AT = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_TRANSACTED_AT = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionArchive transactionArchive;
+
+    // 최신 거래부터 size 건. 다음 페이지는 응답의 next_cursor 로 이어서 조회한다.
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public TransactionHistory.Response getHistory(String accountNumber, LocalDate from, LocalDate to,
+                                                  String cursor, int size) {
+        Long accountId = getAccountId(accountNumber);
+        LocalDateTime start = startOf(from);
+        LocalDateTime end = endOf(to);
+        validatePeriod(start, end);
+
+        LocalDateTime cursorAt = end;
+        long cursorId = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] decoded = decodeCursor(cursor);
+            try {
+                cursorAt = LocalDateTime.parse(decoded[0]);
+                cursorId = Long.parseLong(decoded[1]);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new AccountException(INVALID_HISTORY_CURSOR);
+            }
+        }
+
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        // 보관된 달은 모두 DB 에 남은 거래보다 과거이므로, DB 에서 모자란 만큼 보관본에서 이어 읽는다.
+        LocalDateTime archivedUntil = transactionArchive.getArchivedUntil().orElse(MIN_TRANSACTED_AT);
+        // 한 건 더 읽어 다음 페이지 존재 여부를 판단한다.
+        List<TransactionHistoryItem> items = new ArrayList<>(pageSize + 1);
+        LocalDateTime liveStart = start.isAfter(archivedUntil) ? start : archivedUntil;
+        if (liveStart.isBefore(end)) {
+            items.addAll(transactionRepository.findHistory(
+                    accountId, liveStart, end, cursorAt, cursorId, Limit.of(pageSize + 1)));
+        }
+        if (items.size() <= pageSize && start.isBefore(archivedUntil)) {
+            items.addAll(transactionArchive.findHistory(accountId, start,
+                    end.isBefore(archivedUntil) ? end : archivedUntil,
+                    cursorAt, cursorId, pageSize + 1 - items.size()));
+        }
+        if (items.size() <= pageSize) {
+            return new TransactionHistory.Response(items, null);
+        }
+        List<TransactionHistoryItem> page = items.subList(0, pageSize);
+        return new TransactionHistory.Response(page, encodeCursor(page.get(pageSize - 1)));
+    }
+
+    // 내보내기 응답을 시작하기 전에 호출해 오류를 일반 에러 응답으로 돌려준다.
+    public void validateHistoryRequest(String accountNumber, LocalDate from, LocalDate to) {
+        getAccountId(accountNumber);
+        validatePeriod(startOf(from), endOf(to));
+    }
+
+    // 행을 한 건씩 읽어 바로 넘기므로 거래 건수와 무관하게 힙 사용량이 일정하다.
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public void exportHistory(String accountNumber, LocalDate from, LocalDate to,
+                              ThrowingConsumer<TransactionHistoryItem> consumer) {
+        Long accountId = getAccountId(accountNumber);
+        LocalDateTime start = startOf(from);
+        LocalDateTime end = endOf(to);
+        LocalDateTime archivedUntil = transactionArchive.getArchivedUntil().orElse(MIN_TRANSACTED_AT);
+        LocalDateTime liveStart = start.isAfter(archivedUntil) ? start : archivedUntil;
+        if (liveStart.isBefore(end)) {
+            try (Stream<TransactionHistoryItem> items =
+                         transactionRepository.streamHistory(accountId, liveStart, end)) {
+                items.forEach(consumer);
+            }
+        }
+        if (start.isBefore(archivedUntil)) {
+            transactionArchive.exportHistory(accountId, start, end.isBefore(archivedUntil) ? end : archivedUntil,
+                    consumer);
+        }
+    }
+
+    private Long getAccountId(String accountNumber) {
+        return accountRepository.findMetadataByAccountNumber(accountNumber)
+                .map(AccountMetadata::getId)
+                .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
+    }
+
+    private static LocalDateTime startOf(LocalDate from) {
+        return from != null ? from.atStartOfDay() : MIN_TRANSACTED_AT;
+    }
+
+    // 종료일 당일까지 포함한다.
+    private static LocalDateTime endOf(LocalDate to) {
+        return to != null ? to.plusDays(1).atStartOfDay() : MAX_TRANSACTED_AT;
+    }
+
+    private static void validatePeriod(LocalDateTime start, LocalDateTime end) {
+        if (!start.isBefore(end)) {
+            throw new AccountException(INVALID_HISTORY_PERIOD);
+        }
+    }
+
+    static String encodeCursor(TransactionHistoryItem item) {
+        String raw = item.getTransactedAt() + "|" + item.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String[] decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (decoded.length != 2) {
+                throw new AccountException(INVALID_HISTORY_CURSOR);
+            }
+            return decoded;
+        } catch (IllegalArgumentException e) {
+            throw new AccountException(INVALID_HISTORY_CURSOR);
+        }
+    }
+}
@@ -1,20 +1,31 @@
 package com.example.account.service;
 
+import com.example.account.config.TransactionProperties;
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
 import com.example.account.domain.Transaction;
+import com.example.account.domain.TransactionIdempotency;
+import com.example.account.dto.AccountMetadata;
 import com.example.account.dto.TransactionDto;
 import com.example.account.exception.AccountException;
 import com.example.account.repository.AccountRepository;
 import com.example.account.repository.AccountUserRepository;
+import com.example.account.repository.TransactionIdempotencyRepository;
 import com.example.account.repository.TransactionRepository;
+import com.example.account.service.archive.TransactionArchive;
+import com.example.account.service.id.TransactionIdGenerator;
+import com.example.account.service.ledger.LedgerEngine;
+import com.example.account.service.lock.BalanceLockStrategy;
+import com.example.account.service.password.AccountPasswordVerifier;
 import com.example.account.type.AccountStatus;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.UUID;
+import java.util.Optional;
 
 import static com.example.account.type.ErrorCode.*;
 import static com.example.account.type.TransactionResultType.F;
@@ -23,48 +34,123 @@ import static com.example.account.type.TransactionType.CANCEL;
 import static com.example.account.type.TransactionType.USE;
 
 @Service
+@Timed(value = "transaction.service", histogram = true)
 @RequiredArgsConstructor
 public class TransactionService {
     private final TransactionRepository transactionRepository;
+    private final TransactionIdempotencyRepository transactionIdempotencyRepository;
     private final AccountUserRepository accountUserRepository;
     private final AccountRepository accountRepository;
+    private final BalanceLockStrategy balanceLockStrategy;
+    private final TransactionProperties transactionProperties;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final AccountPasswordVerifier accountPasswordVerifier;
+    private final TransactionArchive transactionArchive;
+    // account.transaction.engine=ledger 일 때만 있다.
+    private final ObjectProvider<LedgerEngine> ledgerEngineProvider;
 
     @Transactional
     public TransactionDto useBalance(Long userId, String accountNumber, String accountPassword, Long amount){
+        return useBalance(userId, accountNumber, accountPassword, amount, null);
+    }
+
+    @Transactional
+    public TransactionDto useBalance(Long userId, String accountNumber, String accountPassword, Long amount,
+                                     String idempotencyKey){
+        LedgerEngine ledgerEngine = ledgerEngineProvider.getIfAvailable();
+        if (ledgerEngine != null){
+            return ledgerEngine.useBalance(userId, accountNumber, accountPassword, amount, idempotencyKey);
+        }
+        if (transactionProperties.isConditionalDebit()){
+            return useBalanceConditionally(userId, accountNumber, accountPassword, amount, idempotencyKey);
+        }
+
         AccountUser accountUser = accountUserRepository.findById(userId)
                 .orElseThrow(() -> new AccountException(USER_NOT_FOUND));
-        Account account = accountRepository.findByAccountNumber(accountNumber)
+        Account account = findAccountForBalanceUpdate(accountNumber)
                 .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
 
-        if (!accountUser.getId().equals(account.getAccountUser().getId())){
-            throw new AccountException(USER_ACCOUNT_MISMATCH);
-        }
-        if (!accountPassword.equals(account.getAccountPassword())){
-            throw new AccountException(ACCOUNT_PASSWORD_MISMATCH);
-        }
-        if (account.getAccountStatus() != AccountStatus.IN_USE){
-            throw new AccountException(ACCOUNT_ALREADY_UNREGISTERED);
-        }
-        if (account.getBalance() < amount){
-            throw new AccountException(AMOUNT_EXCEED_BALANCE);
-        }
+        validateUseBalance(accountPasswordVerifier, accountUser, account, accountPassword, amount);
 
         account.useBalance(amount);
         return TransactionDto.fromEntity(
-                transactionRepository.save(
+                saveTransaction(
                         Transaction.builder()
                                 .account(account)
                                 .transactionType(USE)
                                 .transactionResultType(S)
                                 .amount(amount)
                                 .balanceSnapshot(account.getBalance())
-                                .transactionId(UUID.randomUUID().toString().replace("-",""))
+                                .transactionId(transactionIdGenerator.generate())
                                 .transactedAt(LocalDateTime.now())
-                                .build()
+                                .build(),
+                        idempotencyKey
                 )
         );
     }
 
+    private TransactionDto useBalanceConditionally(Long userId, String accountNumber, String accountPassword, Long amount,
+                                                   String idempotencyKey){
+        // 캐시된 계좌 정보로 명백한 실패는 UPDATE 없이 걸러내고, 차감은 PK 로 한다.
+        // 비밀번호는 해시라 UPDATE 조건에 넣을 수 없으므로 먼저 확인한다(최근에 맞힌 비밀번호는 조회 없이 통과).
+        AccountMetadata accountMetadata = accountRepository.findMetadataByAccountNumber(accountNumber)
+                .filter(metadata -> metadata.getOwnerId().equals(userId))
+                .filter(metadata -> metadata.getAccountStatus() == AccountStatus.IN_USE)
+                .orElse(null);
+        if (accountMetadata != null && !accountPasswordVerifier.matches(accountMetadata.getId(), accountPassword,
+                () -> accountRepository.findPasswordById(accountMetadata.getId()))){
+            // 소유주는 맞으므로 진단 조회로도 비밀번호 불일치가 나온다. bcrypt 를 다시 돌리지 않고 바로 실패한다.
+            throw new AccountException(ACCOUNT_PASSWORD_MISMATCH);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (accountMetadata == null
+                || accountRepository.useBalanceIfSufficient(
+                        accountMetadata.getId(), userId, amount, now) == 0){
+            // 조건부 차감이 실패했을 때만 실패 원인(ErrorCode)을 찾기 위해 조회한다.
+            AccountUser accountUser = accountUserRepository.findById(userId)
+                    .orElseThrow(() -> new AccountException(USER_NOT_FOUND));
+            Account account = accountRepository.findByAccountNumber(accountNumber)
+                    .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
+            validateUseBalance(accountPasswordVerifier, accountUser, account, accountPassword, amount);
+            // 조회 시점에는 조건을 만족 -> 그 사이 다른 거래가 잔액을 바꾼 경우
+            throw new AccountException(TRANSACTION_IN_PROGRESS);
+        }
+
+        Long balance = accountRepository.findBalanceById(accountMetadata.getId());
+        return TransactionDto.fromEntity(
+                saveTransaction(
+                        Transaction.builder()
+                                .account(accountRepository.getReferenceById(accountMetadata.getId()))
+                                .transactionType(USE)
+                                .transactionResultType(S)
+                                .amount(amount)
+                                .balanceSnapshot(balance)
+                                .transactionId(transactionIdGenerator.generate())
+                                .transactedAt(now)
+                                .build(),
+                        idempotencyKey
+                ),
+                accountNumber
+        );
+    }
+
+    static void validateUseBalance(AccountPasswordVerifier accountPasswordVerifier, AccountUser accountUser,
+                                   Account account, String accountPassword, Long amount){
+        if (!accountUser.getId().equals(account.getAccountUser().getId())){
+            throw new AccountException(USER_ACCOUNT_MISMATCH);
+        }
+        if (!accountPasswordVerifier.matches(account.getId(), accountPassword, account::getAccountPassword)){
+            throw new AccountException(ACCOUNT_PASSWORD_MISMATCH);
+        }
+        if (account.getAccountStatus() != AccountStatus.IN_USE){
+            throw new AccountException(ACCOUNT_ALREADY_UNREGISTERED);
+        }
+        if (account.getBalance() < amount){
+            throw new AccountException(AMOUNT_EXCEED_BALANCE);
+        }
+    }
+
     @Transactional
     public void saveFailedUseTransaction(String accountNumber, Long amount){
         Account account = accountRepository.findByAccountNumber(accountNumber)
@@ -77,7 +163,7 @@ public class TransactionService {
                         .account(account)
                         .amount(amount)
                         .balanceSnapshot(account.getBalance())
-                        .transactionId(UUID.randomUUID().toString().replace("-", ""))
+                        .transactionId(transactionIdGenerator.generate())
                         .transactedAt(LocalDateTime.now())
                         .build()
         );
@@ -85,9 +171,18 @@ public class TransactionService {
 
     @Transactional
     public TransactionDto cancelBalance(String transactionId, String accountNumber, Long amount){
-        Transaction transaction = transactionRepository.findByTransactionId(transactionId)
-                .orElseThrow(() -> new AccountException(TRANSACTION_NOT_FOUND));
-        Account account = accountRepository.findByAccountNumber(accountNumber)
+        return cancelBalance(transactionId, accountNumber, amount, null);
+    }
+
+    @Transactional
+    public TransactionDto cancelBalance(String transactionId, String accountNumber, Long amount, String idempotencyKey){
+        LedgerEngine ledgerEngine = ledgerEngineProvider.getIfAvailable();
+        if (ledgerEngine != null){
+            return ledgerEngine.cancelBalance(transactionId, accountNumber, amount, idempotencyKey);
+        }
+        Transaction transaction = findCancelTarget(transactionId)
+                .orElseThrow(() -> cancelTargetNotFound(transactionId, accountNumber));
+        Account account = findAccountForBalanceUpdate(accountNumber)
                 .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
 
         if (!transaction.getAccount().getId().equals(account.getId())){
@@ -103,16 +198,17 @@ public class TransactionService {
         account.cancelBalance(amount);
 
         return TransactionDto.fromEntity(
-                transactionRepository.save(
+                saveTransaction(
                         Transaction.builder()
                                 .transactionType(CANCEL)
                                 .transactionResultType(S)
                                 .account(account)
                                 .amount(amount)
                                 .balanceSnapshot(account.getBalance())
-                                .transactionId(UUID.randomUUID().toString().replace("-",""))
+                                .transactionId(transactionIdGenerator.generate())
                                 .transactedAt(LocalDateTime.now())
-                                .build()
+                                .build(),
+                        idempotencyKey
                 )
         );
     }
@@ -127,9 +223,38 @@ public class TransactionService {
                         .account(account)
                         .amount(amount)
                         .balanceSnapshot(account.getBalance())
-                        .transactionId(UUID.randomUUID().toString().replace("-", ""))
+                        .transactionId(transactionIdGenerator.generate())
                         .transactedAt(LocalDateTime.now())
                         .build()
         );
     }
+
+    // 최근 12개월 파티션에서 먼저 찾고, 없을 때만 전체에서 찾아 기간 초과인지 가린다.
+    private Optional<Transaction> findCancelTarget(String transactionId) {
+        return transactionRepository.findCancelTarget(transactionId, transactionIdGenerator.issuedAt(transactionId))
+                .or(() -> transactionRepository.findByTransactionId(transactionId));
+    }
+
+    // 취소 기간이 지나 보관본으로 옮겨진 거래는 없는 거래가 아니라 기간 초과로 응답한다.
+    private AccountException cancelTargetNotFound(String transactionId, String accountNumber) {
+        boolean archived = accountRepository.findByAccountNumber(accountNumber)
+                .map(account -> transactionArchive.contains(account.getId(), transactionId,
+                        transactionIdGenerator.issuedAt(transactionId)))
+                .orElse(false);
+        return new AccountException(archived ? TOO_OLD_TRANSACTION_TO_CANCEL : TRANSACTION_NOT_FOUND);
+    }
+
+    private Transaction saveTransaction(Transaction transaction, String idempotencyKey) {
+        Transaction saved = transactionRepository.save(transaction);
+        if (idempotencyKey != null) {
+            transactionIdempotencyRepository.save(TransactionIdempotency.of(idempotencyKey, saved));
+        }
+        return saved;
+    }
+
+    private Optional<Account> findAccountForBalanceUpdate(String accountNumber) {
+        return balanceLockStrategy.isRowLockRequired()
+                ? accountRepository.findByAccountNumberForUpdate(accountNumber)
+                : accountRepository.findByAccountNumber(accountNumber);
+    }
 }
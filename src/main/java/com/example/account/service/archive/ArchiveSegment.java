@@ -0,0 +1,151 @@
+package com.example.account.service.archive;
+
+import com.example.account.dto.TransactionHistoryItem;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static com.example.account.service.archive.ArchiveSegmentWriter.*;
+
+// 읽기 전용으로 mmap 한 세그먼트 파일. 희소 인덱스는 열 때 메모리에 올리고, 블록은 읽을 때마다 푼다.
+final class ArchiveSegment {
+    private final Path path;
+    private final MappedByteBuffer mapped;
+    private final long[] firstAccountIds;
+    private final long[] lastAccountIds;
+    private final int[] offsets;
+    private final int[] compressedLengths;
+    private final int[] rawLengths;
+    private final int[] checksums;
+
+    private ArchiveSegment(Path path, MappedByteBuffer mapped, int blockCount) {
+        this.path = path;
+        this.mapped = mapped;
+        this.firstAccountIds = new long[blockCount];
+        this.lastAccountIds = new long[blockCount];
+        this.offsets = new int[blockCount];
+        this.compressedLengths = new int[blockCount];
+        this.rawLengths = new int[blockCount];
+        this.checksums = new int[blockCount];
+    }
+
+    static ArchiveSegment open(Path path) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // 매핑은 채널을 닫아도 유지된다.
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (mapped.capacity() < HEADER_BYTES + FOOTER_BYTES
+                || mapped.getInt(0) != MAGIC || mapped.getInt(mapped.capacity() - 4) != MAGIC) {
+            throw new IOException("not an archive segment: " + path);
+        }
+        if (mapped.getInt(4) != VERSION) {
+            throw new IOException("unsupported archive segment version: " + path);
+        }
+        int footer = mapped.capacity() - FOOTER_BYTES;
+        int indexOffset = (int) mapped.getLong(footer);
+        int blockCount = mapped.getInt(footer + 8);
+        byte[] indexBytes = new byte[blockCount * INDEX_ENTRY_BYTES];
+        mapped.get(indexOffset, indexBytes);
+        if (checksum(indexBytes) != mapped.getInt(footer + 12)) {
+            throw new IOException("corrupted archive segment index: " + path);
+        }
+
+        ArchiveSegment segment = new ArchiveSegment(path, mapped, blockCount);
+        ByteBuffer index = ByteBuffer.wrap(indexBytes);
+        for (int i = 0; i < blockCount; i++) {
+            segment.firstAccountIds[i] = index.getLong();
+            segment.lastAccountIds[i] = index.getLong();
+            segment.offsets[i] = (int) index.getLong();
+            segment.compressedLengths[i] = index.getInt();
+            segment.rawLengths[i] = index.getInt();
+            index.getInt();
+            segment.checksums[i] = index.getInt();
+        }
+        return segment;
+    }
+
+    // 계좌의 거래를 (transacted_at, id) 오름차순으로 돌려준다.
+    List<TransactionHistoryItem> read(long accountId) {
+        List<TransactionHistoryItem> rows = new ArrayList<>();
+        for (int block = firstBlockOf(accountId);
+             block < firstAccountIds.length && firstAccountIds[block] <= accountId; block++) {
+            readBlock(block, accountId, rows);
+        }
+        return rows;
+    }
+
+    // lastAccountId >= accountId 인 첫 블록
+    private int firstBlockOf(long accountId) {
+        int low = 0;
+        int high = lastAccountIds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (lastAccountIds[mid] < accountId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void readBlock(int block, long accountId, List<TransactionHistoryItem> rows) {
+        byte[] compressed = new byte[compressedLengths[block]];
+        mapped.get(offsets[block], compressed);
+        if (checksum(compressed) != checksums[block]) {
+            throw new IllegalStateException("corrupted archive block. segment: " + path + ", block: " + block);
+        }
+        byte[] raw = new byte[rawLengths[block]];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            int length = 0;
+            while (length < raw.length && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, length, raw.length - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("truncated block");
+                }
+                length += inflated;
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("corrupted archive block. segment: " + path + ", block: " + block, e);
+        } finally {
+            inflater.end();
+        }
+
+        DataInputStream data = new DataInputStream(new ByteArrayInputStream(raw));
+        try {
+            while (data.available() > 0) {
+                long rowAccountId = data.readLong();
+                TransactionHistoryItem item = new TransactionHistoryItem(
+                        data.readLong(),
+                        data.readUTF(),
+                        TransactionType.values()[data.readByte()],
+                        TransactionResultType.values()[data.readByte()],
+                        data.readLong(),
+                        data.readLong(),
+                        LocalDateTime.ofEpochSecond(data.readLong(), data.readInt(), ZoneOffset.UTC));
+                if (rowAccountId == accountId) {
+                    rows.add(item);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("corrupted archive block. segment: " + path + ", block: " + block, e);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.account.service.archive;
+
+import com.example.account.dto.TransactionHistoryItem;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32C;
+import java.util.zip.Deflater;
+
+// (account_id, transacted_at, id) 순으로 들어오는 한 달치 거래를 세그먼트 파일(part-NNNN.seg)로 쓴다.
+// 파일: [MAGIC][VERSION] [Deflate 블록...] [희소 인덱스] [footer]
+// 인덱스 항목(블록마다): 첫/마지막 계좌 id, 오프셋, 압축/원본 길이, 행 수, 압축 블록 CRC32C
+class ArchiveSegmentWriter implements Closeable {
+    static final int MAGIC = 0x54584152;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 8;
+    static final int INDEX_ENTRY_BYTES = 40;
+    // [인덱스 오프셋 long][블록 수 int][인덱스 CRC32C int][MAGIC int]
+    static final int FOOTER_BYTES = 20;
+
+    private final Path directory;
+    private final int blockRows;
+    private final long segmentBytes;
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+
+    private final ByteArrayOutputStream block = new ByteArrayOutputStream(64 * 1024);
+    private final DataOutputStream blockData = new DataOutputStream(block);
+    private final ByteArrayOutputStream index = new ByteArrayOutputStream();
+    private final DataOutputStream indexData = new DataOutputStream(index);
+
+    private FileChannel segment;
+    private int part;
+    private int blockCount;
+    private int blockRowCount;
+    private long firstAccountId;
+    private long lastAccountId;
+    private long rowCount;
+
+    ArchiveSegmentWriter(Path directory, int blockRows, long segmentBytes) {
+        this.directory = directory;
+        this.blockRows = Math.max(1, blockRows);
+        this.segmentBytes = segmentBytes;
+    }
+
+    void append(long accountId, TransactionHistoryItem item) throws IOException {
+        if (blockRowCount == 0) {
+            firstAccountId = accountId;
+        }
+        lastAccountId = accountId;
+        blockData.writeLong(accountId);
+        blockData.writeLong(item.getId());
+        blockData.writeUTF(item.getTransactionId());
+        blockData.writeByte(item.getTransactionType().ordinal());
+        blockData.writeByte(item.getTransactionResult().ordinal());
+        blockData.writeLong(item.getAmount());
+        blockData.writeLong(item.getBalanceSnapshot());
+        blockData.writeLong(item.getTransactedAt().toEpochSecond(ZoneOffset.UTC));
+        blockData.writeInt(item.getTransactedAt().getNano());
+        rowCount++;
+        if (++blockRowCount == blockRows) {
+            writeBlock();
+        }
+    }
+
+    long getRowCount() {
+        return rowCount;
+    }
+
+    // 남은 블록과 인덱스를 쓰고 디스크에 내린다.
+    void finish() throws IOException {
+        if (blockRowCount > 0) {
+            writeBlock();
+        }
+        if (segment != null) {
+            finishSegment();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        deflater.end();
+        if (segment != null) {
+            segment.close();
+        }
+    }
+
+    private void writeBlock() throws IOException {
+        if (segment == null) {
+            openSegment();
+        }
+        byte[] raw = block.toByteArray();
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 2 + 64);
+        byte[] buffer = new byte[16 * 1024];
+        while (!deflater.finished()) {
+            compressed.write(buffer, 0, deflater.deflate(buffer));
+        }
+        byte[] bytes = compressed.toByteArray();
+
+        indexData.writeLong(firstAccountId);
+        indexData.writeLong(lastAccountId);
+        indexData.writeLong(segment.position());
+        indexData.writeInt(bytes.length);
+        indexData.writeInt(raw.length);
+        indexData.writeInt(blockRowCount);
+        indexData.writeInt(checksum(bytes));
+        writeFully(ByteBuffer.wrap(bytes));
+        blockCount++;
+
+        block.reset();
+        blockRowCount = 0;
+        if (segment.position() >= segmentBytes) {
+            finishSegment();
+        }
+    }
+
+    private void openSegment() throws IOException {
+        segment = FileChannel.open(directory.resolve(String.format("part-%04d.seg", part++)),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        writeFully(ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION).flip());
+    }
+
+    private void finishSegment() throws IOException {
+        long indexOffset = segment.position();
+        byte[] indexBytes = index.toByteArray();
+        writeFully(ByteBuffer.wrap(indexBytes));
+        writeFully(ByteBuffer.allocate(FOOTER_BYTES)
+                .putLong(indexOffset)
+                .putInt(blockCount)
+                .putInt(checksum(indexBytes))
+                .putInt(MAGIC)
+                .flip());
+        segment.force(true);
+        segment.close();
+        segment = null;
+        index.reset();
+        blockCount = 0;
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            segment.write(buffer);
+        }
+    }
+
+    static int checksum(byte[] bytes) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, 0, bytes.length);
+        return (int) crc.getValue();
+    }
+
+    static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith("part-") && name.endsWith(".seg") && Files.isRegularFile(path);
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.account.service.archive;
+
+import com.example.account.config.ArchiveProperties;
+import com.example.account.dto.TransactionHistoryItem;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.function.ThrowingConsumer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+// 취소 기간이 지나 DB 에서 옮겨진 거래. 달마다 디렉터리(yyyyMM) 하나이며 안의 세그먼트 파일은 바뀌지 않는다.
+// 보관은 오래된 달부터 차례로 하므로, 가장 최근 보관 달의 다음 달부터는 DB 에만 있다.
+@Slf4j
+@Component
+public class TransactionArchive {
+    private static final DateTimeFormatter MONTH_DIRECTORY = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final ArchiveProperties properties;
+    private final Path directory;
+    private final NavigableMap<YearMonth, List<ArchiveSegment>> months = new ConcurrentSkipListMap<>();
+
+    public TransactionArchive(ArchiveProperties properties) {
+        this.properties = properties;
+        this.directory = Path.of(properties.getDirectory());
+        try {
+            load();
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to open transaction archive: " + directory, e);
+        }
+    }
+
+    // 이 시각 이전의 거래는 보관본에서만 읽는다.
+    public Optional<LocalDateTime> getArchivedUntil() {
+        return months.isEmpty()
+                ? Optional.empty()
+                : Optional.of(months.lastKey().plusMonths(1).atDay(1).atStartOfDay());
+    }
+
+    public boolean isArchived(YearMonth month) {
+        return months.containsKey(month);
+    }
+
+    // DB 에 없는 취소 대상이 보관본으로 옮겨진 거래인지. 발급 시각이 든 id 는 보관 기준 시각과만 비교하고,
+    // 아니면(예전 UUID 아이디 포함, TransactionIdGenerator.issuedAt 참고) 계좌의 보관본을 모두 읽어 찾는다. 없는 거래를 취소하려 할 때만 부르므로 따로 색인하지 않는다.
+    public boolean contains(long accountId, String transactionId, Optional<LocalDateTime> issuedAt) {
+        if (issuedAt.isPresent()) {
+            return getArchivedUntil().map(issuedAt.get()::isBefore).orElse(false);
+        }
+        for (List<ArchiveSegment> segments : months.values()) {
+            for (TransactionHistoryItem item : read(segments, accountId)) {
+                if (item.getTransactionId().equals(transactionId)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // [from, to) 에서 커서 (cursorAt, cursorId) 보다 앞선 거래를 최신순으로 limit 건
+    public List<TransactionHistoryItem> findHistory(long accountId, LocalDateTime from, LocalDateTime to,
+                                                    LocalDateTime cursorAt, long cursorId, int limit) {
+        List<TransactionHistoryItem> items = new ArrayList<>(Math.min(limit, 1024));
+        for (Map.Entry<YearMonth, List<ArchiveSegment>> entry : months.descendingMap().entrySet()) {
+            LocalDateTime monthStart = entry.getKey().atDay(1).atStartOfDay();
+            if (!monthStart.isBefore(to) || monthStart.isAfter(cursorAt)) {
+                continue;
+            }
+            if (!entry.getKey().plusMonths(1).atDay(1).atStartOfDay().isAfter(from)) {
+                break;
+            }
+            List<TransactionHistoryItem> rows = read(entry.getValue(), accountId);
+            for (int i = rows.size() - 1; i >= 0; i--) {
+                TransactionHistoryItem item = rows.get(i);
+                if (isInRange(item, from, to) && isBefore(item, cursorAt, cursorId)) {
+                    items.add(item);
+                    if (items.size() == limit) {
+                        return items;
+                    }
+                }
+            }
+        }
+        return items;
+    }
+
+    public void exportHistory(long accountId, LocalDateTime from, LocalDateTime to,
+                              ThrowingConsumer<TransactionHistoryItem> consumer) {
+        for (Map.Entry<YearMonth, List<ArchiveSegment>> entry : months.descendingMap().entrySet()) {
+            if (!entry.getKey().atDay(1).atStartOfDay().isBefore(to)) {
+                continue;
+            }
+            if (!entry.getKey().plusMonths(1).atDay(1).atStartOfDay().isAfter(from)) {
+                break;
+            }
+            List<TransactionHistoryItem> rows = read(entry.getValue(), accountId);
+            for (int i = rows.size() - 1; i >= 0; i--) {
+                if (isInRange(rows.get(i), from, to)) {
+                    consumer.accept(rows.get(i));
+                }
+            }
+        }
+    }
+
+    // 임시 디렉터리에 쓴다. publish 전에는 조회되지 않는다.
+    ArchiveSegmentWriter newWriter(YearMonth month) throws IOException {
+        Path temp = directory.resolve(MONTH_DIRECTORY.format(month) + TEMP_SUFFIX);
+        FileSystemUtils.deleteRecursively(temp);
+        Files.createDirectories(temp);
+        return new ArchiveSegmentWriter(temp, properties.getBlockRows(), properties.getSegmentBytes());
+    }
+
+    // 디렉터리 이름을 한 번에 바꿔 달 단위로 원자적으로 공개한다.
+    void publish(YearMonth month) throws IOException {
+        Path temp = directory.resolve(MONTH_DIRECTORY.format(month) + TEMP_SUFFIX);
+        Path target = directory.resolve(MONTH_DIRECTORY.format(month));
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        months.put(month, openSegments(target));
+    }
+
+    private void load() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> children = Files.list(directory)) {
+            for (Path child : children.toList()) {
+                String name = child.getFileName().toString();
+                if (name.endsWith(TEMP_SUFFIX)) {
+                    // 보관 도중 중단된 달. DB 에서 아직 지우지 않았으므로 다시 만든다.
+                    FileSystemUtils.deleteRecursively(child);
+                } else if (Files.isDirectory(child) && name.matches("\\d{6}")) {
+                    months.put(YearMonth.parse(name, MONTH_DIRECTORY), openSegments(child));
+                }
+            }
+        }
+        log.info("transaction archive opened. months: {}", months.size());
+    }
+
+    private static List<ArchiveSegment> openSegments(Path monthDirectory) throws IOException {
+        List<ArchiveSegment> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(monthDirectory)) {
+            for (Path file : files.filter(ArchiveSegmentWriter::isSegment).sorted().toList()) {
+                segments.add(ArchiveSegment.open(file));
+            }
+        }
+        return segments;
+    }
+
+    private static List<TransactionHistoryItem> read(List<ArchiveSegment> segments, long accountId) {
+        if (segments.size() == 1) {
+            return segments.get(0).read(accountId);
+        }
+        List<TransactionHistoryItem> rows = new ArrayList<>();
+        segments.forEach(segment -> rows.addAll(segment.read(accountId)));
+        return rows;
+    }
+
+    private static boolean isInRange(TransactionHistoryItem item, LocalDateTime from, LocalDateTime to) {
+        return !item.getTransactedAt().isBefore(from) && item.getTransactedAt().isBefore(to);
+    }
+
+    private static boolean isBefore(TransactionHistoryItem item, LocalDateTime cursorAt, long cursorId) {
+        return item.getTransactedAt().isBefore(cursorAt)
+                || (item.getTransactedAt().isEqual(cursorAt) && item.getId() < cursorId);
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.account.service.archive;
+
+import com.example.account.config.ArchiveProperties;
+import com.example.account.config.TransactionProperties;
+import com.example.account.dto.TransactionHistoryItem;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// 취소 기간(1년)이 지난 달의 거래를 오래된 달부터 TransactionArchive 로 옮기고 DB 에서 지운다.
+// 세그먼트를 디스크에 내리고 공개한 뒤에 지우므로, 중간에 중단되면 다음 실행에서 이어서 지운다.
+@Slf4j
+@Component
+public class TransactionArchiver implements SmartLifecycle {
+    // 취소 기간(12개월) + 이번 달은 DB 에 남긴다.
+    static final int KEEP_MONTHS = 13;
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+    private static final String OLDEST_SQL =
+            "select min(transacted_at) from `transaction` where transacted_at < ?";
+    private static final String ROWS_SQL = "select account_id, id, transaction_id, transaction_type, " +
+            "transaction_result_type, amount, balance_snapshot, transacted_at from `transaction` " +
+            "where transacted_at >= ? and transacted_at < ? order by account_id, transacted_at, id";
+    private static final String DELETE_SQL =
+            "delete from `transaction` where transacted_at >= ? and transacted_at < ? limit ?";
+    private static final String PARTITION_EXISTS_SQL = "select count(*) from information_schema.partitions " +
+            "where table_schema = database() and table_name = 'transaction' and partition_name = ?";
+
+    private final ArchiveProperties properties;
+    private final TransactionProperties transactionProperties;
+    private final TransactionArchive transactionArchive;
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter archivedCounter;
+
+    private volatile boolean running;
+    private ScheduledExecutorService scheduler;
+
+    public TransactionArchiver(ArchiveProperties properties,
+                               TransactionProperties transactionProperties,
+                               TransactionArchive transactionArchive,
+                               JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.transactionProperties = transactionProperties;
+        this.transactionArchive = transactionArchive;
+        this.jdbcTemplate = jdbcTemplate;
+        // MySQL 은 useCursorFetch 로 fetchSize 만큼씩 읽는다.
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingJdbcTemplate.setFetchSize(1000);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archivedCounter = meterRegistry.counter("transaction.archive.rows");
+    }
+
+    public void archiveExpiredMonths() {
+        YearMonth newestArchivable = YearMonth.now().minusMonths(KEEP_MONTHS);
+        LocalDateTime before = newestArchivable.plusMonths(1).atDay(1).atStartOfDay();
+        while (running) {
+            Timestamp oldest = jdbcTemplate.queryForObject(OLDEST_SQL, Timestamp.class, Timestamp.valueOf(before));
+            if (oldest == null) {
+                return;
+            }
+            archive(YearMonth.from(oldest.toLocalDateTime()));
+        }
+    }
+
+    void archive(YearMonth month) {
+        Timestamp from = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+        Timestamp to = Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay());
+        if (!transactionArchive.isArchived(month)) {
+            long rows = writeSegments(month, from, to);
+            archivedCounter.increment(rows);
+            log.info("transactions archived. month: {}, rows: {}", month, rows);
+        }
+        deleteArchivedRows(month, from, to);
+    }
+
+    private long writeSegments(YearMonth month, Timestamp from, Timestamp to) {
+        try (ArchiveSegmentWriter writer = transactionArchive.newWriter(month)) {
+            streamingJdbcTemplate.query(ROWS_SQL, resultSet -> {
+                try {
+                    writer.append(resultSet.getLong("account_id"), new TransactionHistoryItem(
+                            resultSet.getLong("id"),
+                            resultSet.getString("transaction_id"),
+                            TransactionType.valueOf(resultSet.getString("transaction_type")),
+                            TransactionResultType.valueOf(resultSet.getString("transaction_result_type")),
+                            resultSet.getLong("amount"),
+                            resultSet.getLong("balance_snapshot"),
+                            resultSet.getTimestamp("transacted_at").toLocalDateTime()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, from, to);
+            writer.finish();
+            transactionArchive.publish(month);
+            return writer.getRowCount();
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to archive transactions of " + month, e);
+        }
+    }
+
+    // 월 파티션이 있으면 통째로 지우고, 없으면 나눠서 지운다.
+    private void deleteArchivedRows(YearMonth month, Timestamp from, Timestamp to) {
+        String partition = PARTITION_NAME.format(month);
+        if (transactionProperties.getPartitioning().isEnabled()
+                && jdbcTemplate.queryForObject(PARTITION_EXISTS_SQL, Integer.class, partition) > 0) {
+            jdbcTemplate.execute("ALTER TABLE `transaction` DROP PARTITION " + partition);
+            return;
+        }
+        int deleted;
+        do {
+            // auto-commit 이 꺼진 풀(ledger 프로파일)에서도 커밋되도록 묶음마다 트랜잭션을 연다.
+            deleted = transactionTemplate.execute(status ->
+                    jdbcTemplate.update(DELETE_SQL, from, to, properties.getDeleteBatchSize()));
+        } while (deleted > 0 && running);
+    }
+
+    private void archiveSafely() {
+        try {
+            archiveExpiredMonths();
+        } catch (RuntimeException e) {
+            log.error("failed to archive transactions", e);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled() || running) {
+            return;
+        }
+        running = true;
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "transaction-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::archiveSafely, 0, properties.getCheckIntervalMinutes(), TimeUnit.MINUTES);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
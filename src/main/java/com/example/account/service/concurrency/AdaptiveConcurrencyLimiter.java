@@ -0,0 +1,127 @@
+package com.example.account.service.concurrency;
+
+import com.example.account.config.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+// 동시에 처리 중인 요청 수를 limit 까지만 받고, limit 은 관측한 지연으로 조절한다(gradient).
+// 구간 평균 지연(short)이 평소 지연(long, 지수 이동 평균)의 rttTolerance 배를 넘으면 비율만큼 줄이고,
+// 그렇지 않으면 sqrt(limit) 만큼 늘린다. 처리 중인 요청이 limit 의 절반도 안 되면 limit 이 의미가 없으므로
+// 바꾸지 않는다. DB 가 느려지면 톰캣 스레드가 커넥션을 기다리며 쌓이기 전에 여기서 바로 거절된다.
+public class AdaptiveConcurrencyLimiter {
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final double smoothing;
+    private final long windowNanos;
+    private final int minWindowSamples;
+    private final double longRttFactor;
+    private final LongSupplier nanoTime;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final Counter rejected;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile int limit;
+    private double estimatedLimit;
+    private double longRttNanos;
+    private long windowStartedAt;
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInflight;
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry,
+                               LongSupplier nanoTime) {
+        this.minLimit = properties.getMinLimit();
+        this.maxLimit = properties.getMaxLimit();
+        this.rttTolerance = properties.getRttTolerance();
+        this.smoothing = properties.getSmoothing();
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(properties.getWindowMillis());
+        this.minWindowSamples = properties.getMinWindowSamples();
+        this.longRttFactor = 2.0 / (properties.getLongWindows() + 1);
+        this.nanoTime = nanoTime;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, properties.getInitialLimit()));
+        this.limit = (int) estimatedLimit;
+        this.windowStartedAt = nanoTime.getAsLong();
+        this.rejected = meterRegistry.counter("transaction.concurrency.rejected");
+        Gauge.builder("transaction.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .register(meterRegistry);
+        Gauge.builder("transaction.concurrency.inflight", this, AdaptiveConcurrencyLimiter::getInflight)
+                .register(meterRegistry);
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        inflight.decrementAndGet();
+    }
+
+    public void onSample(long rttNanos) {
+        int currentInflight = inflight.get();
+        lock.lock();
+        try {
+            windowRttSum += rttNanos;
+            windowSamples++;
+            windowMaxInflight = Math.max(windowMaxInflight, currentInflight);
+            long now = nanoTime.getAsLong();
+            if (now - windowStartedAt < windowNanos || windowSamples < minWindowSamples) {
+                return;
+            }
+            updateLimit((double) windowRttSum / windowSamples, windowMaxInflight);
+            windowStartedAt = now;
+            windowRttSum = 0;
+            windowSamples = 0;
+            windowMaxInflight = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    private void updateLimit(double shortRttNanos, int maxInflight) {
+        if (longRttNanos == 0) {
+            longRttNanos = shortRttNanos;
+        } else {
+            longRttNanos = longRttNanos * (1 - longRttFactor) + shortRttNanos * longRttFactor;
+        }
+        // 느려진 상태가 오래 이어지면 평소 지연도 따라 올라가므로, 회복된 뒤에는 평소 지연을 빨리 내린다.
+        if (longRttNanos > shortRttNanos * 2) {
+            longRttNanos *= 0.95;
+        }
+        if (maxInflight < estimatedLimit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRttNanos / shortRttNanos));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit));
+        limit = (int) estimatedLimit;
+    }
+}
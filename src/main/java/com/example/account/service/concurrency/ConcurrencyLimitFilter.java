@@ -0,0 +1,62 @@
+package com.example.account.service.concurrency;
+
+import com.example.account.dto.ErrorResponse;
+import com.example.account.metrics.ErrorCodeMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.example.account.type.ErrorCode.SERVICE_OVERLOADED;
+
+// limit 에 걸린 요청은 커넥션을 기다리지 않고 503 과 Retry-After 로 바로 응답한다.
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ErrorCodeMetrics errorCodeMetrics;
+    private final ObjectMapper objectMapper;
+    private final int retryAfterSeconds;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter, ErrorCodeMetrics errorCodeMetrics,
+                                  ObjectMapper objectMapper, int retryAfterSeconds) {
+        this.limiter = limiter;
+        this.errorCodeMetrics = errorCodeMetrics;
+        this.objectMapper = objectMapper;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!limiter.tryAcquire()) {
+            reject(response);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limiter.release();
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        errorCodeMetrics.increment(SERVICE_OVERLOADED);
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .errorCode(SERVICE_OVERLOADED)
+                .errorMessages(List.of(SERVICE_OVERLOADED.getDescription()))
+                .build();
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
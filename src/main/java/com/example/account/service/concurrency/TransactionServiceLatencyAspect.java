@@ -0,0 +1,37 @@
+package com.example.account.service.concurrency;
+
+import com.example.account.exception.AccountException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+// 잔액 사용/취소의 DB 구간 시간을 limiter 의 지연 표본으로 넘긴다.
+// 요청 전체 시간에는 직렬화나 잠금 대기가 섞이므로 DB 를 쓰는 진입점만 잰다. 묶음 API 와
+// 묶음 처리(coalescing)는 TransactionBatchService 에서 재고, 묶음을 기다린 시간은 넣지 않는다.
+// 검증 실패(AccountException)는 DB 에 닿기 전에 걸러지는 경우가 많아 표본에서 뺀다.
+@Aspect
+public class TransactionServiceLatencyAspect {
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public TransactionServiceLatencyAspect(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Around("execution(public * com.example.account.service.TransactionService.useBalance(..))"
+            + " || execution(public * com.example.account.service.TransactionService.cancelBalance(..))"
+            + " || execution(public * com.example.account.service.TransactionBatchService.useBalance(..))"
+            + " || execution(public * com.example.account.service.TransactionBatchService.useBalanceForAccount(..))")
+    public Object sample(ProceedingJoinPoint joinPoint) throws Throwable {
+        long startedAt = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            limiter.onSample(System.nanoTime() - startedAt);
+            return result;
+        } catch (AccountException e) {
+            throw e;
+        } catch (Throwable e) {
+            limiter.onSample(System.nanoTime() - startedAt);
+            throw e;
+        }
+    }
+}
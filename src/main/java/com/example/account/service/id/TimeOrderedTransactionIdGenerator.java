@@ -0,0 +1,110 @@
+package com.example.account.service.id;
+
+import com.example.account.config.TransactionProperties;
+import com.example.account.repository.TransactionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 시간순으로 정렬되는 32자리 거래 아이디.
+// [16자리: epoch millis(42bit) + 시퀀스(22bit)] [4자리: 노드 아이디] [12자리: 난수]
+// 앞 16자리는 락 없이 CAS 로만 증가하며, 시계가 뒤로 가더라도 단조 증가를 유지한다.
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "account.transaction.id", name = "generator", havingValue = "time-ordered", matchIfMissing = true)
+public class TimeOrderedTransactionIdGenerator implements TransactionIdGenerator {
+    static final int SEQUENCE_BITS = 22;
+    private static final int MAX_NODE_ID = 0xFFFF;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Clock clock;
+    private final int nodeId;
+    private final LocalDateTime issuedSince;
+    private final AtomicLong lastState = new AtomicLong();
+
+    @Autowired
+    public TimeOrderedTransactionIdGenerator(TransactionProperties transactionProperties) {
+        this(Clock.systemUTC(), resolveNodeId(transactionProperties.getId().getNodeId()),
+                transactionProperties.getId().getIssuedSince());
+    }
+
+    TimeOrderedTransactionIdGenerator(Clock clock, int nodeId) {
+        this(clock, nodeId, null);
+    }
+
+    TimeOrderedTransactionIdGenerator(Clock clock, int nodeId, LocalDate issuedSince) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("nodeId must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.clock = clock;
+        this.nodeId = nodeId;
+        this.issuedSince = issuedSince == null ? LocalDateTime.MIN : issuedSince.atStartOfDay();
+    }
+
+    @Override
+    public String generate() {
+        char[] id = new char[32];
+        writeHex(id, 0, 16, nextState());
+        writeHex(id, 16, 4, nodeId);
+        writeHex(id, 20, 12, ThreadLocalRandom.current().nextLong());
+        return new String(id);
+    }
+
+    @Override
+    public Optional<LocalDateTime> issuedAt(String transactionId) {
+        if (transactionId == null || transactionId.length() != 32) {
+            return Optional.empty();
+        }
+        try {
+            long millis = Long.parseUnsignedLong(transactionId.substring(0, 16), 16) >>> SEQUENCE_BITS;
+            // transactedAt 은 LocalDateTime.now() 로 기록되므로 같은 시간대로 맞춘다.
+            LocalDateTime issuedAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+            // 도입 이전이나 미래의 시각이면 예전 UUID 아이디로 보고, 호출한 쪽이 시각 없이 찾게 한다.
+            LocalDateTime latest = LocalDateTime.ofInstant(clock.instant(), ZoneId.systemDefault())
+                    .plus(TransactionRepository.ISSUED_AT_TOLERANCE);
+            return issuedAt.isBefore(issuedSince) || issuedAt.isAfter(latest)
+                    ? Optional.empty()
+                    : Optional.of(issuedAt);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private long nextState() {
+        long timestampState = clock.millis() << SEQUENCE_BITS;
+        while (true) {
+            long last = lastState.get();
+            // 2039년 9월(2^41 ms) 이후에는 최상위 비트가 켜지므로 부호 없는 값으로 비교한다.
+            long next = Long.compareUnsigned(timestampState, last + 1) > 0 ? timestampState : last + 1;
+            if (lastState.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+
+    private static void writeHex(char[] buffer, int offset, int digits, long value) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            buffer[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    private static int resolveNodeId(int configured) {
+        if (configured >= 0) {
+            return configured;
+        }
+        int nodeId = ThreadLocalRandom.current().nextInt(MAX_NODE_ID + 1);
+        log.warn("account.transaction.id.node-id is not set. using random node id: {}", nodeId);
+        return nodeId;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.account.service.id;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface TransactionIdGenerator {
+    // 32자리 소문자 16진수 거래 아이디
+    String generate();
+
+    // 아이디에 믿을 만한 발급 시각이 들어있으면 그 시각. 취소 대상 조회를 해당 월 파티션으로 좁히는 데 쓴다.
+    default Optional<LocalDateTime> issuedAt(String transactionId) {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.account.service.importer;
+
+import com.example.account.dto.AccountImport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+// 파일에서 사용자/계좌를 가져오고 종료한다. 거절된 행은 <파일>.rejects.ndjson 에 남긴다.
+// java -jar account.jar --spring.main.web-application-type=none --import-file=partner.csv
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccountImportRunner implements ApplicationRunner {
+    static final String IMPORT_FILE_OPTION = "import-file";
+
+    private final AccountImportService accountImportService;
+    private final ObjectMapper objectMapper;
+    private final ApplicationContext applicationContext;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        List<String> files = args.getOptionValues(IMPORT_FILE_OPTION);
+        if (files == null || files.isEmpty()) {
+            return;
+        }
+        Path file = Path.of(files.get(0));
+        Path rejectFile = file.resolveSibling(file.getFileName() + ".rejects.ndjson");
+        AccountImport.Response response;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             Writer rejectWriter = Files.newBufferedWriter(rejectFile, StandardCharsets.UTF_8);
+             SequenceWriter rejects = objectMapper.writerFor(AccountImport.Reject.class)
+                     .withRootValueSeparator("\n")
+                     .writeValues(rejectWriter)) {
+            response = accountImportService.importAccounts(reader, ImportFormat.fromFileName(file.toString()),
+                    reject -> {
+                        try {
+                            rejects.write(reject);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        }
+        log.info("imported {}. users created: {}, accounts created: {}, rejected: {} (see {})", file,
+                response.getUsersCreated(), response.getAccountsCreated(), response.getRejected(), rejectFile);
+        System.exit(SpringApplication.exit(applicationContext));
+    }
+}
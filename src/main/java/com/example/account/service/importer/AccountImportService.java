@@ -0,0 +1,315 @@
+package com.example.account.service.importer;
+
+import com.example.account.config.AccountImportProperties;
+import com.example.account.dto.AccountImport;
+import com.example.account.dto.CreateAccount;
+import com.example.account.service.AccountNumberAllocator;
+import com.example.account.service.password.AccountPasswordVerifier;
+import com.example.account.type.ErrorCode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static com.example.account.type.AccountStatus.IN_USE;
+import static com.example.account.type.ErrorCode.*;
+
+// 사용자/계좌를 한 행씩 읽어 chunkSize 건마다 한 트랜잭션에서 JDBC 배치로 넣는다.
+// 파일 전체를 메모리에 올리지 않고, 사용자별 계좌 수만 메모리에 세어 계좌 10개 제한을 검사한다.
+// 앞선 chunk 는 커밋된 채로 남으므로, 중간에 실패하면 로그의 마지막 행 다음부터 다시 가져온다.
+@Slf4j
+@Service
+public class AccountImportService {
+    static final int MAX_ACCOUNTS_PER_USER = 10;
+    private static final String USER_SQL = "select name from account_user where id = ?";
+    private static final String ACCOUNT_COUNT_SQL = "select count(*) from account where account_user_id = ?";
+    private static final String INSERT_USER_SQL =
+            "insert into account_user (name, created_at, updated_at) values (?, ?, ?)";
+    private static final String INSERT_ACCOUNT_SQL = "insert into account (account_user_id, account_number, " +
+            "account_password, balance, account_status, account_name, version, created_at, updated_at, " +
+            "registered_at) values (?, ?, ?, ?, ?, ?, 0, ?, ?, ?)";
+
+    private final AccountImportProperties properties;
+    private final AccountNumberAllocator accountNumberAllocator;
+    private final AccountPasswordVerifier accountPasswordVerifier;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter createdCounter;
+    private final Counter rejectedCounter;
+
+    public AccountImportService(AccountImportProperties properties,
+                                AccountNumberAllocator accountNumberAllocator,
+                                AccountPasswordVerifier accountPasswordVerifier,
+                                Validator validator,
+                                ObjectMapper objectMapper,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.accountNumberAllocator = accountNumberAllocator;
+        this.accountPasswordVerifier = accountPasswordVerifier;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.createdCounter = meterRegistry.counter("account.import.rows", "result", "created");
+        this.rejectedCounter = meterRegistry.counter("account.import.rows", "result", "rejected");
+    }
+
+    public AccountImport.Response importAccounts(Reader input, ImportFormat format,
+                                                 Consumer<AccountImport.Reject> rejectListener) {
+        int threads = properties.getHashThreads() > 0
+                ? properties.getHashThreads() : Runtime.getRuntime().availableProcessors();
+        ExecutorService hashers = Executors.newFixedThreadPool(threads);
+        Progress progress = new Progress(rejectListener);
+        try (ImportRowReader reader = new ImportRowReader(input, format, objectMapper)) {
+            Map<String, UserSlot> newUsers = new HashMap<>();
+            Map<Long, UserSlot> existingUsers = new HashMap<>();
+            List<PendingAccount> chunk = new ArrayList<>(properties.getChunkSize());
+            ImportRow row;
+            while ((row = reader.next()) != null) {
+                progress.rowsRead++;
+                PendingAccount pending = accept(row, newUsers, existingUsers, progress);
+                if (pending == null) {
+                    continue;
+                }
+                chunk.add(pending);
+                if (chunk.size() >= properties.getChunkSize()) {
+                    write(chunk, hashers, progress);
+                    chunk.clear();
+                }
+            }
+            write(chunk, hashers, progress);
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to read import input", e);
+        } catch (RuntimeException e) {
+            log.error("account import stopped. rows read: {}, accounts created: {}",
+                    progress.rowsRead, progress.accountsCreated, e);
+            throw e;
+        } finally {
+            hashers.shutdown();
+        }
+        log.info("account import finished. rows read: {}, users created: {}, accounts created: {}, rejected: {}",
+                progress.rowsRead, progress.usersCreated, progress.accountsCreated, progress.rejected);
+        return new AccountImport.Response(progress.rowsRead, progress.usersCreated, progress.accountsCreated,
+                progress.rejected, progress.rejects);
+    }
+
+    // CreateAccount.Request 와 같은 규칙으로 검사하고, 통과하면 사용자의 계좌 수를 미리 올려둔다.
+    private PendingAccount accept(ImportRow row, Map<String, UserSlot> newUsers,
+                                  Map<Long, UserSlot> existingUsers, Progress progress) {
+        if (row.getError() != null) {
+            progress.reject(row, INVALID_IMPORT_ROW, row.getError());
+            return null;
+        }
+        UserSlot user;
+        if (row.getUserId() != null) {
+            user = existingUsers.computeIfAbsent(row.getUserId(), this::loadUser);
+            if (user == UserSlot.NOT_FOUND) {
+                progress.reject(row, USER_NOT_FOUND, USER_NOT_FOUND.getDescription());
+                return null;
+            }
+        } else if (row.getUserKey() != null && !row.getUserKey().isBlank()) {
+            user = newUsers.get(row.getUserKey());
+            if (user == null) {
+                if (row.getUserName() == null || row.getUserName().isBlank()) {
+                    progress.reject(row, INVALID_IMPORT_ROW, "새 사용자는 user_name 이 필요합니다.");
+                    return null;
+                }
+                user = new UserSlot(null, row.getUserName(), 0);
+                newUsers.put(row.getUserKey(), user);
+            }
+        } else {
+            progress.reject(row, INVALID_IMPORT_ROW, "user_id 또는 user_key 가 필요합니다.");
+            return null;
+        }
+
+        Set<ConstraintViolation<CreateAccount.Request>> violations = new LinkedHashSet<>();
+        violations.addAll(validator.validateValue(
+                CreateAccount.Request.class, "accountPassword", row.getAccountPassword()));
+        violations.addAll(validator.validateValue(
+                CreateAccount.Request.class, "initialBalance", row.getInitialBalance()));
+        violations.addAll(validator.validateValue(
+                CreateAccount.Request.class, "accountName", row.getAccountName()));
+        if (!violations.isEmpty()) {
+            progress.reject(row, VALIDATION_FAILED, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .collect(Collectors.joining(" ")));
+            return null;
+        }
+        if (user.accounts >= MAX_ACCOUNTS_PER_USER) {
+            progress.reject(row, MAX_ACCOUNT_PER_USER_10, MAX_ACCOUNT_PER_USER_10.getDescription());
+            return null;
+        }
+        user.accounts++;
+        return new PendingAccount(row, user);
+    }
+
+    private UserSlot loadUser(Long userId) {
+        List<String> names = jdbcTemplate.queryForList(USER_SQL, String.class, userId);
+        if (names.isEmpty()) {
+            return UserSlot.NOT_FOUND;
+        }
+        Integer accounts = jdbcTemplate.queryForObject(ACCOUNT_COUNT_SQL, Integer.class, userId);
+        return new UserSlot(userId, names.get(0), accounts == null ? 0 : accounts);
+    }
+
+    // 해시와 계좌번호 발급은 트랜잭션 밖에서 끝내고, 트랜잭션에서는 배치 insert 만 한다.
+    private void write(List<PendingAccount> chunk, ExecutorService hashers, Progress progress) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<CompletableFuture<String>> hashes = chunk.stream()
+                .map(pending -> CompletableFuture.supplyAsync(
+                        () -> accountPasswordVerifier.encode(pending.row.getAccountPassword()), hashers))
+                .toList();
+        for (int i = 0; i < chunk.size(); i++) {
+            chunk.get(i).accountNumber = accountNumberAllocator.nextAccountNumber();
+            chunk.get(i).encodedPassword = hashes.get(i).join();
+        }
+        List<UserSlot> users = chunk.stream()
+                .map(pending -> pending.user)
+                .filter(user -> user.id == null)
+                .distinct()
+                .toList();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            insertUsers(users, now);
+            insertAccounts(chunk, now);
+        });
+
+        progress.usersCreated += users.size();
+        progress.accountsCreated += chunk.size();
+        createdCounter.increment(chunk.size());
+        log.info("account import progress. last line: {}, rows read: {}, accounts created: {}, rejected: {}",
+                chunk.get(chunk.size() - 1).row.getLine(), progress.rowsRead, progress.accountsCreated,
+                progress.rejected);
+    }
+
+    private void insertUsers(List<UserSlot> users, Timestamp now) {
+        if (users.isEmpty()) {
+            return;
+        }
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_USER_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setString(1, users.get(i).name);
+                        ps.setTimestamp(2, now);
+                        ps.setTimestamp(3, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return users.size();
+                    }
+                },
+                keyHolder);
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < users.size(); i++) {
+            users.get(i).id = ((Number) keys.get(i).values().iterator().next()).longValue();
+        }
+    }
+
+    private void insertAccounts(List<PendingAccount> chunk, Timestamp now) {
+        jdbcTemplate.batchUpdate(INSERT_ACCOUNT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                PendingAccount pending = chunk.get(i);
+                String accountName = pending.row.getAccountName();
+                ps.setLong(1, pending.user.id);
+                ps.setString(2, pending.accountNumber);
+                ps.setString(3, pending.encodedPassword);
+                ps.setLong(4, pending.row.getInitialBalance());
+                ps.setString(5, IN_USE.name());
+                ps.setString(6, accountName == null || accountName.trim().isEmpty()
+                        ? pending.user.name : accountName);
+                ps.setTimestamp(7, now);
+                ps.setTimestamp(8, now);
+                ps.setTimestamp(9, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return chunk.size();
+            }
+        });
+    }
+
+    private final class Progress {
+        private final Consumer<AccountImport.Reject> rejectListener;
+        private final List<AccountImport.Reject> rejects = new ArrayList<>();
+        private long rowsRead;
+        private long usersCreated;
+        private long accountsCreated;
+        private long rejected;
+
+        private Progress(Consumer<AccountImport.Reject> rejectListener) {
+            this.rejectListener = rejectListener;
+        }
+
+        private void reject(ImportRow row, ErrorCode errorCode, String message) {
+            AccountImport.Reject reject = new AccountImport.Reject(row.getLine(), errorCode, message);
+            rejected++;
+            rejectedCounter.increment();
+            if (rejects.size() < properties.getMaxReportedRejects()) {
+                rejects.add(reject);
+            }
+            rejectListener.accept(reject);
+        }
+    }
+
+    private static final class UserSlot {
+        private static final UserSlot NOT_FOUND = new UserSlot(null, null, 0);
+
+        // 새 사용자는 insert 한 뒤에 채운다.
+        private Long id;
+        private final String name;
+        private int accounts;
+
+        private UserSlot(Long id, String name, int accounts) {
+            this.id = id;
+            this.name = name;
+            this.accounts = accounts;
+        }
+    }
+
+    private static final class PendingAccount {
+        private final ImportRow row;
+        private final UserSlot user;
+        private String accountNumber;
+        private String encodedPassword;
+
+        private PendingAccount(ImportRow row, UserSlot user) {
+            this.row = row;
+            this.user = user;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.account.service.importer;
+
+import com.example.account.exception.AccountException;
+import org.springframework.http.MediaType;
+
+import static com.example.account.type.ErrorCode.UNSUPPORTED_IMPORT_FORMAT;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON;
+
+    public static final String CSV_MEDIA_TYPE = "text/csv";
+    public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+
+    public static ImportFormat fromContentType(String contentType) {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        if (mediaType.isCompatibleWith(MediaType.parseMediaType(CSV_MEDIA_TYPE))) {
+            return CSV;
+        }
+        if (mediaType.isCompatibleWith(MediaType.parseMediaType(NDJSON_MEDIA_TYPE))) {
+            return NDJSON;
+        }
+        throw new AccountException(UNSUPPORTED_IMPORT_FORMAT);
+    }
+
+    public static ImportFormat fromFileName(String fileName) {
+        String lowerCase = fileName.toLowerCase();
+        if (lowerCase.endsWith(".csv")) {
+            return CSV;
+        }
+        if (lowerCase.endsWith(".ndjson") || lowerCase.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new AccountException(UNSUPPORTED_IMPORT_FORMAT);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.account.service.importer;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Getter;
+import lombok.Setter;
+
+// 가져올 계좌 한 건. 기존 사용자는 user_id 로, 새 사용자는 user_key(파일 안에서의 식별자)와 user_name 으로 지정한다.
+@Getter
+@Setter
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class ImportRow {
+    private Long userId;
+    private String userKey;
+    private String userName;
+    private String accountPassword;
+    private Long initialBalance;
+    private String accountName;
+
+    @JsonIgnore
+    private long line;
+    // 읽지 못한 행이면 그 이유
+    @JsonIgnore
+    private String error;
+
+    static ImportRow invalid(long line, String error) {
+        ImportRow row = new ImportRow();
+        row.setLine(line);
+        row.setError(error);
+        return row;
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.account.service.importer;
+
+import com.example.account.exception.AccountException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.account.type.ErrorCode.INVALID_IMPORT_ROW;
+
+// 한 줄씩 읽어 ImportRow 로 바꾼다. 읽지 못한 행은 error 를 채워 돌려주고 다음 행으로 넘어간다.
+// CSV 는 첫 줄이 헤더이며 열 이름은 NDJSON 의 필드 이름과 같다. 값 안의 줄바꿈은 지원하지 않는다.
+public class ImportRowReader implements Closeable {
+    private static final List<String> COLUMNS = List.of(
+            "user_id", "user_key", "user_name", "account_password", "initial_balance", "account_name");
+
+    private final BufferedReader reader;
+    private final ImportFormat format;
+    private final ObjectMapper objectMapper;
+    private List<String> header;
+    private long line;
+
+    public ImportRowReader(Reader reader, ImportFormat format, ObjectMapper objectMapper) throws IOException {
+        this.reader = reader instanceof BufferedReader bufferedReader ? bufferedReader : new BufferedReader(reader);
+        this.format = format;
+        this.objectMapper = objectMapper;
+        if (format == ImportFormat.CSV) {
+            readHeader();
+        }
+    }
+
+    // 파일 끝이면 null
+    public ImportRow next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+        } while (text.isBlank());
+        return format == ImportFormat.CSV ? parseCsv(text) : parseJson(text);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readHeader() throws IOException {
+        String text = reader.readLine();
+        if (text == null) {
+            header = List.of();
+            return;
+        }
+        line++;
+        if (text.startsWith("\uFEFF")) {
+            text = text.substring(1);
+        }
+        List<String> columns = splitCsv(text);
+        if (columns == null) {
+            throw invalidHeader(text);
+        }
+        header = new ArrayList<>();
+        for (String column : columns) {
+            String name = column.trim().toLowerCase();
+            if (!COLUMNS.contains(name)) {
+                throw invalidHeader(column);
+            }
+            header.add(name);
+        }
+    }
+
+    private ImportRow parseJson(String text) {
+        try {
+            ImportRow row = objectMapper.readValue(text, ImportRow.class);
+            row.setLine(line);
+            return row;
+        } catch (JsonProcessingException e) {
+            return ImportRow.invalid(line, "JSON 을 읽을 수 없습니다: " + e.getOriginalMessage());
+        }
+    }
+
+    private ImportRow parseCsv(String text) {
+        List<String> values = splitCsv(text);
+        if (values == null) {
+            return ImportRow.invalid(line, "따옴표가 닫히지 않았습니다.");
+        }
+        if (values.size() != header.size()) {
+            return ImportRow.invalid(line, "열 개수가 헤더와 다릅니다.");
+        }
+        ImportRow row = new ImportRow();
+        row.setLine(line);
+        for (int i = 0; i < values.size(); i++) {
+            String column = header.get(i);
+            String value = values.get(i).isEmpty() ? null : values.get(i);
+            try {
+                switch (column) {
+                    case "user_id" -> row.setUserId(value == null ? null : Long.valueOf(value.trim()));
+                    case "user_key" -> row.setUserKey(value);
+                    case "user_name" -> row.setUserName(value);
+                    case "account_password" -> row.setAccountPassword(value);
+                    case "initial_balance" -> row.setInitialBalance(value == null ? null : Long.valueOf(value.trim()));
+                    case "account_name" -> row.setAccountName(value);
+                    default -> throw new IllegalStateException(column);
+                }
+            } catch (NumberFormatException e) {
+                return ImportRow.invalid(line, column + " 는 숫자여야 합니다.");
+            }
+        }
+        return row;
+    }
+
+    // 닫히지 않은 따옴표가 있으면 null
+    static List<String> splitCsv(String text) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    private static AccountException invalidHeader(String header) {
+        return new AccountException(INVALID_IMPORT_ROW.getStatus(), INVALID_IMPORT_ROW,
+                "CSV 헤더를 읽을 수 없습니다: " + header);
+    }
+}
@@ -0,0 +1,242 @@
+package com.example.account.service.journal;
+
+import com.example.account.config.FailedTransactionJournalProperties;
+import com.example.account.domain.Account;
+import com.example.account.domain.Transaction;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.service.TransactionService;
+import com.example.account.service.id.TransactionIdGenerator;
+import com.example.account.type.TransactionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.example.account.type.TransactionResultType.F;
+
+// 실패 거래(F) 기록을 요청 스레드에서 분리해 모아서 저장하는 write-behind 저널.
+// 백그라운드 writer 가 큐에서 batchSize 만큼 꺼내 계좌를 한 번에 조회하고 saveAll 로 JDBC batch insert 한다.
+@Slf4j
+@Component
+public class FailedTransactionJournal implements SmartLifecycle {
+    private final FailedTransactionJournalProperties properties;
+    private final TransactionService transactionService;
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<FailedTransactionRecord> queue;
+
+    private final Counter appendedCounter;
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+    private final Counter callerRunsCounter;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public FailedTransactionJournal(FailedTransactionJournalProperties properties,
+                                    TransactionService transactionService,
+                                    TransactionRepository transactionRepository,
+                                    AccountRepository accountRepository,
+                                    TransactionIdGenerator transactionIdGenerator,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.transactionService = transactionService;
+        this.transactionRepository = transactionRepository;
+        this.accountRepository = accountRepository;
+        this.transactionIdGenerator = transactionIdGenerator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getCapacity()));
+
+        Gauge.builder("transaction.failed.journal.queue.depth", queue, BlockingQueue::size)
+                .register(meterRegistry);
+        Gauge.builder("transaction.failed.journal.queue.remaining", queue, BlockingQueue::remainingCapacity)
+                .register(meterRegistry);
+        this.appendedCounter = meterRegistry.counter("transaction.failed.journal.appended");
+        this.writtenCounter = meterRegistry.counter("transaction.failed.journal.written");
+        this.droppedCounter = meterRegistry.counter("transaction.failed.journal.dropped");
+        this.callerRunsCounter = meterRegistry.counter("transaction.failed.journal.caller.runs");
+    }
+
+    public void append(TransactionType transactionType, String accountNumber, Long amount) {
+        if (!properties.isEnabled()) {
+            saveSynchronously(transactionType, accountNumber, amount);
+            return;
+        }
+
+        FailedTransactionRecord record = new FailedTransactionRecord(
+                transactionType, accountNumber, amount,
+                transactionIdGenerator.generate(), LocalDateTime.now());
+        appendedCounter.increment();
+        if (running && queue.offer(record)) {
+            // 넣는 사이에 종료됐다면 writer 의 마지막 drain 을 지나쳤을 수 있다.
+            // 큐에서 도로 꺼내지면 직접 저장하고, 이미 꺼내졌다면 꺼낸 쪽이 저장한다.
+            if (!running && queue.remove(record)) {
+                writeBatch(List.of(record));
+            }
+            return;
+        }
+        handleOverflow(record);
+    }
+
+    private void handleOverflow(FailedTransactionRecord record) {
+        if (!running) {
+            // 종료 중에는 큐에 넣지 않고 바로 저장한다.
+            writeBatch(List.of(record));
+            return;
+        }
+        switch (properties.getOverflowPolicy()) {
+            case DROP_NEWEST -> {
+                droppedCounter.increment();
+                log.warn("failed transaction journal is full. dropped: {}", record.getTransactionId());
+            }
+            case DROP_OLDEST -> {
+                FailedTransactionRecord oldest = queue.poll();
+                if (oldest != null) {
+                    droppedCounter.increment();
+                    log.warn("failed transaction journal is full. dropped: {}", oldest.getTransactionId());
+                }
+                if (!queue.offer(record)) {
+                    droppedCounter.increment();
+                }
+            }
+            case CALLER_RUNS -> {
+                callerRunsCounter.increment();
+                writeBatch(List.of(record));
+            }
+        }
+    }
+
+    private void saveSynchronously(TransactionType transactionType, String accountNumber, Long amount) {
+        if (transactionType == TransactionType.USE) {
+            transactionService.saveFailedUseTransaction(accountNumber, amount);
+        } else {
+            transactionService.saveFailedCancelTransaction(accountNumber, amount);
+        }
+    }
+
+    int depth() {
+        return queue.size();
+    }
+
+    // 큐에 쌓인 기록을 batchSize 단위로 꺼내 저장한다. 첫 기록은 최대 timeoutMillis 만큼 기다린다.
+    int drainOnce(long timeoutMillis) throws InterruptedException {
+        FailedTransactionRecord first = queue.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return 0;
+        }
+        List<FailedTransactionRecord> batch = new ArrayList<>(properties.getBatchSize());
+        batch.add(first);
+        queue.drainTo(batch, properties.getBatchSize() - 1);
+        writeBatch(batch);
+        return batch.size();
+    }
+
+    void writeBatch(List<FailedTransactionRecord> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<String, Account> accounts = accountRepository.findByAccountNumberIn(
+                                batch.stream().map(FailedTransactionRecord::getAccountNumber).distinct().toList())
+                        .stream()
+                        .collect(Collectors.toMap(Account::getAccountNumber, Function.identity()));
+
+                List<Transaction> transactions = new ArrayList<>(batch.size());
+                for (FailedTransactionRecord record : batch) {
+                    Account account = accounts.get(record.getAccountNumber());
+                    if (account == null) {
+                        // 없는 계좌에 대한 실패 요청은 기록할 대상이 없다.
+                        continue;
+                    }
+                    transactions.add(Transaction.builder()
+                            .transactionType(record.getTransactionType())
+                            .transactionResultType(F)
+                            .account(account)
+                            .amount(record.getAmount())
+                            .balanceSnapshot(account.getBalance())
+                            .transactionId(record.getTransactionId())
+                            .transactedAt(record.getTransactedAt())
+                            .build());
+                }
+                transactionRepository.saveAll(transactions);
+                writtenCounter.increment(transactions.size());
+            });
+        } catch (RuntimeException e) {
+            log.error("failed to write {} failed transaction records.", batch.size(), e);
+        }
+    }
+
+    private void runWriter() {
+        while (running || !queue.isEmpty()) {
+            try {
+                drainOnce(properties.getFlushIntervalMillis());
+            } catch (InterruptedException e) {
+                if (!running) {
+                    break;
+                }
+            }
+        }
+        // 종료 직전에 남은 기록을 모두 저장한다.
+        drainRemaining();
+    }
+
+    private void drainRemaining() {
+        List<FailedTransactionRecord> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += properties.getBatchSize()) {
+            writeBatch(remaining.subList(from, Math.min(remaining.size(), from + properties.getBatchSize())));
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled() || running) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::runWriter, "failed-transaction-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(properties.getShutdownTimeoutMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            log.warn("failed transaction journal did not drain in time. remaining: {}", queue.size());
+            writer.interrupt();
+            return;
+        }
+        // writer 가 끝난 뒤 들어온 기록
+        drainRemaining();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
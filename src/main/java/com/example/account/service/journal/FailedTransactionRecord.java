@@ -0,0 +1,17 @@
+package com.example.account.service.journal;
+
+import com.example.account.type.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class FailedTransactionRecord {
+    private TransactionType transactionType;
+    private String accountNumber;
+    private Long amount;
+    private String transactionId;
+    private LocalDateTime transactedAt;
+}
@@ -0,0 +1,10 @@
+package com.example.account.service.journal;
+
+public enum JournalOverflowPolicy {
+    // 큐가 가득 찼을 때 새 기록을 버린다.
+    DROP_NEWEST,
+    // 가장 오래된 기록을 버리고 새 기록을 넣는다.
+    DROP_OLDEST,
+    // 요청 스레드에서 바로 저장한다.
+    CALLER_RUNS
+}
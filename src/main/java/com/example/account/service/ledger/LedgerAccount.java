@@ -0,0 +1,112 @@
+package com.example.account.service.ledger;
+
+import com.example.account.domain.Account;
+import com.example.account.exception.AccountException;
+import com.example.account.service.password.AccountPasswordVerifier;
+import com.example.account.type.AccountStatus;
+import com.example.account.type.TransactionType;
+import lombok.Getter;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static com.example.account.type.ErrorCode.*;
+
+// 메모리에 올라온 계좌. 자기 파티션 스레드에서만 읽고 쓴다.
+@Getter
+class LedgerAccount {
+    private final long id;
+    private final String accountNumber;
+    private final Long ownerId;
+    private final String accountPassword;
+    private AccountStatus accountStatus;
+    private long balance;
+
+    // 마지막으로 WAL 에 넘긴 기록. DB 반영 전에는 메모리에서 내리지 않는다.
+    private CompletableFuture<LedgerEntry> lastAppend;
+    // 아직 DB 에 반영되지 않은 사용 거래. 취소 요청이 DB 보다 먼저 찾는다.
+    private final Map<String, Appended> unflushedUses = new LinkedHashMap<>();
+
+    private LedgerAccount(Account account) {
+        this.id = account.getId();
+        this.accountNumber = account.getAccountNumber();
+        this.ownerId = account.getAccountUser().getId();
+        this.accountPassword = account.getAccountPassword();
+        this.accountStatus = account.getAccountStatus();
+        this.balance = account.getBalance();
+    }
+
+    static LedgerAccount from(Account account) {
+        return new LedgerAccount(account);
+    }
+
+    // TransactionService.validateUseBalance 와 같은 순서로 검사한다.
+    void validateUse(AccountPasswordVerifier accountPasswordVerifier, Long userId, String password, long amount) {
+        if (!ownerId.equals(userId)) {
+            throw new AccountException(USER_ACCOUNT_MISMATCH);
+        }
+        if (!accountPasswordVerifier.matches(id, password, () -> accountPassword)) {
+            throw new AccountException(ACCOUNT_PASSWORD_MISMATCH);
+        }
+        if (accountStatus != AccountStatus.IN_USE) {
+            throw new AccountException(ACCOUNT_ALREADY_UNREGISTERED);
+        }
+        if (balance < amount) {
+            throw new AccountException(AMOUNT_EXCEED_BALANCE);
+        }
+    }
+
+    void use(long amount) {
+        balance -= amount;
+    }
+
+    void cancel(long amount) {
+        balance += amount;
+    }
+
+    void unregister() {
+        accountStatus = AccountStatus.UNREGISTERED;
+    }
+
+    void appended(LedgerEntry entry, CompletableFuture<LedgerEntry> durable, long flushedSequence) {
+        lastAppend = durable;
+        pruneFlushedUses(flushedSequence);
+        if (entry.getTransactionType() == TransactionType.USE) {
+            unflushedUses.put(entry.getTransactionId(), new Appended(entry, durable));
+        }
+    }
+
+    Optional<LedgerEntry> findUnflushedUse(String transactionId) {
+        Appended appended = unflushedUses.get(transactionId);
+        return appended == null ? Optional.empty() : Optional.of(appended.entry);
+    }
+
+    boolean isFlushed(long flushedSequence) {
+        return lastAppend == null || isFlushed(lastAppend, flushedSequence);
+    }
+
+    private void pruneFlushedUses(long flushedSequence) {
+        Iterator<Appended> iterator = unflushedUses.values().iterator();
+        while (iterator.hasNext() && isFlushed(iterator.next().durable, flushedSequence)) {
+            iterator.remove();
+        }
+    }
+
+    private static boolean isFlushed(CompletableFuture<LedgerEntry> durable, long flushedSequence) {
+        return durable.isDone() && !durable.isCompletedExceptionally()
+                && durable.join().getSequence() <= flushedSequence;
+    }
+
+    private static final class Appended {
+        private final LedgerEntry entry;
+        private final CompletableFuture<LedgerEntry> durable;
+
+        private Appended(LedgerEntry entry, CompletableFuture<LedgerEntry> durable) {
+            this.entry = entry;
+            this.durable = durable;
+        }
+    }
+}
@@ -0,0 +1,545 @@
+package com.example.account.service.ledger;
+
+import com.example.account.config.LedgerProperties;
+import com.example.account.domain.LedgerCheckpoint;
+import com.example.account.domain.Transaction;
+import com.example.account.domain.TransactionIdempotency;
+import com.example.account.dto.TransactionDto;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountUserRepository;
+import com.example.account.repository.LedgerCheckpointRepository;
+import com.example.account.repository.TransactionIdempotencyRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.service.IdempotencyService;
+import com.example.account.service.archive.TransactionArchive;
+import com.example.account.service.id.TransactionIdGenerator;
+import com.example.account.service.password.AccountPasswordVerifier;
+import com.example.account.type.AccountStatus;
+import com.example.account.type.TransactionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static com.example.account.type.ErrorCode.*;
+import static com.example.account.type.TransactionResultType.S;
+import static com.example.account.type.TransactionType.CANCEL;
+import static com.example.account.type.TransactionType.USE;
+
+// 활성 계좌의 잔액을 메모리에 두고 변경하는 원장 엔진 (account.transaction.engine=ledger).
+// - 계좌번호 해시로 파티션을 나누고, 파티션마다 스레드 하나가 순서대로 잔액을 바꾼다.
+// - 변경은 WAL 에 기록되고 group fsync 가 끝나야 응답한다.
+// - DB(account, transaction) 반영은 flusher 가 모아서 비동기로 하고, 같은 트랜잭션에서 체크포인트를 올린다.
+// - 기동 시 체크포인트 이후의 WAL 기록을 DB 에 다시 반영한 뒤 요청을 받는다.
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "account.transaction", name = "engine", havingValue = "ledger")
+public class LedgerEngine implements SmartLifecycle {
+    static final String CHECKPOINT_NAME = "ledger";
+    // WAL 세그먼트와 같은 디렉터리에 두지만 세그먼트 이름 규칙과 달라 WAL 로 읽히지 않는다.
+    static final String DEAD_LETTER_FILE = "dead-letter.log";
+
+    private final LedgerProperties properties;
+    private final AccountRepository accountRepository;
+    private final AccountUserRepository accountUserRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionIdempotencyRepository transactionIdempotencyRepository;
+    private final LedgerCheckpointRepository ledgerCheckpointRepository;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final AccountPasswordVerifier accountPasswordVerifier;
+    private final IdempotencyService idempotencyService;
+    private final TransactionArchive transactionArchive;
+    private final TransactionTemplate transactionTemplate;
+    private final WriteAheadLog writeAheadLog;
+    private final BlockingQueue<LedgerEntry> flushQueue = new LinkedBlockingQueue<>();
+    // DB 반영 전인 기록의 멱등성 키. 반영이 커밋되면 TransactionIdempotency 에서 찾으므로 뺀다.
+    private final Map<String, CompletableFuture<LedgerEntry>> unflushedKeys = new ConcurrentHashMap<>();
+    private final Path deadLetterFile;
+    private final Counter flushFailures;
+    private final Counter deadLetters;
+
+    private LedgerPartition[] partitions;
+    private volatile long durableSequence;
+    private volatile long flushedSequence;
+    private volatile boolean running;
+    // WAL 이 닫힐 때까지는 flush 큐에 기록이 더 들어올 수 있다.
+    private volatile boolean walClosed;
+    // 같은 배치가 연달아 실패한 횟수. 성공하면 0 으로 돌아간다.
+    private volatile int consecutiveFlushFailures;
+    private Thread flusher;
+
+    public LedgerEngine(LedgerProperties properties,
+                        AccountRepository accountRepository,
+                        AccountUserRepository accountUserRepository,
+                        TransactionRepository transactionRepository,
+                        TransactionIdempotencyRepository transactionIdempotencyRepository,
+                        LedgerCheckpointRepository ledgerCheckpointRepository,
+                        TransactionIdGenerator transactionIdGenerator,
+                        AccountPasswordVerifier accountPasswordVerifier,
+                        IdempotencyService idempotencyService,
+                        TransactionArchive transactionArchive,
+                        PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.accountRepository = accountRepository;
+        this.accountUserRepository = accountUserRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionIdempotencyRepository = transactionIdempotencyRepository;
+        this.ledgerCheckpointRepository = ledgerCheckpointRepository;
+        this.transactionIdGenerator = transactionIdGenerator;
+        this.accountPasswordVerifier = accountPasswordVerifier;
+        this.idempotencyService = idempotencyService;
+        this.transactionArchive = transactionArchive;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.writeAheadLog = new WriteAheadLog(
+                Path.of(properties.getWalDirectory()),
+                properties.getWalSegmentBytes(),
+                properties.getGroupCommitMaxBatch(),
+                entries -> {
+                    flushQueue.addAll(entries);
+                    durableSequence = entries.get(entries.size() - 1).getSequence();
+                });
+
+        this.deadLetterFile = Path.of(properties.getWalDirectory()).resolve(DEAD_LETTER_FILE);
+
+        Gauge.builder("ledger.flush.lag", this, engine -> engine.durableSequence - engine.flushedSequence)
+                .register(meterRegistry);
+        Gauge.builder("ledger.flush.consecutive.failures", this, engine -> engine.consecutiveFlushFailures)
+                .register(meterRegistry);
+        this.flushFailures = meterRegistry.counter("ledger.flush.failures");
+        this.deadLetters = meterRegistry.counter("ledger.flush.dead.letters");
+        FunctionCounter.builder("ledger.wal.fsync", writeAheadLog, WriteAheadLog::getFsyncCount)
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<TransactionDto> submitUseBalance(Long userId, String accountNumber,
+                                                              String accountPassword, Long amount,
+                                                              String idempotencyKey) {
+        checkRunning();
+        accountUserRepository.findById(userId)
+                .orElseThrow(() -> new AccountException(USER_NOT_FOUND));
+
+        LedgerPartition partition = partitionOf(accountNumber);
+        return partition.submit(() -> {
+            Optional<CompletableFuture<TransactionDto>> replayed =
+                    findReplay(idempotencyKey, USE, accountNumber, amount);
+            if (replayed.isPresent()) {
+                return replayed.get();
+            }
+            LedgerAccount account = partition.getOrLoad(accountNumber, this::loadAccount, flushedSequence);
+            account.validateUse(accountPasswordVerifier, userId, accountPassword, amount);
+
+            account.use(amount);
+            return append(account, USE, amount, idempotencyKey);
+        });
+    }
+
+    public CompletableFuture<TransactionDto> submitCancelBalance(String transactionId, String accountNumber,
+                                                                 Long amount, String idempotencyKey) {
+        checkRunning();
+
+        LedgerPartition partition = partitionOf(accountNumber);
+        return partition.submit(() -> {
+            Optional<CompletableFuture<TransactionDto>> replayed =
+                    findReplay(idempotencyKey, CANCEL, accountNumber, amount);
+            if (replayed.isPresent()) {
+                return replayed.get();
+            }
+            // DB 반영 전인 거래는 메모리에서 먼저 찾는다.
+            LedgerEntry original = partition.get(accountNumber)
+                    .flatMap(account -> account.findUnflushedUse(transactionId))
+                    .or(() -> transactionRepository.findCancelTarget(
+                                    transactionId, transactionIdGenerator.issuedAt(transactionId))
+                            .or(() -> transactionRepository.findByTransactionId(transactionId))
+                            .map(LedgerEngine::toEntry))
+                    .orElseThrow(() -> cancelTargetNotFound(transactionId, accountNumber));
+            LedgerAccount account = partition.getOrLoad(accountNumber, this::loadAccount, flushedSequence);
+
+            if (original.getAccountId() != account.getId()) {
+                throw new AccountException(TRANSACTION_ACCOUNT_MISMATCH);
+            }
+            if (original.getAmount() != amount) {
+                throw new AccountException(TRANSACTION_AMOUNT_MISMATCH);
+            }
+            if (original.getTransactedAt().isBefore(LocalDateTime.now().minusYears(1))) {
+                throw new AccountException(TOO_OLD_TRANSACTION_TO_CANCEL);
+            }
+
+            account.cancel(amount);
+            return append(account, CANCEL, amount, idempotencyKey);
+        });
+    }
+
+    public TransactionDto useBalance(Long userId, String accountNumber, String accountPassword, Long amount) {
+        return useBalance(userId, accountNumber, accountPassword, amount, null);
+    }
+
+    public TransactionDto useBalance(Long userId, String accountNumber, String accountPassword, Long amount,
+                                     String idempotencyKey) {
+        return await(submitUseBalance(userId, accountNumber, accountPassword, amount, idempotencyKey));
+    }
+
+    public TransactionDto cancelBalance(String transactionId, String accountNumber, Long amount) {
+        return cancelBalance(transactionId, accountNumber, amount, null);
+    }
+
+    public TransactionDto cancelBalance(String transactionId, String accountNumber, Long amount,
+                                        String idempotencyKey) {
+        return await(submitCancelBalance(transactionId, accountNumber, amount, idempotencyKey));
+    }
+
+    // 메모리 잔액(반영 전 취소 포함)으로 잔액을 확인하고 해지한다. 해지를 DB 에 커밋할 때까지
+    // 파티션 스레드를 잡고 있으므로, 그 사이 들어온 같은 계좌의 요청은 해지된 계좌로 처리된다.
+    public LocalDateTime unregister(String accountNumber) {
+        checkRunning();
+
+        LedgerPartition partition = partitionOf(accountNumber);
+        return await(partition.submit(() -> {
+            LedgerAccount account = partition.getOrLoad(accountNumber, this::loadAccount, flushedSequence);
+            if (account.getAccountStatus() == AccountStatus.UNREGISTERED) {
+                throw new AccountException(ACCOUNT_ALREADY_UNREGISTERED);
+            }
+            if (account.getBalance() > 0) {
+                throw new AccountException(BALANCE_NOT_EMPTY);
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            transactionTemplate.executeWithoutResult(status -> accountRepository.unregister(account.getId(), now));
+            account.unregister();
+            return CompletableFuture.completedFuture(now);
+        }));
+    }
+
+    private CompletableFuture<TransactionDto> append(LedgerAccount account, TransactionType type, long amount,
+                                                     String idempotencyKey) {
+        LedgerEntry entry = new LedgerEntry(0, type, account.getId(), account.getAccountNumber(),
+                transactionIdGenerator.generate(), amount, account.getBalance(), LocalDateTime.now(), idempotencyKey);
+        CompletableFuture<LedgerEntry> durable = writeAheadLog.append(entry);
+        account.appended(entry, durable, flushedSequence);
+        if (idempotencyKey != null) {
+            unflushedKeys.put(idempotencyKey, durable);
+        }
+        return durable.thenApply(LedgerEngine::toDto);
+    }
+
+    // 같은 키로 이미 원장에 들어온 거래가 있으면 그 결과로 응답한다. DB 반영 전이면 메모리에서,
+    // 반영 뒤면 TransactionIdempotency 에서 찾는다. 재기동 때는 WAL 을 모두 DB 에 반영한 뒤 요청을 받으므로
+    // 메모리에 키를 다시 올릴 필요가 없다.
+    private Optional<CompletableFuture<TransactionDto>> findReplay(String idempotencyKey, TransactionType type,
+                                                                   String accountNumber, long amount) {
+        if (idempotencyKey == null) {
+            return Optional.empty();
+        }
+        CompletableFuture<LedgerEntry> unflushed = unflushedKeys.get(idempotencyKey);
+        if (unflushed != null) {
+            return Optional.of(unflushed.thenApply(original -> {
+                if (original.getTransactionType() != type
+                        || !original.getAccountNumber().equals(accountNumber)
+                        || original.getAmount() != amount) {
+                    throw new AccountException(IDEMPOTENCY_KEY_REUSED);
+                }
+                return toDto(original);
+            }));
+        }
+        return idempotencyService.findResponse(idempotencyKey, type, accountNumber, amount)
+                .map(CompletableFuture::completedFuture);
+    }
+
+    private Optional<LedgerAccount> loadAccount(String accountNumber) {
+        return accountRepository.findByAccountNumber(accountNumber).map(LedgerAccount::from);
+    }
+
+    private LedgerPartition partitionOf(String accountNumber) {
+        return partitions[Math.floorMod(accountNumber.hashCode(), partitions.length)];
+    }
+
+    private void checkRunning() {
+        if (!running || writeAheadLog.isFailed()) {
+            throw new AccountException(TRANSACTION_PROCESSING_FAILED);
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AccountException(TRANSACTION_PROCESSING_FAILED);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof AccountException accountException) {
+                throw accountException;
+            }
+            log.error("ledger operation failed.", e.getCause());
+            throw new AccountException(TRANSACTION_PROCESSING_FAILED);
+        }
+    }
+
+    private static LedgerEntry toEntry(Transaction transaction) {
+        return new LedgerEntry(0, transaction.getTransactionType(), transaction.getAccount().getId(), null,
+                transaction.getTransactionId(), transaction.getAmount(), transaction.getBalanceSnapshot(),
+                transaction.getTransactedAt(), null);
+    }
+
+    private static TransactionDto toDto(LedgerEntry entry) {
+        return TransactionDto.builder()
+                .accountNumber(entry.getAccountNumber())
+                .transactionType(entry.getTransactionType())
+                .transactionResultType(S)
+                .transactionId(entry.getTransactionId())
+                .amount(entry.getAmount())
+                .balanceSnapshot(entry.getBalanceSnapshot())
+                .transactedAt(entry.getTransactedAt())
+                .build();
+    }
+
+    // 거래와 멱등성 키를 insert 하고 계좌마다 마지막 잔액으로 덮어쓴 뒤 체크포인트를 올린다. 모두 한 트랜잭션이다.
+    void flush(List<LedgerEntry> batch) {
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<Long, Long> balances = new LinkedHashMap<>();
+            List<Transaction> transactions = new ArrayList<>(batch.size());
+            for (LedgerEntry entry : batch) {
+                transactions.add(Transaction.builder()
+                        .account(accountRepository.getReferenceById(entry.getAccountId()))
+                        .transactionType(entry.getTransactionType())
+                        .transactionResultType(S)
+                        .amount(entry.getAmount())
+                        .balanceSnapshot(entry.getBalanceSnapshot())
+                        .transactionId(entry.getTransactionId())
+                        .transactedAt(entry.getTransactedAt())
+                        .build());
+                balances.put(entry.getAccountId(), entry.getBalanceSnapshot());
+            }
+            List<Transaction> saved = transactionRepository.saveAll(transactions);
+            List<TransactionIdempotency> idempotencies = new ArrayList<>();
+            for (int i = 0; i < batch.size(); i++) {
+                if (batch.get(i).getIdempotencyKey() != null) {
+                    idempotencies.add(TransactionIdempotency.of(batch.get(i).getIdempotencyKey(), saved.get(i)));
+                }
+            }
+            if (!idempotencies.isEmpty()) {
+                transactionIdempotencyRepository.saveAll(idempotencies);
+            }
+            balances.forEach((accountId, balance) -> accountRepository.updateBalance(accountId, balance, now));
+            ledgerCheckpointRepository.save(
+                    new LedgerCheckpoint(CHECKPOINT_NAME, batch.get(batch.size() - 1).getSequence()));
+        });
+        flushedSequence = batch.get(batch.size() - 1).getSequence();
+        batch.forEach(this::forgetKey);
+    }
+
+    private void forgetKey(LedgerEntry entry) {
+        if (entry.getIdempotencyKey() != null) {
+            unflushedKeys.remove(entry.getIdempotencyKey());
+        }
+    }
+
+    private void runFlusher() {
+        List<LedgerEntry> batch = new ArrayList<>(properties.getFlushBatchSize());
+        while (!walClosed || !flushQueue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.size() < properties.getFlushBatchSize()) {
+                    LedgerEntry first = flushQueue.poll(properties.getFlushIntervalMillis(), TimeUnit.MILLISECONDS);
+                    if (first != null) {
+                        batch.add(first);
+                        flushQueue.drainTo(batch, properties.getFlushBatchSize() - batch.size());
+                    }
+                }
+                if (batch.isEmpty()) {
+                    continue;
+                }
+                if (consecutiveFlushFailures >= properties.getFlushMaxAttempts()) {
+                    flushIndividually(batch);
+                } else {
+                    flush(batch);
+                    batch.clear();
+                }
+                consecutiveFlushFailures = 0;
+                writeAheadLog.deleteSegmentsUpTo(flushedSequence);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    break;
+                }
+            } catch (RuntimeException e) {
+                // 반영하지 못한 기록은 WAL 에 남아 있으므로 다음 기동 때 다시 반영된다.
+                // DB 장애처럼 일시적인 실패는 횟수를 세지 않고 계속 재시도한다.
+                flushFailures.increment();
+                if (!isTransient(e)) {
+                    consecutiveFlushFailures++;
+                }
+                log.error("failed to flush {} ledger entries (attempt {}). retrying.",
+                        batch.size(), consecutiveFlushFailures, e);
+                if (!running) {
+                    break;
+                }
+                sleepQuietly(properties.getFlushIntervalMillis());
+            }
+        }
+    }
+
+    // 계속 실패하는 배치는 한 건씩 반영해, 반영할 수 없는 기록만 dead-letter 로 보내고 나머지는 진행한다.
+    // 반영된 기록은 batch 에서 빠지므로, 일시적인 실패로 중단되면 남은 기록부터 다시 시도한다.
+    private void flushIndividually(List<LedgerEntry> batch) {
+        Iterator<LedgerEntry> iterator = batch.iterator();
+        while (iterator.hasNext()) {
+            LedgerEntry entry = iterator.next();
+            try {
+                flush(List.of(entry));
+            } catch (RuntimeException e) {
+                if (isTransient(e)) {
+                    throw e;
+                }
+                deadLetter(entry, e);
+            }
+            iterator.remove();
+        }
+    }
+
+    // 기록을 파일로 남기고 체크포인트만 올린다. 잔액은 이후 기록이 스냅샷으로 덮어쓰므로 거래 행만 빠진다.
+    private void deadLetter(LedgerEntry entry, RuntimeException cause) {
+        log.error("ledger entry {} ({}) cannot be flushed. moved to {}.",
+                entry.getSequence(), entry.getTransactionId(), deadLetterFile, cause);
+        String line = String.join(",",
+                String.valueOf(entry.getSequence()), entry.getTransactionType().name(),
+                String.valueOf(entry.getAccountId()), String.valueOf(entry.getAccountNumber()),
+                entry.getTransactionId(), String.valueOf(entry.getAmount()),
+                String.valueOf(entry.getBalanceSnapshot()), String.valueOf(entry.getTransactedAt()),
+                String.valueOf(entry.getIdempotencyKey()), String.valueOf(cause.getMessage()).replace('\n', ' ')) + "\n";
+        try {
+            Files.writeString(deadLetterFile, line, StandardOpenOption.CREATE, StandardOpenOption.APPEND,
+                    StandardOpenOption.SYNC);
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to write ledger dead letter", e);
+        }
+        transactionTemplate.executeWithoutResult(status ->
+                ledgerCheckpointRepository.save(new LedgerCheckpoint(CHECKPOINT_NAME, entry.getSequence())));
+        flushedSequence = entry.getSequence();
+        forgetKey(entry);
+        deadLetters.increment();
+    }
+
+    // 취소 기간이 지나 보관본으로 옮겨진 거래는 TransactionService 와 같이 기간 초과로 응답한다.
+    private AccountException cancelTargetNotFound(String transactionId, String accountNumber) {
+        boolean archived = accountRepository.findByAccountNumber(accountNumber)
+                .map(account -> transactionArchive.contains(account.getId(), transactionId,
+                        transactionIdGenerator.issuedAt(transactionId)))
+                .orElse(false);
+        return new AccountException(archived ? TOO_OLD_TRANSACTION_TO_CANCEL : TRANSACTION_NOT_FOUND);
+    }
+
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof TransactionException;
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (running) {
+            return;
+        }
+        long checkpoint = ledgerCheckpointRepository.findById(CHECKPOINT_NAME)
+                .map(LedgerCheckpoint::getSequence)
+                .orElse(0L);
+        List<LedgerEntry> unflushed;
+        try {
+            unflushed = writeAheadLog.open(checkpoint);
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to open ledger write-ahead log", e);
+        }
+        flushedSequence = checkpoint;
+        if (!unflushed.isEmpty()) {
+            log.info("replaying {} ledger entries after sequence {}.", unflushed.size(), checkpoint);
+            for (int from = 0; from < unflushed.size(); from += properties.getFlushBatchSize()) {
+                List<LedgerEntry> batch = new ArrayList<>(
+                        unflushed.subList(from, Math.min(unflushed.size(), from + properties.getFlushBatchSize())));
+                try {
+                    flush(batch);
+                } catch (RuntimeException e) {
+                    if (isTransient(e)) {
+                        throw e;
+                    }
+                    flushIndividually(batch);
+                }
+            }
+        }
+        durableSequence = flushedSequence;
+
+        partitions = new LedgerPartition[Math.max(1, properties.getPartitions())];
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = new LedgerPartition(i, properties.getMaxAccountsPerPartition());
+        }
+        walClosed = false;
+        running = true;
+        flusher = new Thread(this::runFlusher, "ledger-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            for (LedgerPartition partition : partitions) {
+                partition.shutdown(properties.getShutdownTimeoutMillis());
+            }
+            writeAheadLog.close();
+            walClosed = true;
+            flusher.join(properties.getShutdownTimeoutMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.error("failed to close ledger write-ahead log.", e);
+        }
+        if (flusher.isAlive()) {
+            log.warn("ledger flusher did not finish in time. remaining entries are replayed on next start: {}",
+                    flushQueue.size());
+            flusher.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 웹 서버보다 먼저 시작하고(복구 완료 후 요청 수신) 나중에 멈춘다.
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 2048;
+    }
+
+    long getFlushedSequence() {
+        return flushedSequence;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.account.service.ledger;
+
+import com.example.account.type.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.With;
+
+import java.time.LocalDateTime;
+
+// 원장에 반영된 거래 한 건. WAL 레코드이자 DB 반영 단위다.
+@Getter
+@AllArgsConstructor
+public class LedgerEntry {
+    // WAL 에 쓰일 때 정해진다.
+    @With
+    private final long sequence;
+    private final TransactionType transactionType;
+    private final long accountId;
+    private final String accountNumber;
+    private final String transactionId;
+    private final long amount;
+    private final long balanceSnapshot;
+    private final LocalDateTime transactedAt;
+    // 요청의 멱등성 키. 없으면 null 이다. DB 반영 때 TransactionIdempotency 로 함께 저장된다.
+    private final String idempotencyKey;
+}
@@ -0,0 +1,69 @@
+package com.example.account.service.ledger;
+
+import com.example.account.exception.AccountException;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.example.account.type.ErrorCode.ACCOUNT_NOT_FOUND;
+
+// 계좌번호 해시로 나눈 원장의 한 조각. 스레드 하나가 순서대로 처리하므로 계좌 상태에 락이 필요 없다.
+class LedgerPartition {
+    private final ExecutorService executor;
+    private final int maxAccounts;
+    // 접근 순서. 오래 쓰지 않은 계좌부터 내린다.
+    private final LinkedHashMap<String, LedgerAccount> accounts = new LinkedHashMap<>(1024, 0.75f, true);
+
+    LedgerPartition(int index, int maxAccounts) {
+        this.maxAccounts = Math.max(1, maxAccounts);
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ledger-partition-" + index);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> task) {
+        return CompletableFuture.supplyAsync(task, executor).thenCompose(Function.identity());
+    }
+
+    // 아래 메서드는 파티션 스레드에서만 호출한다.
+    LedgerAccount getOrLoad(String accountNumber, Function<String, Optional<LedgerAccount>> loader,
+                            long flushedSequence) {
+        LedgerAccount account = accounts.get(accountNumber);
+        if (account != null) {
+            return account;
+        }
+        account = loader.apply(accountNumber)
+                .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
+        evictFlushed(flushedSequence);
+        accounts.put(accountNumber, account);
+        return account;
+    }
+
+    Optional<LedgerAccount> get(String accountNumber) {
+        return Optional.ofNullable(accounts.get(accountNumber));
+    }
+
+    // DB 반영이 끝난 계좌만 내린다. 내린 계좌는 다음 요청 때 DB 에서 다시 읽는다.
+    private void evictFlushed(long flushedSequence) {
+        Iterator<LedgerAccount> iterator = accounts.values().iterator();
+        while (accounts.size() >= maxAccounts && iterator.hasNext()) {
+            if (iterator.next().isFlushed(flushedSequence)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    void shutdown(long timeoutMillis) throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+}
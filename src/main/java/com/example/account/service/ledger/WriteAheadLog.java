@@ -0,0 +1,293 @@
+package com.example.account.service.ledger;
+
+import com.example.account.type.TransactionType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+// 원장 변경을 순서대로 기록하는 append-only 로그. 세그먼트 파일(segment-<첫 시퀀스>.wal)에 이어 쓴다.
+// 레코드: [payload 길이 int][payload CRC32C int][payload]
+// append 요청은 writer 스레드 하나가 모아서 쓰고 fsync 한 번으로 함께 내구화한다(group commit).
+@Slf4j
+class WriteAheadLog implements Closeable {
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final int HEADER_BYTES = 8;
+    private static final long POLL_MILLIS = 10;
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final int maxBatch;
+    // fsync 가 끝난 기록을 시퀀스 순서대로 넘겨받는다. writer 스레드에서 호출된다.
+    private final Consumer<List<LedgerEntry>> durableListener;
+    private final BlockingQueue<PendingAppend> pending = new LinkedBlockingQueue<>();
+    private final Object appendLock = new Object();
+    private final AtomicLong fsyncCount = new AtomicLong();
+
+    private long lastSequence;
+    private FileChannel segment;
+    private volatile boolean running;
+    private volatile IOException failure;
+    private Thread writer;
+
+    WriteAheadLog(Path directory, long segmentBytes, int maxBatch, Consumer<List<LedgerEntry>> durableListener) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxBatch = Math.max(1, maxBatch);
+        this.durableListener = durableListener;
+    }
+
+    // 기존 세그먼트를 읽어 checkpoint 이후의 기록을 돌려주고, 새 세그먼트에 이어 쓸 준비를 한다.
+    // 마지막 세그먼트 끝의 깨진 레코드(쓰는 도중 중단된 것)는 잘라낸다.
+    List<LedgerEntry> open(long checkpoint) throws IOException {
+        Files.createDirectories(directory);
+        List<Path> segments = listSegments();
+        List<LedgerEntry> unflushed = new ArrayList<>();
+        lastSequence = checkpoint;
+        for (int i = 0; i < segments.size(); i++) {
+            for (LedgerEntry entry : readSegment(segments.get(i), i == segments.size() - 1)) {
+                lastSequence = Math.max(lastSequence, entry.getSequence());
+                if (entry.getSequence() > checkpoint) {
+                    unflushed.add(entry);
+                }
+            }
+        }
+        openSegment(lastSequence + 1);
+
+        running = true;
+        writer = new Thread(this::runWriter, "ledger-wal-writer");
+        writer.setDaemon(true);
+        writer.start();
+        return unflushed;
+    }
+
+    // fsync 까지 끝나면 시퀀스가 정해진 기록으로 완료된다.
+    CompletableFuture<LedgerEntry> append(LedgerEntry entry) {
+        synchronized (appendLock) {
+            if (!running || failure != null) {
+                return CompletableFuture.failedFuture(
+                        new IllegalStateException("write-ahead log is not available", failure));
+            }
+            PendingAppend append = new PendingAppend(entry.withSequence(++lastSequence));
+            pending.add(append);
+            return append.durable;
+        }
+    }
+
+    // sequence 까지 모두 DB 에 반영된 세그먼트를 지운다. 현재 쓰는 세그먼트는 남긴다.
+    void deleteSegmentsUpTo(long sequence) {
+        try {
+            List<Path> segments = listSegments();
+            for (int i = 0; i < segments.size() - 1; i++) {
+                if (firstSequenceOf(segments.get(i + 1)) - 1 > sequence) {
+                    break;
+                }
+                Files.deleteIfExists(segments.get(i));
+            }
+        } catch (IOException e) {
+            log.warn("failed to delete flushed wal segments up to {}", sequence, e);
+        }
+    }
+
+    long getFsyncCount() {
+        return fsyncCount.get();
+    }
+
+    boolean isFailed() {
+        return failure != null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (appendLock) {
+            if (!running) {
+                return;
+            }
+            running = false;
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        segment.close();
+    }
+
+    private void runWriter() {
+        List<PendingAppend> batch = new ArrayList<>(maxBatch);
+        while (running || !pending.isEmpty()) {
+            try {
+                PendingAppend first = pending.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                pending.drainTo(batch, maxBatch - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (IOException e) {
+                log.error("failed to write ledger wal. the ledger stops accepting changes.", e);
+                synchronized (appendLock) {
+                    failure = e;
+                }
+                batch.forEach(append -> append.durable.completeExceptionally(e));
+                pending.forEach(append -> append.durable.completeExceptionally(e));
+                pending.clear();
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    private void write(List<PendingAppend> batch) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(batch.size() * 96);
+        for (PendingAppend append : batch) {
+            writeRecord(bytes, append.entry);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        while (buffer.hasRemaining()) {
+            segment.write(buffer);
+        }
+        segment.force(false);
+        fsyncCount.incrementAndGet();
+
+        List<LedgerEntry> entries = new ArrayList<>(batch.size());
+        for (PendingAppend append : batch) {
+            entries.add(append.entry);
+        }
+        durableListener.accept(entries);
+        for (PendingAppend append : batch) {
+            append.durable.complete(append.entry);
+        }
+
+        if (segment.position() >= segmentBytes) {
+            segment.close();
+            openSegment(entries.get(entries.size() - 1).getSequence() + 1);
+        }
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        segment = FileChannel.open(directory.resolve(segmentName(firstSequence)),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static String segmentName(long firstSequence) {
+        return String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX);
+    }
+
+    private static long firstSequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static List<LedgerEntry> readSegment(Path path, boolean last) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        List<LedgerEntry> entries = new ArrayList<>();
+        while (buffer.remaining() >= HEADER_BYTES) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining() || checksum != checksum(buffer.array(), buffer.position(), length)) {
+                buffer.position(start);
+                break;
+            }
+            entries.add(readRecord(buffer.array(), buffer.position(), length));
+            buffer.position(buffer.position() + length);
+        }
+        if (buffer.hasRemaining()) {
+            if (!last) {
+                throw new IOException("corrupted wal segment: " + path + " at " + buffer.position());
+            }
+            log.warn("truncating torn wal record. segment: {}, position: {}", path, buffer.position());
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(buffer.position());
+                channel.force(true);
+            }
+        }
+        return entries;
+    }
+
+    private static void writeRecord(ByteArrayOutputStream out, LedgerEntry entry) throws IOException {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(80);
+        DataOutputStream data = new DataOutputStream(payload);
+        data.writeLong(entry.getSequence());
+        data.writeByte(entry.getTransactionType().ordinal());
+        data.writeLong(entry.getAccountId());
+        data.writeUTF(entry.getAccountNumber());
+        data.writeUTF(entry.getTransactionId());
+        data.writeLong(entry.getAmount());
+        data.writeLong(entry.getBalanceSnapshot());
+        data.writeLong(entry.getTransactedAt().toEpochSecond(ZoneOffset.UTC));
+        data.writeInt(entry.getTransactedAt().getNano());
+        // 키 없이 쓰인 예전 레코드와도 읽을 수 있도록 맨 뒤에 둔다.
+        data.writeBoolean(entry.getIdempotencyKey() != null);
+        if (entry.getIdempotencyKey() != null) {
+            data.writeUTF(entry.getIdempotencyKey());
+        }
+
+        byte[] bytes = payload.toByteArray();
+        DataOutputStream header = new DataOutputStream(out);
+        header.writeInt(bytes.length);
+        header.writeInt(checksum(bytes, 0, bytes.length));
+        out.write(bytes);
+    }
+
+    private static LedgerEntry readRecord(byte[] bytes, int offset, int length) throws IOException {
+        DataInputStream data = new DataInputStream(new ByteArrayInputStream(bytes, offset, length));
+        return new LedgerEntry(
+                data.readLong(),
+                TransactionType.values()[data.readByte()],
+                data.readLong(),
+                data.readUTF(),
+                data.readUTF(),
+                data.readLong(),
+                data.readLong(),
+                LocalDateTime.ofEpochSecond(data.readLong(), data.readInt(), ZoneOffset.UTC),
+                data.available() > 0 && data.readBoolean() ? data.readUTF() : null);
+    }
+
+    private static int checksum(byte[] bytes, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+
+    private static final class PendingAppend {
+        private final LedgerEntry entry;
+        private final CompletableFuture<LedgerEntry> durable = new CompletableFuture<>();
+
+        private PendingAppend(LedgerEntry entry) {
+            this.entry = entry;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.account.service.lock;
+
+import java.util.function.Supplier;
+
+public interface BalanceLockStrategy {
+    // 트랜잭션 바깥에서 잔액 변경 작업을 감싼다. (락 획득, 충돌 시 재시도 등)
+    <T> T execute(String accountNumber, Supplier<T> task);
+
+    // 트랜잭션 안에서 계좌를 SELECT ... FOR UPDATE 로 조회해야 하는지 여부
+    boolean isRowLockRequired();
+}
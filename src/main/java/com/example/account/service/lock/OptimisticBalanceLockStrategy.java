@@ -0,0 +1,56 @@
+package com.example.account.service.lock;
+
+import com.example.account.config.BalanceLockProperties;
+import com.example.account.exception.AccountException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import static com.example.account.type.ErrorCode.TRANSACTION_IN_PROGRESS;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "account.balance.lock", name = "strategy", havingValue = "optimistic")
+public class OptimisticBalanceLockStrategy implements BalanceLockStrategy {
+    private final BalanceLockProperties balanceLockProperties;
+
+    @Override
+    public <T> T execute(String accountNumber, Supplier<T> task) {
+        int maxAttempts = balanceLockProperties.getOptimisticMaxAttempts();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return task.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    log.warn("optimistic lock retries exhausted. accountNumber: {}, attempts: {}", accountNumber, attempt);
+                    throw new AccountException(TRANSACTION_IN_PROGRESS);
+                }
+                backoff(attempt);
+            }
+        }
+    }
+
+    @Override
+    public boolean isRowLockRequired() {
+        return false;
+    }
+
+    private void backoff(int attempt) {
+        long maxBackoff = balanceLockProperties.getOptimisticBackoffMillis() * attempt;
+        if (maxBackoff <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(maxBackoff + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AccountException(TRANSACTION_IN_PROGRESS);
+        }
+    }
+}
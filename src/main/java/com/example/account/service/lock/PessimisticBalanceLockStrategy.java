@@ -0,0 +1,29 @@
+package com.example.account.service.lock;
+
+import com.example.account.exception.AccountException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+import static com.example.account.type.ErrorCode.TRANSACTION_IN_PROGRESS;
+
+@Component
+@ConditionalOnProperty(prefix = "account.balance.lock", name = "strategy", havingValue = "pessimistic", matchIfMissing = true)
+public class PessimisticBalanceLockStrategy implements BalanceLockStrategy {
+
+    @Override
+    public <T> T execute(String accountNumber, Supplier<T> task) {
+        try {
+            return task.get();
+        } catch (PessimisticLockingFailureException e) {
+            throw new AccountException(TRANSACTION_IN_PROGRESS);
+        }
+    }
+
+    @Override
+    public boolean isRowLockRequired() {
+        return true;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.account.service.lock;
+
+import com.example.account.config.BalanceLockProperties;
+import com.example.account.exception.AccountException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import static com.example.account.type.ErrorCode.TRANSACTION_IN_PROGRESS;
+
+// 단일 인스턴스 배포 전용. 여러 인스턴스가 같은 DB를 쓰면 @Version 충돌로만 보호된다.
+@Component
+@ConditionalOnProperty(prefix = "account.balance.lock", name = "strategy", havingValue = "striped")
+public class StripedBalanceLockStrategy implements BalanceLockStrategy {
+    private final ReentrantLock[] locks;
+    private final int mask;
+    private final long timeoutMillis;
+
+    public StripedBalanceLockStrategy(BalanceLockProperties balanceLockProperties) {
+        int stripes = Integer.highestOneBit(Math.max(1, balanceLockProperties.getStripes() - 1)) << 1;
+        this.locks = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.mask = stripes - 1;
+        this.timeoutMillis = balanceLockProperties.getStripeTimeoutMillis();
+    }
+
+    @Override
+    public <T> T execute(String accountNumber, Supplier<T> task) {
+        ReentrantLock lock = lockFor(accountNumber);
+        try {
+            if (!lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new AccountException(TRANSACTION_IN_PROGRESS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AccountException(TRANSACTION_IN_PROGRESS);
+        }
+        try {
+            return task.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isRowLockRequired() {
+        return false;
+    }
+
+    ReentrantLock lockFor(String accountNumber) {
+        int h = accountNumber.hashCode();
+        return locks[(h ^ (h >>> 16)) & mask];
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.account.service.partition;
+
+import com.example.account.config.TransactionProperties;
+import com.example.account.repository.TransactionIdempotencyRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+// transaction 테이블의 월별 RANGE 파티션(transacted_at)을 관리한다.
+// 앞으로 쓸 달의 파티션을 비어있는 p_future 에서 미리 떼어내고, 보존 기간이 지난 파티션은 통째로 지운다.
+// 오래된 멱등성 키도 함께 정리한다.
+@Slf4j
+@Component
+public class TransactionPartitionMaintainer implements SmartLifecycle {
+    static final String FUTURE_PARTITION = "p_future";
+    // 취소 기간(12개월) + 이번 달
+    static final int MIN_RETENTION_MONTHS = 13;
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+    private static final String PARTITIONS_SQL = "select partition_name from information_schema.partitions " +
+            "where table_schema = database() and table_name = 'transaction' and partition_name is not null";
+
+    private final TransactionProperties transactionProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionIdempotencyRepository transactionIdempotencyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicInteger partitionCount = new AtomicInteger();
+
+    private volatile boolean running;
+    private ScheduledExecutorService scheduler;
+
+    public TransactionPartitionMaintainer(TransactionProperties transactionProperties,
+                                          JdbcTemplate jdbcTemplate,
+                                          TransactionIdempotencyRepository transactionIdempotencyRepository,
+                                          PlatformTransactionManager transactionManager,
+                                          MeterRegistry meterRegistry) {
+        this.transactionProperties = transactionProperties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionIdempotencyRepository = transactionIdempotencyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Gauge.builder("transaction.partitions", partitionCount, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    public void maintain() {
+        if (transactionProperties.getPartitioning().isEnabled()) {
+            maintainPartitions();
+        }
+        int retentionDays = transactionProperties.getIdempotency().getRetentionDays();
+        if (retentionDays > 0) {
+            LocalDateTime before = LocalDateTime.now().minusDays(retentionDays);
+            Integer deleted = transactionTemplate.execute(status ->
+                    transactionIdempotencyRepository.deleteTransactedBefore(before));
+            log.debug("expired idempotency keys deleted: {}", deleted);
+        }
+    }
+
+    private void maintainPartitions() {
+        List<String> partitions = jdbcTemplate.queryForList(PARTITIONS_SQL, String.class);
+        if (!partitions.contains(FUTURE_PARTITION)) {
+            log.warn("transaction table has no {} partition. apply db/transaction-partitioning.sql first.",
+                    FUTURE_PARTITION);
+            return;
+        }
+        TransactionProperties.Partitioning partitioning = transactionProperties.getPartitioning();
+        for (String statement : plan(YearMonth.now(), partitions,
+                partitioning.getMonthsAhead(), partitioning.getRetentionMonths())) {
+            log.info("maintaining transaction partitions: {}", statement);
+            jdbcTemplate.execute(statement);
+        }
+        partitionCount.set(jdbcTemplate.queryForList(PARTITIONS_SQL, String.class).size());
+    }
+
+    static List<String> plan(YearMonth current, List<String> partitions, int monthsAhead, int retentionMonths) {
+        List<YearMonth> months = partitions.stream()
+                .filter(name -> !name.equals(FUTURE_PARTITION))
+                .map(name -> YearMonth.parse(name, PARTITION_NAME))
+                .sorted()
+                .toList();
+        List<String> statements = new ArrayList<>();
+
+        // p_future 는 항상 비어있도록 유지하므로 떼어내는 데 데이터 이동이 없다.
+        YearMonth next = months.isEmpty() ? current : months.get(months.size() - 1).plusMonths(1);
+        List<String> added = new ArrayList<>();
+        for (YearMonth month = next; !month.isAfter(current.plusMonths(monthsAhead)); month = month.plusMonths(1)) {
+            added.add(String.format("PARTITION %s VALUES LESS THAN ('%s')",
+                    PARTITION_NAME.format(month), month.plusMonths(1).atDay(1)));
+        }
+        if (!added.isEmpty()) {
+            added.add(String.format("PARTITION %s VALUES LESS THAN (MAXVALUE)", FUTURE_PARTITION));
+            statements.add(String.format("ALTER TABLE `transaction` REORGANIZE PARTITION %s INTO (%s)",
+                    FUTURE_PARTITION, String.join(", ", added)));
+        }
+
+        if (retentionMonths > 0) {
+            YearMonth oldestKept = current.minusMonths(Math.max(retentionMonths, MIN_RETENTION_MONTHS) - 1);
+            String expired = months.stream()
+                    .filter(month -> month.isBefore(oldestKept))
+                    .map(PARTITION_NAME::format)
+                    .collect(Collectors.joining(", "));
+            if (!expired.isEmpty()) {
+                statements.add("ALTER TABLE `transaction` DROP PARTITION " + expired);
+            }
+        }
+        return statements;
+    }
+
+    private void maintainSafely() {
+        try {
+            maintain();
+        } catch (RuntimeException e) {
+            log.error("failed to maintain transaction partitions", e);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "transaction-partition-maintainer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = transactionProperties.getPartitioning().getCheckIntervalMinutes();
+        scheduler.scheduleWithFixedDelay(this::maintainSafely, 0, interval, TimeUnit.MINUTES);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.account.service.password;
+
+import com.example.account.config.PasswordProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// 평문으로 저장된 계좌 비밀번호를 해시로 바꾼다. id 순으로 batchSize 씩 읽어 여러 스레드에서 해시하고,
+// 읽은 값 그대로일 때만 바꾼다. 바뀌기 전까지는 평문끼리 비교하므로 서비스는 계속된다.
+@Slf4j
+@Component
+public class AccountPasswordMigrator {
+    private static final String SELECT_SQL =
+            "select id, account_password from account where id > ? order by id limit ?";
+    private static final String UPDATE_SQL =
+            "update account set account_password = ? where id = ? and account_password = ?";
+
+    private final PasswordProperties passwordProperties;
+    private final AccountPasswordVerifier accountPasswordVerifier;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public AccountPasswordMigrator(PasswordProperties passwordProperties,
+                                   AccountPasswordVerifier accountPasswordVerifier,
+                                   JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager) {
+        this.passwordProperties = passwordProperties;
+        this.accountPasswordVerifier = accountPasswordVerifier;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateInBackground() {
+        if (!passwordProperties.getMigration().isEnabled()) {
+            return;
+        }
+        Thread migration = new Thread(this::migrate, "account-password-migration");
+        migration.setDaemon(true);
+        migration.start();
+    }
+
+    public long migrate() {
+        PasswordProperties.Migration properties = passwordProperties.getMigration();
+        int threads = properties.getThreads() > 0 ? properties.getThreads() : Runtime.getRuntime().availableProcessors();
+        ExecutorService hashers = Executors.newFixedThreadPool(threads);
+        long lastId = 0;
+        long migrated = 0;
+        try {
+            while (true) {
+                List<StoredPassword> page = jdbcTemplate.query(SELECT_SQL,
+                        (resultSet, rowNum) -> new StoredPassword(resultSet.getLong(1), resultSet.getString(2)),
+                        lastId, properties.getBatchSize());
+                if (page.isEmpty()) {
+                    break;
+                }
+                lastId = page.get(page.size() - 1).id;
+
+                List<CompletableFuture<Object[]>> encoded = new ArrayList<>();
+                for (StoredPassword stored : page) {
+                    if (stored.password != null && !accountPasswordVerifier.isEncoded(stored.password)) {
+                        encoded.add(CompletableFuture.supplyAsync(() -> new Object[]{
+                                accountPasswordVerifier.encode(stored.password), stored.id, stored.password
+                        }, hashers));
+                    }
+                }
+                if (encoded.isEmpty()) {
+                    continue;
+                }
+                List<Object[]> updates = encoded.stream().map(CompletableFuture::join).toList();
+                // auto-commit 이 꺼진 풀(ledger 프로파일)에서도 커밋되도록 페이지마다 트랜잭션을 연다.
+                int[] results = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(UPDATE_SQL, updates));
+                for (int updated : results) {
+                    migrated += Math.max(updated, 0);
+                }
+                log.info("account passwords migrated: {}, last account id: {}", migrated, lastId);
+            }
+        } catch (RuntimeException e) {
+            log.error("account password migration stopped. migrated: {}, last account id: {}", migrated, lastId, e);
+            throw e;
+        } finally {
+            hashers.shutdown();
+        }
+        log.info("account password migration finished. migrated: {}", migrated);
+        return migrated;
+    }
+
+    private static final class StoredPassword {
+        private final long id;
+        private final String password;
+
+        private StoredPassword(long id, String password) {
+            this.id = id;
+            this.password = password;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.account.service.password;
+
+import com.example.account.config.PasswordProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.function.Supplier;
+
+// 계좌 비밀번호 해시 저장/검증. 검증마다 느린 해시를 계산하지 않도록 최근 성공한 검증을 잠깐 기억한다.
+// 캐시 키는 (계좌 id, 비밀번호의 HMAC) 이며, HMAC 키는 기동할 때마다 새로 만들어 메모리에만 둔다.
+@Component
+public class AccountPasswordVerifier {
+    private static final String DIGEST_ALGORITHM = "HmacSHA256";
+
+    private final PasswordEncoder passwordEncoder;
+    private final Cache<String, Boolean> verified;
+    private final ThreadLocal<Mac> digests;
+    private final Counter hashCounter;
+
+    public AccountPasswordVerifier(PasswordEncoder passwordEncoder,
+                                   PasswordProperties passwordProperties,
+                                   MeterRegistry meterRegistry) {
+        PasswordProperties.VerificationCache cache = passwordProperties.getVerificationCache();
+        this.passwordEncoder = passwordEncoder;
+        if (cache.isEnabled()) {
+            this.verified = Caffeine.newBuilder()
+                    .maximumSize(cache.getMaximumSize())
+                    .expireAfterWrite(Duration.ofSeconds(cache.getExpireSeconds()))
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, verified, "accountPasswordVerification");
+        } else {
+            this.verified = null;
+        }
+
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        SecretKeySpec secretKey = new SecretKeySpec(key, DIGEST_ALGORITHM);
+        this.digests = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(DIGEST_ALGORITHM);
+                mac.init(secretKey);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        this.hashCounter = meterRegistry.counter("account.password.hash.verifications");
+    }
+
+    public String encode(String rawPassword) {
+        return passwordEncoder.encode(rawPassword);
+    }
+
+    // 저장된 비밀번호는 캐시에 없을 때만 읽는다.
+    public boolean matches(Long accountId, String rawPassword, Supplier<String> storedPassword) {
+        if (rawPassword == null) {
+            return false;
+        }
+        String key = verified == null || accountId == null ? null : accountId + ":" + digest(rawPassword);
+        if (key != null && verified.getIfPresent(key) != null) {
+            return true;
+        }
+        String stored = storedPassword.get();
+        hashCounter.increment();
+        if (stored == null || !passwordEncoder.matches(rawPassword, stored)) {
+            return false;
+        }
+        if (key != null) {
+            verified.put(key, Boolean.TRUE);
+        }
+        return true;
+    }
+
+    public boolean isEncoded(String storedPassword) {
+        return storedPassword != null && storedPassword.startsWith("{");
+    }
+
+    private String digest(String rawPassword) {
+        return Base64.getEncoder().withoutPadding().encodeToString(
+                digests.get().doFinal(rawPassword.getBytes(StandardCharsets.UTF_8)));
+    }
+}
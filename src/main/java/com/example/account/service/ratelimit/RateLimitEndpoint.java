@@ -0,0 +1,35 @@
+package com.example.account.service.ratelimit;
+
+import com.example.account.config.RateLimitProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// GET /actuator/ratelimits, POST /actuator/ratelimits/{endpoint}
+// {"userCapacity": 20, "userRefillPerSecond": 10, "accountCapacity": 10, "accountRefillPerSecond": 5}
+@Component
+@Endpoint(id = "ratelimits")
+@RequiredArgsConstructor
+public class RateLimitEndpoint {
+    private final TransactionRateLimiter transactionRateLimiter;
+
+    @ReadOperation
+    public Map<String, RateLimitProperties.Limit> limits() {
+        return transactionRateLimiter.getLimits();
+    }
+
+    @WriteOperation
+    public RateLimitProperties.Limit updateLimit(@Selector String endpoint,
+                                                 int userCapacity, double userRefillPerSecond,
+                                                 int accountCapacity, double accountRefillPerSecond) {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit(
+                userCapacity, userRefillPerSecond, accountCapacity, accountRefillPerSecond);
+        transactionRateLimiter.updateLimit(endpoint, limit);
+        return limit;
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.account.service.ratelimit;
+
+import com.example.account.config.RateLimitProperties;
+import com.example.account.exception.AccountException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import static com.example.account.type.ErrorCode.TOO_MANY_REQUESTS;
+
+// 거래 API 의 사용자/계좌별 토큰 버킷. 저장소를 거치기 전에 호출해 넘친 요청을 바로 거절한다.
+// 버킷은 키 해시로 나눈 stripe 마다 잠금 하나와 LRU 맵 하나에 둔다. 한도는 버킷이 아니라
+// 엔드포인트별로 들고 있어, 한도를 바꾸면 기존 버킷에도 다음 요청부터 적용된다.
+@Component
+public class TransactionRateLimiter {
+    private final boolean enabled;
+    private final Stripe[] stripes;
+    private final int mask;
+    private final LongSupplier nanoTime;
+    private final Map<String, RateLimitProperties.Limit> limits;
+    private final MeterRegistry meterRegistry;
+
+    public TransactionRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    TransactionRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.enabled = properties.isEnabled();
+        int stripeCount = Integer.highestOneBit(Math.max(1, properties.getStripes() - 1)) << 1;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(properties.getMaxBucketsPerStripe());
+        }
+        this.mask = stripeCount - 1;
+        this.nanoTime = nanoTime;
+        this.limits = new ConcurrentHashMap<>(properties.getEndpoints());
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void acquire(String endpoint, Long userId, String accountNumber) {
+        if (!enabled) {
+            return;
+        }
+        RateLimitProperties.Limit limit = limits.get(endpoint);
+        if (limit == null) {
+            return;
+        }
+        String userKey = endpoint + ":u:" + userId;
+        if (userId != null
+                && !tryAcquire(userKey, limit.getUserCapacity(), limit.getUserRefillPerSecond())) {
+            reject(endpoint, "user");
+        }
+        if (accountNumber != null && !tryAcquire(endpoint + ":a:" + accountNumber,
+                limit.getAccountCapacity(), limit.getAccountRefillPerSecond())) {
+            // 계좌에서 거절되면 사용자 버킷에서 가져간 토큰은 돌려준다.
+            if (userId != null) {
+                release(userKey, limit.getUserCapacity());
+            }
+            reject(endpoint, "account");
+        }
+    }
+
+    public Map<String, RateLimitProperties.Limit> getLimits() {
+        return Map.copyOf(limits);
+    }
+
+    public void updateLimit(String endpoint, RateLimitProperties.Limit limit) {
+        limits.put(endpoint, limit);
+    }
+
+    private boolean tryAcquire(String key, int capacity, double refillPerSecond) {
+        if (capacity <= 0) {
+            return true;
+        }
+        Stripe stripe = stripeFor(key);
+        long now = nanoTime.getAsLong();
+        stripe.lock.lock();
+        try {
+            TokenBucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = new TokenBucket(capacity, now);
+                stripe.buckets.put(key, bucket);
+            }
+            bucket.refill(capacity, refillPerSecond, now);
+            if (bucket.tokens < 1) {
+                return false;
+            }
+            bucket.tokens -= 1;
+            return true;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private void release(String key, int capacity) {
+        if (capacity <= 0) {
+            return;
+        }
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            TokenBucket bucket = stripe.buckets.get(key);
+            if (bucket != null) {
+                bucket.tokens = Math.min(capacity, bucket.tokens + 1);
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private void reject(String endpoint, String keyType) {
+        Counter.builder("transaction.rate.limited")
+                .tag("endpoint", endpoint)
+                .tag("key", keyType)
+                .register(meterRegistry)
+                .increment();
+        throw new AccountException(TOO_MANY_REQUESTS);
+    }
+
+    private Stripe stripeFor(String key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & mask];
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, TokenBucket> buckets;
+
+        private Stripe(int maxBuckets) {
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+                    return size() > maxBuckets;
+                }
+            };
+        }
+    }
+
+    private static final class TokenBucket {
+        private double tokens;
+        private long refilledAt;
+
+        private TokenBucket(int capacity, long now) {
+            this.tokens = capacity;
+            this.refilledAt = now;
+        }
+
+        private void refill(int capacity, double refillPerSecond, long now) {
+            long elapsed = now - refilledAt;
+            if (elapsed > 0) {
+                tokens = Math.min(capacity, tokens + elapsed * refillPerSecond / 1_000_000_000d);
+                refilledAt = now;
+            }
+        }
+    }
+}
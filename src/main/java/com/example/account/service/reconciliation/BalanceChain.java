@@ -0,0 +1,44 @@
+package com.example.account.service.reconciliation;
+
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+
+import static com.example.account.type.TransactionType.USE;
+
+// 한 계좌의 성공 거래를 시간 순으로 받아 잔액 스냅샷이 이어지는지 확인한다.
+// 계좌 개설 시 초기 잔액은 거래로 남지 않으므로 첫 성공 거래의 스냅샷에서 시작한다.
+// 어긋난 곳은 한 번만 보고하고 그 거래의 스냅샷부터 다시 이어서 본다.
+// 실패 거래는 잔액을 바꾸지 않고, 스냅샷도 별도 트랜잭션에서 읽은 값이라 확인하지 않는다.
+class BalanceChain {
+    private final long accountId;
+    private Long balance;
+
+    BalanceChain(long accountId) {
+        this.accountId = accountId;
+    }
+
+    // 스냅샷이 어긋나면 BalanceDrift, 아니면 null
+    BalanceDrift accept(String transactionId, TransactionType type, TransactionResultType result,
+                        long amount, long snapshot) {
+        if (result != TransactionResultType.S) {
+            return null;
+        }
+        BalanceDrift drift = null;
+        if (balance != null) {
+            long expected = type == USE ? balance - amount : balance + amount;
+            if (expected != snapshot) {
+                drift = new BalanceDrift(BalanceDrift.Kind.SNAPSHOT, accountId, transactionId, expected, snapshot);
+            }
+        }
+        balance = snapshot;
+        return drift;
+    }
+
+    // 성공 거래가 없었으면 비교할 수 없어 null
+    BalanceDrift finish(long storedBalance) {
+        if (balance == null || balance == storedBalance) {
+            return null;
+        }
+        return new BalanceDrift(BalanceDrift.Kind.BALANCE, accountId, null, balance, storedBalance);
+    }
+}
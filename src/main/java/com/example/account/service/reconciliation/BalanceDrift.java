@@ -0,0 +1,24 @@
+package com.example.account.service.reconciliation;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class BalanceDrift {
+    public enum Kind {
+        // 직전 거래에 이번 거래 금액을 반영한 값과 스냅샷이 다름
+        SNAPSHOT,
+        // 계좌 잔액이 마지막 성공 거래의 스냅샷과 다름
+        BALANCE
+    }
+
+    private final Kind kind;
+    private final long accountId;
+    // BALANCE 이면 null
+    private final String transactionId;
+    private final long expected;
+    private final long actual;
+}
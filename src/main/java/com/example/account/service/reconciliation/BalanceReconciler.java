@@ -0,0 +1,228 @@
+package com.example.account.service.reconciliation;
+
+import com.example.account.config.ReconciliationProperties;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+
+// 계좌 잔액과 거래의 잔액 스냅샷이 거래 내역과 맞는지 확인한다.
+// 계좌 id 구간을 fork-join 으로 나누고, 구간마다 계좌 잔액을 올린 뒤 거래를 계좌/시간 순 커서로 흘려 읽는다.
+// 메모리는 (작업 수 x accountsPerTask) 개의 계좌 잔액과 fetchSize 만큼의 행으로 제한된다.
+@Slf4j
+@Component
+public class BalanceReconciler implements SmartLifecycle {
+    // 기준 시각 직전에 시작해 늦게 커밋되는 거래를 빼고 읽지 않도록 조금 앞당긴다.
+    static final long SETTLE_SECONDS = 60;
+    private static final String ID_RANGE_SQL = "select min(id), max(id) from account";
+    private static final String ACCOUNTS_SQL = "select id, balance, updated_at from account where id >= ? and id < ?";
+    private static final String TRANSACTIONS_SQL = "select account_id, transaction_id, transaction_type, " +
+            "transaction_result_type, amount, balance_snapshot from `transaction` " +
+            "where account_id >= ? and account_id < ? and transacted_at < ? " +
+            "order by account_id, transacted_at, id";
+
+    private final ReconciliationProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final Counter transactionCounter;
+    private final Counter snapshotDriftCounter;
+    private final Counter balanceDriftCounter;
+    private final Timer reconcileTimer;
+
+    private volatile boolean running;
+    private ScheduledExecutorService scheduler;
+
+    public BalanceReconciler(ReconciliationProperties properties,
+                             JdbcTemplate jdbcTemplate,
+                             MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        // MySQL 은 useCursorFetch 로 fetchSize 만큼씩 읽는다.
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingJdbcTemplate.setFetchSize(properties.getFetchSize());
+        this.transactionCounter = meterRegistry.counter("account.reconciliation.transactions");
+        this.snapshotDriftCounter = meterRegistry.counter("account.reconciliation.drifts", "kind", "snapshot");
+        this.balanceDriftCounter = meterRegistry.counter("account.reconciliation.drifts", "kind", "balance");
+        this.reconcileTimer = meterRegistry.timer("account.reconciliation");
+    }
+
+    public ReconciliationReport reconcile() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusSeconds(SETTLE_SECONDS));
+        long[] idRange = jdbcTemplate.queryForObject(ID_RANGE_SQL,
+                (resultSet, rowNum) -> resultSet.getObject(1) == null
+                        ? null
+                        : new long[]{resultSet.getLong(1), resultSet.getLong(2)});
+        if (idRange == null) {
+            return new ReconciliationReport(properties.getMaxReportedDrifts());
+        }
+
+        long startedAt = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, properties.getParallelism()));
+        ReconciliationReport report;
+        try {
+            report = pool.invoke(new RangeTask(idRange[0], idRange[1] + 1, cutoff));
+        } finally {
+            pool.shutdown();
+        }
+        reconcileTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        transactionCounter.increment(report.getTransactions());
+        snapshotDriftCounter.increment(report.getSnapshotDrifts());
+        balanceDriftCounter.increment(report.getBalanceDrifts());
+
+        for (BalanceDrift drift : report.getDrifts()) {
+            log.warn("balance drift: {}", drift);
+        }
+        log.info("reconciliation finished. accounts: {}, transactions: {}, skipped: {}, " +
+                        "snapshot drifts: {}, balance drifts: {}",
+                report.getAccounts(), report.getTransactions(), report.getSkippedAccounts(),
+                report.getSnapshotDrifts(), report.getBalanceDrifts());
+        return report;
+    }
+
+    ReconciliationReport reconcileRange(long fromId, long toId, Timestamp cutoff) {
+        ReconciliationReport report = new ReconciliationReport(properties.getMaxReportedDrifts());
+        Map<Long, StoredBalance> balances = new HashMap<>();
+        jdbcTemplate.query(ACCOUNTS_SQL, resultSet -> {
+            balances.put(resultSet.getLong(1), new StoredBalance(resultSet.getLong(2), resultSet.getTimestamp(3)));
+        }, fromId, toId);
+        report.countAccounts(balances.size());
+
+        ChainScan scan = new ChainScan(balances, report, cutoff);
+        streamingJdbcTemplate.query(TRANSACTIONS_SQL, scan, fromId, toId, cutoff);
+        scan.finishChain();
+        return report;
+    }
+
+    private void reconcileSafely() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.error("failed to reconcile balances", e);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled() || running) {
+            return;
+        }
+        running = true;
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "balance-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::reconcileSafely,
+                properties.getCheckIntervalMinutes(), properties.getCheckIntervalMinutes(), TimeUnit.MINUTES);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 구간이 accountsPerTask 보다 크면 반으로 나눠 나머지 반을 다른 작업자에게 넘긴다.
+    private final class RangeTask extends RecursiveTask<ReconciliationReport> {
+        private final long fromId;
+        private final long toId;
+        private final Timestamp cutoff;
+
+        private RangeTask(long fromId, long toId, Timestamp cutoff) {
+            this.fromId = fromId;
+            this.toId = toId;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected ReconciliationReport compute() {
+            if (toId - fromId <= Math.max(1, properties.getAccountsPerTask())) {
+                return reconcileRange(fromId, toId, cutoff);
+            }
+            long middle = fromId + (toId - fromId) / 2;
+            RangeTask left = new RangeTask(fromId, middle, cutoff);
+            left.fork();
+            ReconciliationReport right = new RangeTask(middle, toId, cutoff).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    private static final class ChainScan implements RowCallbackHandler {
+        private final Map<Long, StoredBalance> balances;
+        private final ReconciliationReport report;
+        private final Timestamp cutoff;
+        private BalanceChain chain;
+        private long accountId;
+
+        private ChainScan(Map<Long, StoredBalance> balances, ReconciliationReport report, Timestamp cutoff) {
+            this.balances = balances;
+            this.report = report;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        public void processRow(ResultSet resultSet) throws SQLException {
+            long rowAccountId = resultSet.getLong(1);
+            if (chain == null || rowAccountId != accountId) {
+                finishChain();
+                chain = new BalanceChain(rowAccountId);
+                accountId = rowAccountId;
+            }
+            report.countTransaction();
+            report.add(chain.accept(
+                    resultSet.getString(2),
+                    TransactionType.valueOf(resultSet.getString(3)),
+                    TransactionResultType.valueOf(resultSet.getString(4)),
+                    resultSet.getLong(5),
+                    resultSet.getLong(6)));
+        }
+
+        // 기준 시각 이후에 잔액이 바뀐 계좌는 읽은 거래와 시점이 달라 잔액 비교를 건너뛴다.
+        private void finishChain() {
+            if (chain == null) {
+                return;
+            }
+            StoredBalance stored = balances.get(accountId);
+            if (stored == null) {
+                return;
+            }
+            if (stored.updatedAt != null && !stored.updatedAt.before(cutoff)) {
+                report.countSkipped();
+                return;
+            }
+            report.add(chain.finish(stored.balance));
+        }
+    }
+
+    private static final class StoredBalance {
+        private final long balance;
+        private final Timestamp updatedAt;
+
+        private StoredBalance(long balance, Timestamp updatedAt) {
+            this.balance = balance;
+            this.updatedAt = updatedAt;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.account.service.reconciliation;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 작업별로 만들어 합친다. 어긋난 계좌는 앞에서부터 maxDrifts 건까지만 담고 건수는 모두 센다.
+@Getter
+public class ReconciliationReport {
+    private final int maxDrifts;
+    private final List<BalanceDrift> drifts = new ArrayList<>();
+    private long accounts;
+    private long transactions;
+    // 기준 시각 이후에 잔액이 바뀌어 잔액 비교를 건너뛴 계좌
+    private long skippedAccounts;
+    private long snapshotDrifts;
+    private long balanceDrifts;
+
+    ReconciliationReport(int maxDrifts) {
+        this.maxDrifts = maxDrifts;
+    }
+
+    void countAccounts(long count) {
+        accounts += count;
+    }
+
+    void countTransaction() {
+        transactions++;
+    }
+
+    void countSkipped() {
+        skippedAccounts++;
+    }
+
+    void add(BalanceDrift drift) {
+        if (drift == null) {
+            return;
+        }
+        if (drift.getKind() == BalanceDrift.Kind.SNAPSHOT) {
+            snapshotDrifts++;
+        } else {
+            balanceDrifts++;
+        }
+        if (drifts.size() < maxDrifts) {
+            drifts.add(drift);
+        }
+    }
+
+    ReconciliationReport merge(ReconciliationReport other) {
+        accounts += other.accounts;
+        transactions += other.transactions;
+        skippedAccounts += other.skippedAccounts;
+        snapshotDrifts += other.snapshotDrifts;
+        balanceDrifts += other.balanceDrifts;
+        for (BalanceDrift drift : other.drifts) {
+            if (drifts.size() >= maxDrifts) {
+                break;
+            }
+            drifts.add(drift);
+        }
+        return this;
+    }
+}
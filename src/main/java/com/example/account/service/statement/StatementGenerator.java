@@ -0,0 +1,211 @@
+package com.example.account.service.statement;
+
+import com.example.account.config.StatementProperties;
+import com.example.account.domain.StatementCheckpoint;
+import com.example.account.repository.StatementCheckpointRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+// 월별 거래명세서. 계좌 id 구간마다 파일 하나를 만들고, 그 달에 거래가 있는 계좌의 명세서를 담는다.
+// 구간 파일은 .tmp 에 써 내려간 뒤 이름을 바꿔 공개하고 체크포인트를 남기므로,
+// 중간에 죽으면 다시 실행할 때 체크포인트가 없는 구간만 새로 만든다.
+@Slf4j
+@Component
+public class StatementGenerator implements SmartLifecycle {
+    private static final String ID_RANGE_SQL = "select min(id), max(id) from account";
+    private static final String ROWS_SQL = "select t.account_id, a.account_number, t.transaction_id, " +
+            "t.transaction_type, t.transaction_result_type, t.amount, t.balance_snapshot, t.transacted_at " +
+            "from `transaction` t join account a on a.id = t.account_id " +
+            "where t.account_id >= ? and t.account_id < ? and t.transacted_at >= ? and t.transacted_at < ? " +
+            "order by t.account_id, t.transacted_at, t.id";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final StatementProperties properties;
+    private final StatementCheckpointRepository statementCheckpointRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final Counter statementCounter;
+    private final Counter rowCounter;
+    private final Timer rangeTimer;
+
+    private volatile boolean running;
+    private volatile boolean stopped;
+    private ScheduledExecutorService scheduler;
+
+    public StatementGenerator(StatementProperties properties,
+                              StatementCheckpointRepository statementCheckpointRepository,
+                              JdbcTemplate jdbcTemplate,
+                              MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.statementCheckpointRepository = statementCheckpointRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        // MySQL 은 useCursorFetch 로 fetchSize 만큼씩 읽는다.
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingJdbcTemplate.setFetchSize(properties.getFetchSize());
+        // 초당 명세서/행 수는 두 카운터의 rate 로 본다.
+        this.statementCounter = meterRegistry.counter("account.statement.statements");
+        this.rowCounter = meterRegistry.counter("account.statement.rows");
+        this.rangeTimer = meterRegistry.timer("account.statement.ranges");
+    }
+
+    public void generate(YearMonth month) {
+        long[] idRange = jdbcTemplate.queryForObject(ID_RANGE_SQL,
+                (resultSet, rowNum) -> resultSet.getObject(1) == null
+                        ? null
+                        : new long[]{resultSet.getLong(1), resultSet.getLong(2)});
+        if (idRange == null) {
+            return;
+        }
+        Path monthDirectory = Path.of(properties.getDirectory(), month.toString());
+        try {
+            Files.createDirectories(monthDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to create statement directory: " + monthDirectory, e);
+        }
+        Set<Long> completed = statementCheckpointRepository.findByStatementMonth(month.toString()).stream()
+                .map(StatementCheckpoint::getFromAccountId)
+                .collect(Collectors.toSet());
+
+        int workers = Math.max(1, properties.getWorkers());
+        // 큐가 차면 구간을 나눠주는 스레드가 직접 처리하므로 대기 작업은 workers 개를 넘지 않는다.
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workers), runnable -> {
+            Thread thread = new Thread(runnable, "statement-worker");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+
+        LongAdder statements = new LongAdder();
+        LongAdder rows = new LongAdder();
+        List<Future<?>> ranges = new ArrayList<>();
+        long startedAt = System.nanoTime();
+        try {
+            long step = Math.max(1, properties.getAccountsPerFile());
+            for (long from = idRange[0]; from <= idRange[1] && !stopped; from += step) {
+                if (completed.contains(from)) {
+                    continue;
+                }
+                long rangeFrom = from;
+                long rangeTo = from + step;
+                ranges.add(executor.submit(() -> {
+                    StatementCheckpoint checkpoint = writeRange(month, monthDirectory, rangeFrom, rangeTo);
+                    statements.add(checkpoint.getStatements());
+                    rows.add(checkpoint.getTransactionRows());
+                }));
+            }
+            for (Future<?> range : ranges) {
+                range.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("statement generation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("failed to generate statements of " + month, e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        double seconds = Math.max(System.nanoTime() - startedAt, 1) / 1e9;
+        log.info("statements generated. month: {}, ranges: {} (skipped {}), statements: {} ({}/s), rows: {} ({}/s)",
+                month, ranges.size(), completed.size(), statements.sum(),
+                Math.round(statements.sum() / seconds), rows.sum(), Math.round(rows.sum() / seconds));
+    }
+
+    StatementCheckpoint writeRange(YearMonth month, Path monthDirectory, long fromAccountId, long toAccountId) {
+        long startedAt = System.nanoTime();
+        Path target = monthDirectory.resolve(String.format("statements-%d-%d.txt", fromAccountId, toAccountId - 1));
+        Path temp = target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+        StatementWriter statementWriter;
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                statementWriter = new StatementWriter(writer, month);
+                streamingJdbcTemplate.query(ROWS_SQL, statementWriter, fromAccountId, toAccountId,
+                        Timestamp.valueOf(month.atDay(1).atStartOfDay()),
+                        Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay()));
+                statementWriter.finish();
+            }
+            if (statementWriter.getStatements() == 0) {
+                Files.delete(temp);
+            } else {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to write statements: " + target, e);
+        }
+
+        StatementCheckpoint checkpoint = statementCheckpointRepository.save(StatementCheckpoint.builder()
+                .statementMonth(month.toString())
+                .fromAccountId(fromAccountId)
+                .toAccountId(toAccountId)
+                .statements(statementWriter.getStatements())
+                .transactionRows(statementWriter.getRows())
+                .completedAt(LocalDateTime.now())
+                .build());
+        statementCounter.increment(statementWriter.getStatements());
+        rowCounter.increment(statementWriter.getRows());
+        rangeTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        return checkpoint;
+    }
+
+    private void generateLastMonthSafely() {
+        try {
+            generate(YearMonth.now().minusMonths(1));
+        } catch (RuntimeException e) {
+            log.error("failed to generate statements", e);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled() || running) {
+            return;
+        }
+        running = true;
+        stopped = false;
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "statement-generator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::generateLastMonthSafely,
+                0, properties.getCheckIntervalMinutes(), TimeUnit.MINUTES);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        // 남은 구간은 다음 실행에서 체크포인트 이후부터 이어서 만든다.
+        stopped = true;
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.account.service.statement;
+
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.YearMonth;
+
+// 계좌/시간 순으로 읽은 거래를 계좌별 명세서로 바로 써 내려간다. 한 계좌의 거래도 메모리에 모으지 않는다.
+// 시작 잔액은 그 달 첫 성공 거래의 스냅샷에서 거꾸로 계산하므로 명세서 끝에 쓴다.
+class StatementWriter implements RowCallbackHandler {
+    static final String HEADER = "transacted_at,transaction_id,transaction_type,transaction_result_type," +
+            "amount,balance_snapshot";
+
+    private final Writer writer;
+    private final YearMonth month;
+    private long statements;
+    private long rows;
+
+    private boolean open;
+    private long accountId;
+    private Long openingBalance;
+    private Long closingBalance;
+    private long used;
+    private long cancelled;
+
+    StatementWriter(Writer writer, YearMonth month) {
+        this.writer = writer;
+        this.month = month;
+    }
+
+    @Override
+    public void processRow(ResultSet resultSet) throws SQLException {
+        long rowAccountId = resultSet.getLong("account_id");
+        try {
+            if (!open || rowAccountId != accountId) {
+                finish();
+                start(rowAccountId, resultSet.getString("account_number"));
+            }
+            TransactionType type = TransactionType.valueOf(resultSet.getString("transaction_type"));
+            TransactionResultType result = TransactionResultType.valueOf(
+                    resultSet.getString("transaction_result_type"));
+            long amount = resultSet.getLong("amount");
+            long snapshot = resultSet.getLong("balance_snapshot");
+            writer.write(resultSet.getTimestamp("transacted_at").toLocalDateTime() + ","
+                    + resultSet.getString("transaction_id") + "," + type + "," + result + ","
+                    + amount + "," + snapshot + "\n");
+            rows++;
+            if (result == TransactionResultType.S) {
+                if (openingBalance == null) {
+                    openingBalance = type == TransactionType.USE ? snapshot + amount : snapshot - amount;
+                }
+                closingBalance = snapshot;
+                if (type == TransactionType.USE) {
+                    used += amount;
+                } else {
+                    cancelled += amount;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 마지막 계좌의 명세서를 닫는다.
+    void finish() throws IOException {
+        if (!open) {
+            return;
+        }
+        writer.write("# opening_balance=" + format(openingBalance) + " used=" + used
+                + " cancelled=" + cancelled + " closing_balance=" + format(closingBalance) + "\n\n");
+        statements++;
+        open = false;
+    }
+
+    long getStatements() {
+        return statements;
+    }
+
+    long getRows() {
+        return rows;
+    }
+
+    private void start(long accountId, String accountNumber) throws IOException {
+        this.open = true;
+        this.accountId = accountId;
+        this.openingBalance = null;
+        this.closingBalance = null;
+        this.used = 0;
+        this.cancelled = 0;
+        writer.write("# statement " + month + " account " + accountNumber + "\n");
+        writer.write(HEADER + "\n");
+    }
+
+    private static String format(Long balance) {
+        return balance == null ? "-" : String.valueOf(balance);
+    }
+}
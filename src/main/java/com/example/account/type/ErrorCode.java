@@ -7,6 +7,7 @@ import lombok.Getter;
 @AllArgsConstructor
 public enum ErrorCode {
     // 900
+    SERVICE_OVERLOADED(998, "요청이 몰려 지금은 처리할 수 없습니다. 잠시 후 다시 시도해 주세요."),
     VALIDATION_FAILED(999, "잘못된 입력 값입니다."),
     // 10XX : 사용자
     USER_NOT_FOUND(1000,"사용자가 없습니다."),
@@ -21,12 +22,21 @@ public enum ErrorCode {
     ACCOUNT_ALREADY_UNREGISTERED(1105,"계좌가 이미 해지되었습니다."),
     BALANCE_NOT_EMPTY(1106,"잔액이 있는 계좌는 해지할 수 없습니다."),
     AMOUNT_EXCEED_BALANCE(1107,"거래 금액이 잔액보다 큽니다."),
+    ACCOUNT_NUMBER_EXHAUSTED(1108,"더 이상 발급할 수 있는 계좌번호가 없습니다."),
+    INVALID_IMPORT_ROW(1109,"가져올 수 없는 행입니다."),
+    UNSUPPORTED_IMPORT_FORMAT(1110,"지원하지 않는 가져오기 형식입니다. (csv, ndjson)"),
 
     // 12XX : 거래
     TRANSACTION_NOT_FOUND(1200,"해당 거래가 없습니다."),
     TRANSACTION_ACCOUNT_MISMATCH(1201,"이 거래는 해당 계좌에서 발생한 거래가 아닙니다."),
     TRANSACTION_AMOUNT_MISMATCH(1202,"거래금액과 거래 취소금액이 일치하지 않습니다."),
     TOO_OLD_TRANSACTION_TO_CANCEL(1203,"1년이 지난 거래는 취소가 불가능합니다."),
+    TRANSACTION_IN_PROGRESS(1204,"해당 계좌에서 다른 거래가 진행중입니다."),
+    TRANSACTION_PROCESSING_FAILED(1205,"거래 처리 중 오류가 발생했습니다."),
+    INVALID_HISTORY_CURSOR(1206,"잘못된 거래 내역 조회 커서입니다."),
+    INVALID_HISTORY_PERIOD(1207,"조회 시작일이 종료일보다 늦습니다."),
+    IDEMPOTENCY_KEY_REUSED(1208,"이미 다른 거래에 사용된 멱등성 키입니다."),
+    TOO_MANY_REQUESTS(1209,"요청이 너무 많습니다. 잠시 후 다시 시도해 주세요."),
     ;
 
     private final int status;
@@ -0,0 +1,37 @@
+-- transaction 테이블을 transacted_at 기준 월별 RANGE 파티션으로 바꾼다. (MySQL 8)
+-- 적용 후 account.transaction.partitioning.enabled=true 로 켜면
+-- TransactionPartitionMaintainer 가 다음 달 파티션을 미리 만들고 보존 기간이 지난 파티션을 지운다.
+--
+-- 파티션 테이블은
+--  * 외래 키를 가질 수 없다. (Transaction.account 는 NO_CONSTRAINT)
+--  * 모든 unique 키(PK 포함)에 파티션 컬럼이 있어야 한다. (멱등성 키는 transaction_idempotency 테이블)
+
+-- 1. account 외래 키 제거. 이름은 아래로 확인한다.
+-- select constraint_name from information_schema.referential_constraints
+--  where constraint_schema = database() and table_name = 'transaction';
+-- ALTER TABLE `transaction` DROP FOREIGN KEY <constraint_name>;
+
+-- 2. PK 에 파티션 컬럼 추가
+ALTER TABLE `transaction`
+    MODIFY transacted_at DATETIME(6) NOT NULL,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, transacted_at);
+
+-- 3. 월별 파티션. 첫 경계는 가장 오래된 거래에 맞추고, 이번 달까지 만든 뒤 p_future 로 끝낸다.
+--    이후 달은 TransactionPartitionMaintainer 가 p_future 에서 떼어낸다.
+ALTER TABLE `transaction` PARTITION BY RANGE COLUMNS (transacted_at) (
+    PARTITION p202510 VALUES LESS THAN ('2025-11-01'),
+    PARTITION p202511 VALUES LESS THAN ('2025-12-01'),
+    PARTITION p202512 VALUES LESS THAN ('2026-01-01'),
+    PARTITION p202601 VALUES LESS THAN ('2026-02-01'),
+    PARTITION p202602 VALUES LESS THAN ('2026-03-01'),
+    PARTITION p202603 VALUES LESS THAN ('2026-04-01'),
+    PARTITION p202604 VALUES LESS THAN ('2026-05-01'),
+    PARTITION p202605 VALUES LESS THAN ('2026-06-01'),
+    PARTITION p202606 VALUES LESS THAN ('2026-07-01'),
+    PARTITION p202607 VALUES LESS THAN ('2026-08-01'),
+    PARTITION p202608 VALUES LESS THAN ('2026-09-01'),
+    PARTITION p202609 VALUES LESS THAN ('2026-10-01'),
+    PARTITION p202610 VALUES LESS THAN ('2026-11-01'),
+    PARTITION p_future VALUES LESS THAN (MAXVALUE)
+);
@@ -0,0 +1,40 @@
+package com.example.account.config;
+
+import com.example.account.datasource.ConnectionLimitingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ConnectionLimitConfigTest {
+
+    @Test
+    @DisplayName("Hikari 풀은 최대 풀 크기만큼 제한하고, 위임만 하는 DataSource 는 그대로 둠")
+    void postProcessor_LimitsPoolsOnly() {
+        // given
+        BeanPostProcessor postProcessor = ConnectionLimitConfig.connectionLimitingDataSourcePostProcessor(
+                new StaticListableBeanFactory(Map.of("connectionLimitProperties", new ConnectionLimitProperties()))
+                        .getBeanProvider(ConnectionLimitProperties.class));
+        HikariDataSource pool = new HikariDataSource();
+        pool.setMaximumPoolSize(7);
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy();
+        proxy.setTargetDataSource(mock(DataSource.class));
+
+        // when
+        Object limitedPool = postProcessor.postProcessAfterInitialization(pool, "dataSource");
+        Object limitedProxy = postProcessor.postProcessAfterInitialization(proxy, "routingDataSource");
+
+        // then
+        assertEquals(7, assertInstanceOf(ConnectionLimitingDataSource.class, limitedPool).getMaxPermits());
+        assertSame(proxy, limitedProxy);
+        pool.close();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.account.datasource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionLimitingDataSourceTest {
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Test
+    @DisplayName("허가 수를 넘는 커넥션 요청은 제한 시간 후 실패")
+    void getConnection_TimesOutWhenLimitReached() throws SQLException {
+        // given
+        given(dataSource.getConnection()).willReturn(connection);
+        ConnectionLimitingDataSource limitingDataSource = new ConnectionLimitingDataSource(dataSource, 1, 10);
+        limitingDataSource.getConnection();
+
+        // when
+        assertThrows(SQLTransientConnectionException.class, limitingDataSource::getConnection);
+
+        // then
+        assertEquals(0, limitingDataSource.getAvailablePermits());
+        verify(dataSource, times(1)).getConnection();
+    }
+
+    @Test
+    @DisplayName("커넥션을 닫으면 허가를 한 번만 반납")
+    void close_ReleasesPermitOnce() throws SQLException {
+        // given
+        given(dataSource.getConnection()).willReturn(connection);
+        ConnectionLimitingDataSource limitingDataSource = new ConnectionLimitingDataSource(dataSource, 2, 10);
+        Connection borrowed = limitingDataSource.getConnection();
+
+        // when
+        borrowed.close();
+        borrowed.close();
+
+        // then
+        assertEquals(2, limitingDataSource.getAvailablePermits());
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    @DisplayName("커넥션 획득에 실패하면 허가를 반납")
+    void getConnection_ReleasesPermitOnFailure() throws SQLException {
+        // given
+        given(dataSource.getConnection()).willThrow(new SQLException("down"));
+        ConnectionLimitingDataSource limitingDataSource = new ConnectionLimitingDataSource(dataSource, 1, 10);
+
+        // when
+        assertThrows(SQLException.class, limitingDataSource::getConnection);
+
+        // then
+        assertEquals(1, limitingDataSource.getAvailablePermits());
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.account.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 내장 H2 세 개를 primary 와 복제본으로 두고 라우팅을 확인한다.
+class ReplicaRoutingDataSourceTest {
+    private static final String LAG_QUERY = "select lag_seconds from replica_lag";
+    private static final String LAG_COLUMN = "lag_seconds";
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReadReplica replica1;
+    private ReadReplica replica2;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        DataSource primary = database("primary");
+        replica1 = new ReadReplica("replica-0", database("replica-0"));
+        replica2 = new ReadReplica("replica-1", database("replica-1"));
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, List.of(replica1, replica2), 5, meterRegistry));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @Test
+    @DisplayName("@ReplicaRead 로 표시된 readOnly 트랜잭션은 복제본에 번갈아 보내고, 나머지는 primary 로 보냄")
+    void readOnly_RoutedToReplicas() {
+        // given
+        setLag(replica1, 0);
+        setLag(replica2, 1);
+        // when
+        String first = readNode(true);
+        String second = readNode(true);
+        String write = readNode(false);
+        // then
+        assertEquals(List.of("replica-0", "replica-1"), List.of(first, second).stream().sorted().toList());
+        assertEquals("primary", write);
+        assertEquals("primary", jdbcTemplate.queryForObject("select name from node", String.class));
+    }
+
+    @Test
+    @DisplayName("표시되지 않은 readOnly 트랜잭션은 primary 에서 읽음")
+    void readOnly_NotMarked_RoutedToPrimary() {
+        // given
+        setLag(replica1, 0);
+        setLag(replica2, 0);
+        transactionTemplate.setReadOnly(true);
+        // when
+        String node = transactionTemplate.execute(
+                status -> jdbcTemplate.queryForObject("select name from node", String.class));
+        // then
+        assertEquals("primary", node);
+    }
+
+    @Test
+    @DisplayName("지연이 허용 범위를 넘은 복제본은 건너뜀")
+    void readOnly_SkipsStaleReplica() {
+        // given
+        setLag(replica1, 60);
+        setLag(replica2, 0);
+        // when
+        String first = readNode(true);
+        String second = readNode(true);
+        // then
+        assertEquals("replica-1", first);
+        assertEquals("replica-1", second);
+    }
+
+    @Test
+    @DisplayName("모든 복제본이 지연되거나 확인되지 않으면 primary 에서 읽음")
+    void readOnly_FallsBackToPrimary() {
+        // given
+        setLag(replica1, 60);
+        new JdbcTemplate(replica2.getDataSource()).update("drop table replica_lag");
+        replica2.checkLag(LAG_QUERY, LAG_COLUMN);
+        // when
+        String node = readNode(true);
+        // then
+        assertEquals("primary", node);
+        assertEquals(1.0, meterRegistry.get("datasource.replica.fallbacks").counter().count());
+        assertEquals(0.0, meterRegistry.get("datasource.routing.connections")
+                .tag("target", "replica-1").counter().count());
+    }
+
+    private String readNode(boolean readOnly) {
+        transactionTemplate.setReadOnly(readOnly);
+        boolean previous = ReplicaRoutingDataSource.markReplicaRead(true);
+        try {
+            return transactionTemplate.execute(
+                    status -> jdbcTemplate.queryForObject("select name from node", String.class));
+        } finally {
+            ReplicaRoutingDataSource.markReplicaRead(previous);
+        }
+    }
+
+    private static void setLag(ReadReplica replica, long seconds) {
+        new JdbcTemplate(replica.getDataSource()).update("update replica_lag set lag_seconds = ?", seconds);
+        replica.checkLag(LAG_QUERY, LAG_COLUMN);
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table node (name varchar(20))");
+        jdbcTemplate.update("insert into node (name) values (?)", name);
+        jdbcTemplate.execute("create table replica_lag (lag_seconds bigint)");
+        jdbcTemplate.update("insert into replica_lag (lag_seconds) values (0)");
+        return dataSource;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.account.domain;
+
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountUserRepository;
+import com.example.account.repository.TransactionRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+import static com.example.account.type.AccountStatus.IN_USE;
+import static com.example.account.type.TransactionResultType.S;
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:transaction-entity;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database=h2",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "account.password.bcrypt-strength=4"
+})
+class TransactionTest {
+    @Autowired
+    private AccountUserRepository accountUserRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    @DisplayName("정해 둔 거래 시각은 저장 시각으로 덮어쓰지 않음")
+    void save_KeepsTransactedAt() {
+        // given
+        LocalDateTime transactedAt = LocalDateTime.of(2024, 1, 31, 23, 59, 59);
+        Account account = newAccount("1000000012");
+        // when
+        Transaction saved = transactionRepository.save(transaction(account, "transactionId", transactedAt));
+        // then
+        assertEquals(transactedAt, transactionRepository.findById(saved.getId()).orElseThrow().getTransactedAt());
+    }
+
+    @Test
+    @DisplayName("거래 시각이 없으면 저장 시각으로 채움")
+    void save_FillsTransactedAt() {
+        // given
+        LocalDateTime before = LocalDateTime.now();
+        Account account = newAccount("1000000013");
+        // when
+        Transaction saved = transactionRepository.save(transaction(account, "transactionId2", null));
+        // then
+        assertFalse(saved.getTransactedAt().isBefore(before));
+    }
+
+    private Account newAccount(String accountNumber) {
+        AccountUser user = accountUserRepository.save(AccountUser.builder().name("Egg").build());
+        return accountRepository.save(Account.builder()
+                .accountUser(user)
+                .accountNumber(accountNumber)
+                .accountPassword("1234")
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .build());
+    }
+
+    private static Transaction transaction(Account account, String transactionId, LocalDateTime transactedAt) {
+        return Transaction.builder()
+                .account(account)
+                .transactionType(USE)
+                .transactionResultType(S)
+                .amount(1000L)
+                .balanceSnapshot(9000L)
+                .transactionId(transactionId)
+                .transactedAt(transactedAt)
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.account.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestDbTimeFilterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestDbTimeFilter filter = new RequestDbTimeFilter(meterRegistry);
+
+    @Test
+    @DisplayName("요청 중 리포지토리 호출 시간을 합산해 uri 별로 기록")
+    void doFilter_RecordsDbTimePerRequest() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/transaction/use");
+
+        // when
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/transaction/use");
+            RequestDbTime.record(TimeUnit.MILLISECONDS.toNanos(3));
+            RequestDbTime.record(TimeUnit.MILLISECONDS.toNanos(2));
+        });
+
+        // then
+        Timer timer = meterRegistry.get("http.server.requests.db")
+                .tag("uri", "/transaction/use")
+                .timer();
+        assertEquals(1, timer.count());
+        assertEquals(5, timer.totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(2, meterRegistry.get("http.server.requests.db.calls").summary().totalAmount());
+    }
+
+    @Test
+    @DisplayName("요청 밖의 리포지토리 호출은 기록하지 않음")
+    void record_IgnoredOutsideRequest() throws Exception {
+        // given
+        RequestDbTime.record(TimeUnit.MILLISECONDS.toNanos(7));
+
+        // when
+        filter.doFilter(new MockHttpServletRequest("GET", "/account"), new MockHttpServletResponse(),
+                (req, res) -> {
+                });
+
+        // then
+        Timer timer = meterRegistry.get("http.server.requests.db").timer();
+        assertEquals(0, timer.totalTime(TimeUnit.MILLISECONDS), 0.001);
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.account.service;
+
+import com.example.account.config.AccountNumberProperties;
+import com.example.account.dto.AccountDto;
+import com.example.account.repository.AccountNumberSequenceRepository;
+import com.example.account.repository.AccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 시퀀스 행 잠금과 충돌 재시도를 보려면 실제 DB 가 필요하므로 MySQL 모드의 H2 에서 실행한다.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:account-number-allocator;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database=h2",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "account.password.bcrypt-strength=4"
+})
+class AccountNumberAllocatorTest {
+    @Autowired
+    private AccountNumberSequenceRepository accountNumberSequenceRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from account");
+        jdbcTemplate.update("delete from account_user");
+        jdbcTemplate.update("delete from account_number_sequence");
+    }
+
+    private AccountNumberAllocator newAllocator(int blockSize) {
+        AccountNumberProperties properties = new AccountNumberProperties();
+        properties.setBlockSize(blockSize);
+        return new AccountNumberAllocator(accountNumberSequenceRepository, accountRepository,
+                transactionManager, properties);
+    }
+
+    @Test
+    @DisplayName("시퀀스가 없으면 기존 최대 계좌번호 다음부터 발급")
+    void nextAccountNumber_SeedsFromMaxAccountNumber() {
+        // given
+        jdbcTemplate.update("insert into account_user (id, name) values (10, 'Egg')");
+        jdbcTemplate.update("insert into account (account_user_id, account_number, balance, version) " +
+                "values (10, '1000000012', 0, 0)");
+        AccountNumberAllocator allocator = newAllocator(10);
+        // when
+        String accountNumber = allocator.nextAccountNumber();
+        // then
+        assertEquals("1000000013", accountNumber);
+    }
+
+    @Test
+    @DisplayName("재시작해도 이미 예약된 구간의 번호는 다시 발급하지 않음")
+    void nextAccountNumber_NoReuseAfterRestart() {
+        // given
+        AccountNumberAllocator beforeRestart = newAllocator(100);
+        String first = beforeRestart.nextAccountNumber();
+        // when
+        AccountNumberAllocator afterRestart = newAllocator(100);
+        String second = afterRestart.nextAccountNumber();
+        // then
+        assertEquals("1000000000", first);
+        assertEquals("1000000100", second);
+        assertEquals(1_000_000_200L, jdbcTemplate.queryForObject(
+                "select next_value from account_number_sequence where name = ?", Long.class,
+                AccountNumberAllocator.SEQUENCE_NAME));
+    }
+
+    @Test
+    @DisplayName("시퀀스 행이 없을 때 두 인스턴스가 동시에 발급해도 계좌번호가 중복되지 않음")
+    void nextAccountNumber_TwoInstancesConcurrently_Unique() throws Exception {
+        // given
+        List<AccountNumberAllocator> instances = List.of(newAllocator(5), newAllocator(5));
+        int threads = 16;
+        int numbersPerThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<String>>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            AccountNumberAllocator allocator = instances.get(i % instances.size());
+            futures.add(executor.submit(() -> {
+                start.await();
+                List<String> accountNumbers = new ArrayList<>();
+                for (int j = 0; j < numbersPerThread; j++) {
+                    accountNumbers.add(allocator.nextAccountNumber());
+                }
+                return accountNumbers;
+            }));
+        }
+        // when
+        start.countDown();
+        Set<String> accountNumbers = ConcurrentHashMap.newKeySet();
+        for (Future<List<String>> future : futures) {
+            accountNumbers.addAll(future.get(60, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        // then
+        assertEquals(threads * numbersPerThread, accountNumbers.size());
+    }
+
+    @Test
+    @DisplayName("수천 개의 계좌를 동시에 생성해도 계좌번호가 중복되지 않음")
+    void createAccount_Concurrently_UniqueAccountNumbers() throws Exception {
+        // given
+        // 사용자당 최대 계좌 수(10) 를 넘지 않도록 스레드마다 사용자를 나눠 쓴다.
+        int threads = 16;
+        int accountsPerThread = 125;
+        for (int i = 0; i < threads * 100; i += 100) {
+            for (int k = 0; k < (accountsPerThread + 9) / 10; k++) {
+                jdbcTemplate.update("insert into account_user (id, name) values (?, 'Egg')", i + k + 1);
+            }
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            long firstUserId = i * 100L + 1;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < accountsPerThread; j++) {
+                    AccountDto accountDto = accountService.createAccount(firstUserId + j / 10, "1234", 0L, "");
+                    assertTrue(accountDto.getAccountNumber().matches("\\d{10}"));
+                }
+                return null;
+            }));
+        }
+        // when
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        // then
+        assertEquals(threads * accountsPerThread, jdbcTemplate.queryForObject(
+                "select count(distinct account_number) from account", Integer.class));
+    }
+}
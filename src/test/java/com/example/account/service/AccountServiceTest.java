@@ -1,22 +1,30 @@
 package com.example.account.service;
 
+import com.example.account.config.PasswordConfig;
+import com.example.account.config.PasswordProperties;
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
 import com.example.account.dto.AccountDto;
 import com.example.account.exception.AccountException;
 import com.example.account.repository.AccountRepository;
 import com.example.account.repository.AccountUserRepository;
+import com.example.account.service.ledger.LedgerEngine;
+import com.example.account.service.password.AccountPasswordVerifier;
 import com.example.account.type.AccountStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -25,6 +33,8 @@ import static com.example.account.type.ErrorCode.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -36,14 +46,24 @@ class AccountServiceTest {
     @Mock
     private AccountUserRepository accountUserRepository;
 
+    @Mock
+    private AccountNumberAllocator accountNumberAllocator;
+
+    @Spy
+    private AccountPasswordVerifier accountPasswordVerifier = new AccountPasswordVerifier(
+            PasswordConfig.createPasswordEncoder(4), new PasswordProperties(), new SimpleMeterRegistry());
+
     @InjectMocks
     private AccountService accountService;
 
+    @Mock
+    private ObjectProvider<LedgerEngine> ledgerEngineProvider;
+
     @Autowired
     private TestEntityManager entityManager;
 
     @Test
-    @DisplayName("id 값을 가장 낮은 값의 다음 값으로 부여하여 계좌 생성")
+    @DisplayName("계좌번호 발급기에서 받은 번호로 계좌 생성")
     void createAccount_Success() {
         // given
         AccountUser accountUser = AccountUser.builder()
@@ -52,11 +72,8 @@ class AccountServiceTest {
                 .build();
         given(accountUserRepository.findById(anyLong()))
                 .willReturn(Optional.of(accountUser));
-        given(accountRepository.findFirstByOrderByIdDesc())
-                .willReturn(Optional.of(Account.builder()
-                                .accountUser(accountUser)
-                                .accountNumber("1000000012")
-                                .build()));
+        given(accountNumberAllocator.nextAccountNumber())
+                .willReturn("1000000013");
         given(accountRepository.save(any()))
                 .willReturn(Account.builder()
                         .accountUser(accountUser)
@@ -86,11 +103,8 @@ class AccountServiceTest {
 
         given(accountUserRepository.findById(anyLong()))
                 .willReturn(Optional.of(accountUser));
-        given(accountRepository.findFirstByOrderByIdDesc())
-                .willReturn(Optional.of(Account.builder()
-                        .accountUser(accountUser)
-                        .accountNumber("1000000012")
-                        .build()));
+        given(accountNumberAllocator.nextAccountNumber())
+                .willReturn("1000000013");
         given(accountRepository.save(any()))
                 .willReturn(Account.builder()
                         .accountUser(accountUser)
@@ -125,11 +139,8 @@ class AccountServiceTest {
 
         given(accountUserRepository.findById(anyLong()))
                 .willReturn(Optional.of(accountUser));
-        given(accountRepository.findFirstByOrderByIdDesc())
-                .willReturn(Optional.of(Account.builder()
-                        .accountUser(accountUser)
-                        .accountNumber("1000000012")
-                        .build()));
+        given(accountNumberAllocator.nextAccountNumber())
+                .willReturn("1000000013");
         given(accountRepository.save(any()))
                 .willReturn(Account.builder()
                         .accountUser(accountUser)
@@ -231,6 +242,38 @@ class AccountServiceTest {
         assertEquals(AccountStatus.UNREGISTERED, captor.getValue().getAccountStatus());
     }
 
+    @Test
+    @DisplayName("원장 엔진 - DB 잔액 대신 원장 파티션에서 잔액 확인과 해지")
+    void deleteAccount_Ledger() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .id(12L)
+                .name("Egg")
+                .build();
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(Account.builder()
+                                .accountUser(user)
+                                .accountNumber("1000000012")
+                                .accountPassword("1234")
+                                .balance(1000L)
+                        .build()));
+        LedgerEngine ledgerEngine = mock(LedgerEngine.class);
+        LocalDateTime unRegisteredAt = LocalDateTime.now();
+        given(ledgerEngineProvider.getIfAvailable())
+                .willReturn(ledgerEngine);
+        given(ledgerEngine.unregister("1000000012"))
+                .willReturn(unRegisteredAt);
+        // when
+        AccountDto accountDto = accountService.deleteAccount(
+                1L,"1000000012","1234");
+        // then
+        verify(accountRepository, never()).save(any());
+        assertEquals(unRegisteredAt, accountDto.getUnRegisteredAt());
+        assertEquals(0L, accountDto.getBalance());
+    }
+
     @Test
     @DisplayName("해당 유저 없음 - 계좌 해지 실패")
     void deleteAccount_UserNotFound() {
@@ -372,21 +415,21 @@ class AccountServiceTest {
                 .id(10L)
                 .name("Egg")
                 .build();
-        List<Account> accounts = Arrays.asList(
-                Account.builder()
-                        .accountUser(user)
+        List<AccountDto> accounts = Arrays.asList(
+                AccountDto.builder()
+                        .userId(user.getId())
                         .accountNumber("1111111111")
                         .balance(1000L)
                         .accountName("Egg")
                         .build(),
-                Account.builder()
-                        .accountUser(user)
+                AccountDto.builder()
+                        .userId(user.getId())
                         .accountNumber("2222222222")
                         .balance(2000L)
                         .accountName("EggName")
                         .build(),
-                Account.builder()
-                        .accountUser(user)
+                AccountDto.builder()
+                        .userId(user.getId())
                         .accountNumber("3333333333")
                         .balance(3000L)
                         .accountName("Egg")
@@ -394,7 +437,7 @@ class AccountServiceTest {
         );
         given(accountUserRepository.findById(anyLong()))
                 .willReturn(Optional.of(user));
-        given(accountRepository.findByAccountUser(any()))
+        given(accountRepository.findAccountDtosByUserId(anyLong()))
                 .willReturn(accounts);
         // when
         List<AccountDto> accountDtos = accountService.getAccountsInfoByUserId(1L);
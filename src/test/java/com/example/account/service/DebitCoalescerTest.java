@@ -0,0 +1,135 @@
+package com.example.account.service;
+
+import com.example.account.config.TransactionProperties;
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.TransactionResult;
+import com.example.account.dto.UseBalance;
+import com.example.account.exception.AccountException;
+import com.example.account.service.concurrency.AdaptiveConcurrencyLimiter;
+import com.example.account.service.concurrency.TransactionServiceLatencyAspect;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static com.example.account.type.ErrorCode.AMOUNT_EXCEED_BALANCE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class DebitCoalescerTest {
+    @Mock
+    private TransactionBatchService transactionBatchService;
+
+    @Mock
+    private AdaptiveConcurrencyLimiter limiter;
+
+    private DebitCoalescer debitCoalescer;
+
+    private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        TransactionProperties properties = new TransactionProperties();
+        properties.getCoalescing().setEnabled(true);
+        properties.getCoalescing().setWindowMicros(5000);
+        debitCoalescer = new DebitCoalescer(transactionBatchService, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("같은 계좌의 동시 요청을 묶어 처리하고 각자 자기 결과를 받음")
+    void useBalance_CoalescesConcurrentRequests() throws Exception {
+        // given
+        given(transactionBatchService.useBalanceForAccount(eq("1000000012"), anyList()))
+                .willAnswer(invocation -> {
+                    List<UseBalance.Request> requests = invocation.getArgument(1);
+                    batchSizes.add(requests.size());
+                    Thread.sleep(20);
+                    return requests.stream()
+                            .map(request -> TransactionResult.success(TransactionDto.builder()
+                                    .accountNumber(request.getAccountNumber())
+                                    .amount(request.getAmount())
+                                    .build()))
+                            .toList();
+                });
+        int clients = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // when
+        List<Future<TransactionDto>> futures = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            long amount = 1000L + i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                return debitCoalescer.useBalance(request(amount));
+            }));
+        }
+        start.countDown();
+
+        // then
+        for (int i = 0; i < clients; i++) {
+            assertEquals(1000L + i, futures.get(i).get(5, TimeUnit.SECONDS).getAmount());
+        }
+        executor.shutdown();
+        assertEquals(clients, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.size() < clients);
+    }
+
+    @Test
+    @DisplayName("묶음 안에서 실패한 요청은 해당 ErrorCode 로 실패")
+    void useBalance_ItemFailure() {
+        // given
+        given(transactionBatchService.useBalanceForAccount(eq("1000000012"), anyList()))
+                .willReturn(List.of(TransactionResult.failure(AMOUNT_EXCEED_BALANCE)));
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> debitCoalescer.useBalance(request(1000L)));
+
+        // then
+        assertEquals(AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("묶음 처리 경로도 요청마다 동시 처리 제한기에 지연 표본을 넘김")
+    void useBalance_SamplesLatencyForLimiter() {
+        // given
+        given(transactionBatchService.useBalanceForAccount(eq("1000000012"), anyList()))
+                .willReturn(List.of(TransactionResult.success(TransactionDto.builder().amount(1000L).build())));
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(debitCoalescer);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new TransactionServiceLatencyAspect(limiter));
+        DebitCoalescer proxy = proxyFactory.getProxy();
+
+        // when
+        proxy.useBalance(request(1000L));
+        proxy.isEnabled();
+
+        // then
+        verify(limiter, times(1)).onSample(anyLong());
+    }
+
+    private static UseBalance.Request request(long amount) {
+        return UseBalance.Request.builder()
+                .userId(10L)
+                .accountNumber("1000000012")
+                .accountPassword("1234")
+                .amount(amount)
+                .build();
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.account.service;
+
+import com.example.account.config.TransactionProperties;
+import com.example.account.domain.Account;
+import com.example.account.domain.Transaction;
+import com.example.account.domain.TransactionIdempotency;
+import com.example.account.dto.TransactionDto;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.TransactionIdempotencyRepository;
+import com.example.account.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.account.type.ErrorCode.AMOUNT_EXCEED_BALANCE;
+import static com.example.account.type.ErrorCode.IDEMPOTENCY_KEY_REUSED;
+import static com.example.account.type.TransactionResultType.S;
+import static com.example.account.type.TransactionType.CANCEL;
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+    @Mock
+    private TransactionIdempotencyRepository transactionIdempotencyRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(
+                transactionIdempotencyRepository, transactionRepository, new TransactionProperties(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("같은 키의 재시도는 거래를 다시 실행하지 않고 처음 결과를 반환")
+    void execute_ReplayFromCache() {
+        // given
+        AtomicInteger executions = new AtomicInteger();
+
+        // when
+        TransactionDto first = idempotencyService.execute("key-1", USE, "1000000012", 1000L, () -> {
+            executions.incrementAndGet();
+            return useTransaction("1000000012", 1000L);
+        });
+        TransactionDto retry = idempotencyService.execute("key-1", USE, "1000000012", 1000L, () -> {
+            executions.incrementAndGet();
+            return useTransaction("1000000012", 1000L);
+        });
+
+        // then
+        assertEquals(1, executions.get());
+        assertSame(first, retry);
+    }
+
+    @Test
+    @DisplayName("캐시에 없는 키가 DB 에 이미 있으면(unique 위반) 처음 거래로 응답")
+    void execute_ReplayFromDatabase() {
+        // given
+        LocalDateTime transactedAt = LocalDateTime.now();
+        given(transactionIdempotencyRepository.findById("key-1"))
+                .willReturn(Optional.of(TransactionIdempotency.builder()
+                        .idempotencyKey("key-1")
+                        .transactionId("transactionId")
+                        .transactedAt(transactedAt)
+                        .build()));
+        given(transactionRepository.findByTransactionIdAndTransactedAtBetween(
+                "transactionId", transactedAt.minusSeconds(1), transactedAt.plusSeconds(1)))
+                .willReturn(Optional.of(Transaction.builder()
+                        .account(Account.builder().accountNumber("1000000012").build())
+                        .transactionType(USE)
+                        .transactionResultType(S)
+                        .transactionId("transactionId")
+                        .amount(1000L)
+                        .balanceSnapshot(9000L)
+                        .transactedAt(transactedAt)
+                        .build()));
+
+        // when
+        TransactionDto transactionDto = idempotencyService.execute("key-1", USE, "1000000012", 1000L, () -> {
+            throw new DataIntegrityViolationException("duplicate idempotency key");
+        });
+
+        // then
+        assertEquals("transactionId", transactionDto.getTransactionId());
+        assertEquals(9000L, transactionDto.getBalanceSnapshot());
+    }
+
+    @Test
+    @DisplayName("처음 반영된 거래가 없으면 실패를 그대로 전달")
+    void execute_FailureWithoutOriginal() {
+        // given
+        given(transactionIdempotencyRepository.findById("key-1"))
+                .willReturn(Optional.empty());
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> idempotencyService.execute("key-1", USE, "1000000012", 1000L, () -> {
+                    throw new AccountException(AMOUNT_EXCEED_BALANCE);
+                }));
+
+        // then
+        assertEquals(AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("다른 거래에 쓰인 키로 요청 - 실패 응답")
+    void execute_KeyReused() {
+        // given
+        idempotencyService.execute("key-1", USE, "1000000012", 1000L,
+                () -> useTransaction("1000000012", 1000L));
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> idempotencyService.execute("key-1", CANCEL, "1000000012", 1000L,
+                        () -> useTransaction("1000000012", 1000L)));
+
+        // then
+        assertEquals(IDEMPOTENCY_KEY_REUSED, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("묶음 처리용 조회는 반영된 키만 처음 결과로 돌려주고, 다른 요청에 쓴 키는 거절")
+    void findResponse() {
+        // given
+        TransactionDto original = useTransaction("1000000012", 1000L);
+
+        // when
+        Optional<TransactionDto> beforeCommit = idempotencyService.findResponse("key-1", USE, "1000000012", 1000L);
+        idempotencyService.remember("key-1", original);
+        Optional<TransactionDto> afterCommit = idempotencyService.findResponse("key-1", USE, "1000000012", 1000L);
+        AccountException exception = assertThrows(AccountException.class,
+                () -> idempotencyService.findResponse("key-1", USE, "1000000012", 2000L));
+
+        // then
+        assertTrue(beforeCommit.isEmpty());
+        assertSame(original, afterCommit.orElseThrow());
+        assertEquals(IDEMPOTENCY_KEY_REUSED, exception.getErrorCode());
+    }
+
+    private static TransactionDto useTransaction(String accountNumber, Long amount) {
+        return TransactionDto.builder()
+                .accountNumber(accountNumber)
+                .transactionType(USE)
+                .transactionResultType(S)
+                .transactionId("transactionId")
+                .amount(amount)
+                .build();
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.account.service;
+
+import com.example.account.config.PasswordConfig;
+import com.example.account.config.PasswordProperties;
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.domain.TransactionIdempotency;
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.TransactionResult;
+import com.example.account.dto.UseBalance;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountUserRepository;
+import com.example.account.repository.TransactionIdempotencyRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.service.id.TransactionIdGenerator;
+import com.example.account.service.ledger.LedgerEngine;
+import com.example.account.service.lock.BalanceLockStrategy;
+import com.example.account.service.password.AccountPasswordVerifier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static com.example.account.type.AccountStatus.IN_USE;
+import static com.example.account.type.ErrorCode.*;
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionBatchServiceTest {
+    @InjectMocks
+    private TransactionBatchService transactionBatchService;
+
+    @Mock
+    private ObjectProvider<LedgerEngine> ledgerEngineProvider;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private AccountUserRepository accountUserRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransactionIdempotencyRepository transactionIdempotencyRepository;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    @Mock
+    private TransactionIdGenerator transactionIdGenerator;
+
+    @Mock
+    private BalanceLockStrategy balanceLockStrategy;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private AccountPasswordVerifier accountPasswordVerifier = new AccountPasswordVerifier(
+            PasswordConfig.createPasswordEncoder(4), new PasswordProperties(), new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("계좌별로 한 번만 조회하고, 건별 결과를 요청 순서대로 반환")
+    void useBalance_GroupedByAccount() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .id(10L)
+                .name("Egg")
+                .build();
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountNumber("1000000012")
+                .accountPassword("1234")
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .build();
+        given(balanceLockStrategy.execute(anyString(), any()))
+                .willAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+        given(accountUserRepository.findById(10L))
+                .willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumberForUpdate("1000000012"))
+                .willReturn(Optional.of(account));
+        given(accountRepository.findByAccountNumberForUpdate("1000000099"))
+                .willReturn(Optional.empty());
+        given(transactionIdGenerator.generate())
+                .willReturn("transactionId");
+
+        // when
+        List<TransactionResult> results = transactionBatchService.useBalance(List.of(
+                useRequest("1000000012", 3000L),
+                useRequest("1000000099", 1000L),
+                useRequest("1000000012", 8000L),
+                useRequest("1000000012", 7000L)
+        ));
+
+        // then
+        assertEquals(4, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertEquals(7000L, results.get(0).getTransactionDto().getBalanceSnapshot());
+        assertEquals(ACCOUNT_NOT_FOUND, results.get(1).getErrorCode());
+        assertEquals(AMOUNT_EXCEED_BALANCE, results.get(2).getErrorCode());
+        assertTrue(results.get(3).isSuccess());
+        assertEquals(0L, account.getBalance());
+        verify(accountRepository, times(1)).findByAccountNumberForUpdate("1000000012");
+        verify(transactionRepository, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("한 계좌의 처리 실패는 해당 계좌의 요청만 실패 처리")
+    void useBalance_GroupFailureIsIsolated() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .id(10L)
+                .name("Egg")
+                .build();
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountNumber("1000000012")
+                .accountPassword("1234")
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .build();
+        given(balanceLockStrategy.execute(eq("1000000012"), any()))
+                .willAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+        given(balanceLockStrategy.execute(eq("1000000013"), any()))
+                .willThrow(new AccountException(TRANSACTION_IN_PROGRESS));
+        given(accountUserRepository.findById(10L))
+                .willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumberForUpdate("1000000012"))
+                .willReturn(Optional.of(account));
+
+        // when
+        List<TransactionResult> results = transactionBatchService.useBalance(List.of(
+                useRequest("1000000013", 1000L),
+                useRequest("1000000012", 1000L),
+                useRequest("1000000013", 2000L)
+        ));
+
+        // then
+        assertEquals(TRANSACTION_IN_PROGRESS, results.get(0).getErrorCode());
+        assertTrue(results.get(1).isSuccess());
+        assertEquals(TRANSACTION_IN_PROGRESS, results.get(2).getErrorCode());
+        assertEquals(9000L, account.getBalance());
+    }
+
+    @Test
+    @DisplayName("이미 반영된 멱등성 키는 처음 결과로 응답하고, 나머지 요청은 그대로 반영")
+    void useBalance_DuplicateIdempotencyKey_OnlyThatItemReplayed() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .id(10L)
+                .name("Egg")
+                .build();
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountNumber("1000000012")
+                .accountPassword("1234")
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .build();
+        TransactionDto original = TransactionDto.builder()
+                .accountNumber("1000000012")
+                .transactionType(USE)
+                .transactionId("originalTransactionId")
+                .amount(1000L)
+                .balanceSnapshot(11000L)
+                .build();
+        given(balanceLockStrategy.execute(anyString(), any()))
+                .willAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+        given(accountUserRepository.findById(10L))
+                .willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumberForUpdate("1000000012"))
+                .willReturn(Optional.of(account));
+        given(idempotencyService.findResponse("retried", USE, "1000000012", 1000L))
+                .willReturn(Optional.of(original));
+        given(transactionIdGenerator.generate())
+                .willReturn("transactionId");
+        given(transactionRepository.saveAll(anyList()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        List<TransactionResult> results = transactionBatchService.useBalance(List.of(
+                useRequest("1000000012", 1000L, "retried"),
+                useRequest("1000000012", 2000L, "new"),
+                useRequest("1000000012", 2000L, "new"),
+                useRequest("1000000012", 3000L, null)
+        ));
+
+        // then
+        assertEquals("originalTransactionId", results.get(0).getTransactionDto().getTransactionId());
+        assertEquals(8000L, results.get(1).getTransactionDto().getBalanceSnapshot());
+        assertEquals(8000L, results.get(2).getTransactionDto().getBalanceSnapshot());
+        assertEquals(5000L, results.get(3).getTransactionDto().getBalanceSnapshot());
+        assertEquals(5000L, account.getBalance());
+        ArgumentCaptor<List<TransactionIdempotency>> captor = ArgumentCaptor.forClass(List.class);
+        verify(transactionIdempotencyRepository).saveAll(captor.capture());
+        assertEquals(List.of("new"), captor.getValue().stream().map(TransactionIdempotency::getIdempotencyKey).toList());
+        assertEquals(results.get(1).getTransactionDto().getTransactedAt(), captor.getValue().get(0).getTransactedAt());
+        verify(idempotencyService, times(2)).remember("new", results.get(1).getTransactionDto());
+    }
+
+    private static UseBalance.Request useRequest(String accountNumber, Long amount) {
+        return useRequest(accountNumber, amount, null);
+    }
+
+    private static UseBalance.Request useRequest(String accountNumber, Long amount, String idempotencyKey) {
+        return UseBalance.Request.builder()
+                .userId(10L)
+                .accountNumber(accountNumber)
+                .accountPassword("1234")
+                .amount(amount)
+                .idempotencyKey(idempotencyKey)
+                .build();
+    }
+}
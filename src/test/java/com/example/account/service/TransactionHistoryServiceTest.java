@@ -0,0 +1,147 @@
+package com.example.account.service;
+
+import com.example.account.dto.AccountMetadata;
+import com.example.account.dto.TransactionHistory;
+import com.example.account.dto.TransactionHistoryItem;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.service.archive.TransactionArchive;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static com.example.account.type.AccountStatus.IN_USE;
+import static com.example.account.type.ErrorCode.*;
+import static com.example.account.type.TransactionResultType.S;
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionHistoryServiceTest {
+    @InjectMocks
+    private TransactionHistoryService transactionHistoryService;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransactionArchive transactionArchive;
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    @Test
+    @DisplayName("한 건 더 조회되면 마지막 항목으로 다음 커서를 만들고, 그 커서로 이어서 조회")
+    void getHistory_NextCursor() {
+        // given
+        given(accountRepository.findMetadataByAccountNumber("1000000012"))
+                .willReturn(Optional.of(new AccountMetadata(1L, "1000000012", 10L, IN_USE)));
+        given(transactionRepository.findHistory(eq(1L), any(), any(), any(), any(), eq(Limit.of(3))))
+                .willReturn(List.of(item(30L, NOW), item(20L, NOW), item(10L, NOW.minusHours(1))));
+
+        // when
+        TransactionHistory.Response firstPage = transactionHistoryService.getHistory(
+                "1000000012", null, null, null, 2);
+        transactionHistoryService.getHistory("1000000012", null, null, firstPage.getNextCursor(), 2);
+
+        // then
+        assertEquals(2, firstPage.getItems().size());
+        assertNotNull(firstPage.getNextCursor());
+        verify(transactionRepository).findHistory(
+                eq(1L), any(), any(), eq(NOW), eq(20L), eq(Limit.of(3)));
+    }
+
+    @Test
+    @DisplayName("마지막 페이지면 다음 커서가 없음")
+    void getHistory_LastPage() {
+        // given
+        given(accountRepository.findMetadataByAccountNumber("1000000012"))
+                .willReturn(Optional.of(new AccountMetadata(1L, "1000000012", 10L, IN_USE)));
+        given(transactionRepository.findHistory(eq(1L),
+                eq(LocalDateTime.of(2024, 5, 1, 0, 0)), eq(LocalDateTime.of(2024, 5, 2, 0, 0)),
+                any(), any(), eq(Limit.of(51))))
+                .willReturn(List.of(item(30L, NOW)));
+
+        // when
+        TransactionHistory.Response response = transactionHistoryService.getHistory(
+                "1000000012", LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 1), null, 50);
+
+        // then
+        assertEquals(1, response.getItems().size());
+        assertNull(response.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("DB 에서 모자란 만큼 보관된 거래로 이어서 채움")
+    void getHistory_MergesArchived() {
+        // given
+        LocalDateTime archivedUntil = LocalDateTime.of(2023, 4, 1, 0, 0);
+        given(accountRepository.findMetadataByAccountNumber("1000000012"))
+                .willReturn(Optional.of(new AccountMetadata(1L, "1000000012", 10L, IN_USE)));
+        given(transactionArchive.getArchivedUntil())
+                .willReturn(Optional.of(archivedUntil));
+        given(transactionRepository.findHistory(eq(1L), eq(archivedUntil), any(), any(), any(), eq(Limit.of(3))))
+                .willReturn(List.of(item(30L, NOW)));
+        given(transactionArchive.findHistory(eq(1L), any(), eq(archivedUntil), any(), eq(Long.MAX_VALUE), eq(2)))
+                .willReturn(List.of(item(20L, archivedUntil.minusDays(1)), item(10L, archivedUntil.minusDays(2))));
+
+        // when
+        TransactionHistory.Response response = transactionHistoryService.getHistory(
+                "1000000012", null, null, null, 2);
+
+        // then
+        assertEquals(List.of(30L, 20L), response.getItems().stream().map(TransactionHistoryItem::getId).toList());
+        assertNotNull(response.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("잘못된 커서 - 거래 내역 조회 실패")
+    void getHistory_InvalidCursor() {
+        // given
+        given(accountRepository.findMetadataByAccountNumber("1000000012"))
+                .willReturn(Optional.of(new AccountMetadata(1L, "1000000012", 10L, IN_USE)));
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionHistoryService.getHistory("1000000012", null, null, "not-a-cursor", 50));
+
+        // then
+        assertEquals(INVALID_HISTORY_CURSOR, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("시작일이 종료일보다 늦음 - 거래 내역 조회 실패")
+    void getHistory_InvalidPeriod() {
+        // given
+        given(accountRepository.findMetadataByAccountNumber("1000000012"))
+                .willReturn(Optional.of(new AccountMetadata(1L, "1000000012", 10L, IN_USE)));
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionHistoryService.getHistory("1000000012",
+                        LocalDate.of(2024, 5, 2), LocalDate.of(2024, 5, 1), null, 50));
+
+        // then
+        assertEquals(INVALID_HISTORY_PERIOD, exception.getErrorCode());
+    }
+
+    private static TransactionHistoryItem item(Long id, LocalDateTime transactedAt) {
+        return new TransactionHistoryItem(id, "tx" + id, USE, S, 1000L, 9000L, transactedAt);
+    }
+}
@@ -1,22 +1,34 @@
 package com.example.account.service;
 
+import com.example.account.config.PasswordConfig;
+import com.example.account.config.PasswordProperties;
+import com.example.account.config.TransactionProperties;
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
 import com.example.account.domain.Transaction;
+import com.example.account.dto.AccountMetadata;
 import com.example.account.dto.TransactionDto;
 import com.example.account.exception.AccountException;
 import com.example.account.repository.AccountRepository;
 import com.example.account.repository.AccountUserRepository;
 import com.example.account.repository.TransactionRepository;
+import com.example.account.service.archive.TransactionArchive;
+import com.example.account.service.id.TransactionIdGenerator;
+import com.example.account.service.ledger.LedgerEngine;
+import com.example.account.service.lock.BalanceLockStrategy;
+import com.example.account.service.password.AccountPasswordVerifier;
 import com.example.account.type.AccountStatus;
 import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -36,6 +48,9 @@ class TransactionServiceTest {
     @InjectMocks
     private TransactionService transactionService;
 
+    @Mock
+    private ObjectProvider<LedgerEngine> ledgerEngineProvider;
+
     @Mock
     private TransactionRepository transactionRepository;
 
@@ -45,6 +60,22 @@ class TransactionServiceTest {
     @Mock
     private AccountUserRepository accountUserRepository;
 
+    @Mock
+    private BalanceLockStrategy balanceLockStrategy;
+
+    @Mock
+    private TransactionIdGenerator transactionIdGenerator;
+
+    @Mock
+    private TransactionArchive transactionArchive;
+
+    @Spy
+    private TransactionProperties transactionProperties = new TransactionProperties();
+
+    @Spy
+    private AccountPasswordVerifier accountPasswordVerifier = new AccountPasswordVerifier(
+            PasswordConfig.createPasswordEncoder(4), new PasswordProperties(), new SimpleMeterRegistry());
+
     @Test
     void useBalance_Success() {
         // given
@@ -86,6 +117,37 @@ class TransactionServiceTest {
         assertEquals(1000L,transactionDto.getAmount());
     }
 
+    @Test
+    @DisplayName("비관적 락 전략 - 계좌를 SELECT ... FOR UPDATE 로 조회")
+    void useBalance_RowLockRequired_FindsAccountForUpdate() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .id(10L)
+                .name("Egg")
+                .build();
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountNumber("1000000012")
+                .accountPassword("1234")
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .build();
+        given(balanceLockStrategy.isRowLockRequired())
+                .willReturn(true);
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumberForUpdate(anyString()))
+                .willReturn(Optional.of(account));
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        // when
+        TransactionDto transactionDto = transactionService.useBalance(10L, "1000000012", "1234", 1000L);
+        // then
+        verify(accountRepository, times(0)).findByAccountNumber(anyString());
+        assertEquals(9000L, account.getBalance());
+        assertEquals(9000L, transactionDto.getBalanceSnapshot());
+    }
+
     @Test
     @DisplayName("해당 유저 없음 - 잔액 사용 실패")
     void useBalance_UserNotFound() {
@@ -219,4 +281,174 @@ class TransactionServiceTest {
         verify(transactionRepository, times(0)).save(any());
         assertEquals(AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("조건부 차감 - UPDATE 한 번으로 잔액 사용 성공")
+    void useBalance_ConditionalDebit_Success() {
+        // given
+        transactionProperties.setConditionalDebit(true);
+        given(accountRepository.findMetadataByAccountNumber(anyString()))
+                .willReturn(Optional.of(new AccountMetadata(1L, "1000000012", 10L, IN_USE)));
+        given(accountRepository.useBalanceIfSufficient(anyLong(), anyLong(), anyLong(), any()))
+                .willReturn(1);
+        given(accountRepository.findPasswordById(1L))
+                .willReturn("1234");
+        given(accountRepository.findBalanceById(anyLong()))
+                .willReturn(9000L);
+        given(accountRepository.getReferenceById(anyLong()))
+                .willReturn(Account.builder().id(1L).build());
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        // when
+        TransactionDto transactionDto = transactionService.useBalance(10L, "1000000012", "1234", 1000L);
+        // then
+        verify(accountUserRepository, times(0)).findById(anyLong());
+        verify(accountRepository, times(0)).findByAccountNumber(anyString());
+        assertEquals("1000000012", transactionDto.getAccountNumber());
+        assertEquals(S, transactionDto.getTransactionResultType());
+        assertEquals(1000L, transactionDto.getAmount());
+        assertEquals(9000L, transactionDto.getBalanceSnapshot());
+    }
+
+    @Test
+    @DisplayName("조건부 차감 실패 - 진단 조회로 실패 원인 판별")
+    void useBalance_ConditionalDebit_ExceedAmount() {
+        // given
+        transactionProperties.setConditionalDebit(true);
+        AccountUser user = AccountUser.builder()
+                .id(10L)
+                .name("Egg")
+                .build();
+        given(accountRepository.findMetadataByAccountNumber(anyString()))
+                .willReturn(Optional.of(new AccountMetadata(1L, "1000000012", 10L, IN_USE)));
+        given(accountRepository.findPasswordById(1L))
+                .willReturn("1234");
+        given(accountRepository.useBalanceIfSufficient(anyLong(), anyLong(), anyLong(), any()))
+                .willReturn(0);
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(Account.builder()
+                        .accountUser(user)
+                        .accountStatus(IN_USE)
+                        .balance(1000L)
+                        .accountPassword("1234")
+                        .accountNumber("1000000012")
+                        .build()));
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.useBalance(10L, "1000000012", "1234", 10000L));
+        // then
+        verify(transactionRepository, times(0)).save(any());
+        assertEquals(AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("조건부 차감 - 비밀번호가 다르면 진단 조회 없이 실패")
+    void useBalance_ConditionalDebit_PasswordMismatch() {
+        // given
+        transactionProperties.setConditionalDebit(true);
+        given(accountRepository.findMetadataByAccountNumber(anyString()))
+                .willReturn(Optional.of(new AccountMetadata(1L, "1000000012", 10L, IN_USE)));
+        given(accountRepository.findPasswordById(1L))
+                .willReturn("1234");
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.useBalance(10L, "1000000012", "4321", 1000L));
+        // then
+        verify(accountRepository, times(0)).useBalanceIfSufficient(anyLong(), anyLong(), anyLong(), any());
+        verify(accountRepository, times(0)).findByAccountNumber(anyString());
+        assertEquals(ACCOUNT_PASSWORD_MISMATCH, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("조건부 차감 - 캐시된 소유주가 다르면 UPDATE 없이 실패")
+    void useBalance_ConditionalDebit_CachedOwnerMismatch() {
+        // given
+        transactionProperties.setConditionalDebit(true);
+        AccountUser user1 = AccountUser.builder()
+                .id(10L)
+                .name("Egg")
+                .build();
+        AccountUser user2 = AccountUser.builder()
+                .id(11L)
+                .name("Chicken")
+                .build();
+        given(accountRepository.findMetadataByAccountNumber(anyString()))
+                .willReturn(Optional.of(new AccountMetadata(1L, "1000000012", 11L, IN_USE)));
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(user1));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(Account.builder()
+                        .accountUser(user2)
+                        .accountStatus(IN_USE)
+                        .balance(10000L)
+                        .accountPassword("1234")
+                        .accountNumber("1000000012")
+                        .build()));
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.useBalance(10L, "1000000012", "1234", 1000L));
+        // then
+        verify(accountRepository, times(0)).useBalanceIfSufficient(anyLong(), anyLong(), anyLong(), any());
+        assertEquals(USER_ACCOUNT_MISMATCH, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("취소 대상 거래는 발급 시각 근처의 파티션에서 먼저 조회")
+    void cancelBalance_FindsTargetByIssuedAt() {
+        // given
+        Account account = Account.builder()
+                .id(1L)
+                .accountNumber("1000000012")
+                .accountStatus(IN_USE)
+                .balance(9000L)
+                .build();
+        LocalDateTime issuedAt = LocalDateTime.now().minusMonths(3);
+        given(transactionIdGenerator.issuedAt("transactionId"))
+                .willReturn(Optional.of(issuedAt));
+        given(transactionRepository.findCancelTarget("transactionId", Optional.of(issuedAt)))
+                .willReturn(Optional.of(Transaction.builder()
+                        .account(account)
+                        .transactionType(USE)
+                        .transactionResultType(S)
+                        .amount(1000L)
+                        .balanceSnapshot(9000L)
+                        .transactionId("transactionId")
+                        .transactedAt(issuedAt)
+                        .build()));
+        given(accountRepository.findByAccountNumber("1000000012"))
+                .willReturn(Optional.of(account));
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        // when
+        TransactionDto transactionDto = transactionService.cancelBalance("transactionId", "1000000012", 1000L);
+        // then
+        verify(transactionRepository, times(0)).findByTransactionId(anyString());
+        assertEquals(10000L, transactionDto.getBalanceSnapshot());
+    }
+
+    @Test
+    @DisplayName("보관본으로 옮겨진 거래는 없는 거래가 아니라 기간 초과로 취소 실패")
+    void cancelBalance_ArchivedTransaction_TooOld() {
+        // given
+        Account account = Account.builder()
+                .id(1L)
+                .accountNumber("1000000012")
+                .accountStatus(IN_USE)
+                .balance(9000L)
+                .build();
+        LocalDateTime issuedAt = LocalDateTime.now().minusMonths(15);
+        given(transactionIdGenerator.issuedAt("transactionId"))
+                .willReturn(Optional.of(issuedAt));
+        given(accountRepository.findByAccountNumber("1000000012"))
+                .willReturn(Optional.of(account));
+        given(transactionArchive.contains(1L, "transactionId", Optional.of(issuedAt)))
+                .willReturn(true);
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.cancelBalance("transactionId", "1000000012", 1000L));
+        // then
+        assertEquals(TOO_OLD_TRANSACTION_TO_CANCEL, exception.getErrorCode());
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.account.service.archive;
+
+import com.example.account.config.ArchiveProperties;
+import com.example.account.dto.TransactionHistoryItem;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import static com.example.account.type.TransactionResultType.S;
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionArchiveTest {
+    private static final LocalDateTime MIN = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime MAX = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("보관한 달을 다시 열어도 계좌별 거래를 최신순으로 읽음")
+    void findHistory_AfterReopen() throws Exception {
+        // given
+        TransactionArchive archive = new TransactionArchive(properties());
+        write(archive, YearMonth.of(2024, 1), 1L, 2L, 3L);
+        write(archive, YearMonth.of(2024, 2), 2L);
+
+        // when
+        TransactionArchive reopened = new TransactionArchive(properties());
+        List<TransactionHistoryItem> items = reopened.findHistory(2L, MIN, MAX, MAX, Long.MAX_VALUE, 1000);
+
+        // then
+        assertEquals(LocalDateTime.of(2024, 3, 1, 0, 0), reopened.getArchivedUntil().orElseThrow());
+        assertEquals(20, items.size());
+        assertEquals(LocalDateTime.of(2024, 2, 10, 0, 0), items.get(0).getTransactedAt());
+        assertEquals(LocalDateTime.of(2024, 1, 1, 0, 0), items.get(19).getTransactedAt());
+    }
+
+    @Test
+    @DisplayName("커서 이전 거래부터 limit 건만 읽음")
+    void findHistory_Cursor() throws Exception {
+        // given
+        TransactionArchive archive = new TransactionArchive(properties());
+        write(archive, YearMonth.of(2024, 1), 1L, 2L, 3L);
+        TransactionHistoryItem cursor = archive.findHistory(2L, MIN, MAX, MAX, Long.MAX_VALUE, 3).get(2);
+
+        // when
+        List<TransactionHistoryItem> items = archive.findHistory(
+                2L, MIN, MAX, cursor.getTransactedAt(), cursor.getId(), 3);
+
+        // then
+        assertEquals(3, items.size());
+        assertTrue(items.stream().allMatch(item -> item.getTransactedAt().isBefore(cursor.getTransactedAt())));
+        assertEquals(LocalDateTime.of(2024, 1, 7, 0, 0), items.get(0).getTransactedAt());
+    }
+
+    @Test
+    @DisplayName("보관되지 않은 계좌는 빈 결과")
+    void findHistory_UnknownAccount() throws Exception {
+        // given
+        TransactionArchive archive = new TransactionArchive(properties());
+        write(archive, YearMonth.of(2024, 1), 1L, 3L);
+
+        // when
+        List<TransactionHistoryItem> items = archive.findHistory(2L, MIN, MAX, MAX, Long.MAX_VALUE, 10);
+
+        // then
+        assertTrue(items.isEmpty());
+    }
+
+    @Test
+    @DisplayName("취소 대상이 보관됐는지 발급 시각이 있으면 보관 기준 시각으로, 없으면 계좌의 보관본에서 찾음")
+    void contains() throws Exception {
+        // given
+        TransactionArchive archive = new TransactionArchive(properties());
+        write(archive, YearMonth.of(2024, 1), 1L, 3L);
+
+        // when
+        // then
+        assertTrue(archive.contains(1L, "tx1105", Optional.empty()));
+        assertFalse(archive.contains(3L, "tx1105", Optional.empty()));
+        assertTrue(archive.contains(2L, "unknown", Optional.of(LocalDateTime.of(2024, 1, 31, 23, 59))));
+        assertFalse(archive.contains(2L, "unknown", Optional.of(LocalDateTime.of(2024, 2, 1, 0, 0))));
+    }
+
+    private ArchiveProperties properties() {
+        ArchiveProperties properties = new ArchiveProperties();
+        properties.setDirectory(directory.toString());
+        // 블록과 세그먼트 파일이 여러 개 생기도록 작게 잡는다.
+        properties.setBlockRows(4);
+        properties.setSegmentBytes(256);
+        return properties;
+    }
+
+    // 계좌마다 1일부터 10일까지 하루 한 건
+    private static void write(TransactionArchive archive, YearMonth month, long... accountIds) throws Exception {
+        try (ArchiveSegmentWriter writer = archive.newWriter(month)) {
+            for (long accountId : accountIds) {
+                for (int day = 1; day <= 10; day++) {
+                    long id = accountId * 1000 + month.getMonthValue() * 100 + day;
+                    writer.append(accountId, new TransactionHistoryItem(id, "tx" + id, USE, S, 1000L, 9000L,
+                            month.atDay(day).atStartOfDay()));
+                }
+            }
+            writer.finish();
+        }
+        archive.publish(month);
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.account.service.concurrency;
+
+import com.example.account.config.ConcurrencyLimitProperties;
+import com.example.account.metrics.ErrorCodeMetrics;
+import com.example.account.service.TransactionBatchService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+class AdaptiveConcurrencyLimiterTest {
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    @DisplayName("limit 만큼만 받고, 반납하면 다시 받음")
+    void tryAcquire_UpToLimit() {
+        // given
+        ConcurrencyLimitProperties properties = properties(2, 1, 10);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry, now::get);
+
+        // when
+        boolean first = limiter.tryAcquire();
+        boolean second = limiter.tryAcquire();
+        boolean third = limiter.tryAcquire();
+        limiter.release();
+
+        // then
+        assertTrue(first && second);
+        assertFalse(third);
+        assertTrue(limiter.tryAcquire());
+        assertEquals(1.0, meterRegistry.get("transaction.concurrency.rejected").counter().count());
+        assertEquals(2.0, meterRegistry.get("transaction.concurrency.inflight").gauge().value());
+    }
+
+    @Test
+    @DisplayName("지연이 그대로면 limit 을 늘리고, 평소보다 크게 늘면 줄임")
+    void onSample_GradientAdjustsLimit() {
+        // given
+        ConcurrencyLimitProperties properties = properties(20, 4, 100);
+        properties.setSmoothing(1.0);
+        AdaptiveConcurrencyLimiter limiter =
+                new AdaptiveConcurrencyLimiter(properties, new SimpleMeterRegistry(), now::get);
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire();
+        }
+
+        // when
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        limiter.onSample(TimeUnit.MILLISECONDS.toNanos(10));
+        int grown = limiter.getLimit();
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        limiter.onSample(TimeUnit.MILLISECONDS.toNanos(100));
+
+        // then
+        assertTrue(grown > 20);
+        assertTrue(limiter.getLimit() < grown);
+    }
+
+    @Test
+    @DisplayName("처리 중인 요청이 limit 의 절반보다 적으면 limit 을 바꾸지 않음")
+    void onSample_AppLimited_KeepsLimit() {
+        // given
+        AdaptiveConcurrencyLimiter limiter =
+                new AdaptiveConcurrencyLimiter(properties(20, 4, 100), new SimpleMeterRegistry(), now::get);
+        limiter.tryAcquire();
+
+        // when
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        limiter.onSample(TimeUnit.MILLISECONDS.toNanos(10));
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        limiter.onSample(TimeUnit.MILLISECONDS.toNanos(100));
+
+        // then
+        assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("DB 가 느려지면 limit 이 줄고 넘치는 요청은 필터에서 DB 에 닿기 전에 거절")
+    void slowDatabase_ShrinksLimit() throws Exception {
+        // given
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:concurrency-" + UUID.randomUUID()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE ALIAS PARK_NANOS FOR 'java.util.concurrent.locks.LockSupport.parkNanos'");
+        ConcurrencyLimitProperties properties = properties(8, 2, 16);
+        properties.setWindowMillis(50);
+        properties.setMinWindowSamples(5);
+        properties.setSmoothing(0.5);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, new SimpleMeterRegistry());
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limiter,
+                new ErrorCodeMetrics(new SimpleMeterRegistry()), new ObjectMapper(), 1);
+        AtomicLong delayNanos = new AtomicLong(TimeUnit.MILLISECONDS.toNanos(1));
+        AtomicInteger concurrentQueries = new AtomicInteger();
+        AtomicInteger maxConcurrentQueries = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicLong deadline = new AtomicLong(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(600));
+
+        // 지연 표본은 운영과 같이 aspect 가 TransactionBatchService 호출에서 잰다.
+        TransactionBatchService transactionBatchService = mock(TransactionBatchService.class, withSettings().stubOnly());
+        given(transactionBatchService.useBalanceForAccount(anyString(), anyList()))
+                .willAnswer(invocation -> {
+                    maxConcurrentQueries.accumulateAndGet(concurrentQueries.incrementAndGet(), Math::max);
+                    try {
+                        jdbcTemplate.execute("CALL PARK_NANOS(" + delayNanos.get() + ")");
+                    } finally {
+                        concurrentQueries.decrementAndGet();
+                    }
+                    return List.of();
+                });
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(transactionBatchService);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new TransactionServiceLatencyAspect(limiter));
+        TransactionBatchService sampled = proxyFactory.getProxy();
+        FilterChain chain = (request, response) -> sampled.useBalanceForAccount("1000000012", List.of());
+
+        int threads = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch fastPhaseDone = new CountDownLatch(threads);
+        CountDownLatch slowPhaseStarted = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                run(filter, chain, rejected, deadline);
+                fastPhaseDone.countDown();
+                slowPhaseStarted.await();
+                run(filter, chain, rejected, deadline);
+                return null;
+            }));
+        }
+        assertTrue(fastPhaseDone.await(10, TimeUnit.SECONDS));
+        int fastLimit = limiter.getLimit();
+        int fastRejected = rejected.get();
+        delayNanos.set(TimeUnit.MILLISECONDS.toNanos(40));
+        deadline.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(1500));
+        slowPhaseStarted.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // then
+        assertTrue(limiter.getLimit() < fastLimit,
+                "limit " + fastLimit + " -> " + limiter.getLimit());
+        assertTrue(rejected.get() > fastRejected);
+        assertTrue(maxConcurrentQueries.get() <= properties.getMaxLimit());
+        assertEquals(0, limiter.getInflight());
+    }
+
+    private static void run(ConcurrencyLimitFilter filter, FilterChain chain, AtomicInteger rejected,
+                            AtomicLong deadline) throws Exception {
+        while (System.nanoTime() < deadline.get()) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("POST", "/transaction/use/batch"), response, chain);
+            if (response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+                rejected.incrementAndGet();
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+        }
+    }
+
+    private static ConcurrencyLimitProperties properties(int initialLimit, int minLimit, int maxLimit) {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setEnabled(true);
+        properties.setInitialLimit(initialLimit);
+        properties.setMinLimit(minLimit);
+        properties.setMaxLimit(maxLimit);
+        properties.setMinWindowSamples(1);
+        return properties;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.account.service.concurrency;
+
+import com.example.account.config.ConcurrencyLimitProperties;
+import com.example.account.metrics.ErrorCodeMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+
+    @Test
+    @DisplayName("limit 에 걸리면 다음 필터로 넘기지 않고 503 과 Retry-After 로 응답")
+    void doFilter_OverLimit_ServiceUnavailable() throws Exception {
+        // given
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(1);
+        properties.setMinLimit(1);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(
+                limiter, new ErrorCodeMetrics(meterRegistry), new ObjectMapper(), 2);
+        limiter.tryAcquire();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+
+        // when
+        filter.doFilter(new MockHttpServletRequest("POST", "/transaction/use"), response, filterChain);
+
+        // then
+        assertEquals(503, response.getStatus());
+        assertEquals("2", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("SERVICE_OVERLOADED"));
+        assertNull(filterChain.getRequest());
+        assertEquals(1, limiter.getInflight());
+    }
+
+    @Test
+    @DisplayName("limit 안이면 처리하고 끝난 뒤 반납")
+    void doFilter_UnderLimit_Releases() throws Exception {
+        // given
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(
+                limiter, new ErrorCodeMetrics(meterRegistry), new ObjectMapper(), 1);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+
+        // when
+        filter.doFilter(new MockHttpServletRequest("POST", "/transaction/use"), response, filterChain);
+
+        // then
+        assertEquals(200, response.getStatus());
+        assertNotNull(filterChain.getRequest());
+        assertEquals(0, limiter.getInflight());
+    }
+}
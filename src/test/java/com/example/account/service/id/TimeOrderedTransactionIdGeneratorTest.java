@@ -0,0 +1,154 @@
+package com.example.account.service.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedTransactionIdGeneratorTest {
+
+    @Test
+    @DisplayName("거래 아이디는 32자리 16진수이며 노드 아이디를 포함")
+    void generate_Format() {
+        // given
+        TimeOrderedTransactionIdGenerator generator =
+                new TimeOrderedTransactionIdGenerator(Clock.systemUTC(), 0xABCD);
+        // when
+        String transactionId = generator.generate();
+        // then
+        assertTrue(transactionId.matches("[0-9a-f]{32}"));
+        assertEquals("abcd", transactionId.substring(16, 20));
+    }
+
+    @Test
+    @DisplayName("거래 아이디에서 발급 시각을 읽을 수 있음")
+    void issuedAt_FromTransactionId() {
+        // given
+        MutableClock clock = new MutableClock(1_700_000_000_123L);
+        TimeOrderedTransactionIdGenerator generator = new TimeOrderedTransactionIdGenerator(clock, 1);
+        // when
+        String transactionId = generator.generate();
+        // then
+        assertEquals(LocalDateTime.ofInstant(Instant.ofEpochMilli(1_700_000_000_123L), ZoneId.systemDefault()),
+                generator.issuedAt(transactionId).orElseThrow());
+        assertTrue(generator.issuedAt("not-a-transaction-id").isEmpty());
+    }
+
+    @Test
+    @DisplayName("도입일 이전이나 미래로 읽히는 예전 UUID 아이디는 발급 시각을 쓰지 않음")
+    void issuedAt_LegacyUuid_Empty() {
+        // given
+        MutableClock clock = new MutableClock(1_700_000_000_123L);
+        TimeOrderedTransactionIdGenerator generator =
+                new TimeOrderedTransactionIdGenerator(clock, 1, LocalDate.of(2023, 11, 1));
+        String current = generator.generate();
+        // when, then
+        assertTrue(generator.issuedAt(current).isPresent());
+        // 1973년으로 읽힌다.
+        assertTrue(generator.issuedAt("05e0a1f2c3d4e5f6a7b8c9d0e1f2a3b4").isEmpty());
+        // 2106년으로 읽힌다.
+        assertTrue(generator.issuedAt("fa3c9e1b7d2f4a6c8e0b1d3f5a7c9e1b").isEmpty());
+    }
+
+    @Test
+    @DisplayName("시계가 뒤로 가더라도 거래 아이디는 단조 증가")
+    void generate_MonotonicWhenClockGoesBackwards() {
+        // given
+        MutableClock clock = new MutableClock(1_700_000_000_000L);
+        TimeOrderedTransactionIdGenerator generator = new TimeOrderedTransactionIdGenerator(clock, 1);
+        // when
+        String first = generator.generate();
+        clock.millis -= 5_000;
+        String second = generator.generate();
+        clock.millis += 10_000;
+        String third = generator.generate();
+        // then
+        assertTrue(first.substring(0, 16).compareTo(second.substring(0, 16)) < 0);
+        assertTrue(second.substring(0, 16).compareTo(third.substring(0, 16)) < 0);
+    }
+
+    @Test
+    @DisplayName("2^41 ms(2039년 9월) 이후에도 시간순으로 증가하고 발급 시각을 읽을 수 있음")
+    void generate_AfterSignedMillisOverflow() {
+        // given
+        long overflowMillis = 1L << 41;
+        MutableClock clock = new MutableClock(overflowMillis - 1_000);
+        TimeOrderedTransactionIdGenerator generator = new TimeOrderedTransactionIdGenerator(clock, 1);
+        // when
+        String before = generator.generate();
+        clock.millis = overflowMillis + 1_000;
+        String after = generator.generate();
+        // then
+        assertTrue(before.substring(0, 16).compareTo(after.substring(0, 16)) < 0);
+        assertEquals(LocalDateTime.ofInstant(Instant.ofEpochMilli(overflowMillis + 1_000), ZoneId.systemDefault()),
+                generator.issuedAt(after).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("여러 스레드에서 동시에 생성해도 중복되지 않음")
+    void generate_Concurrently_Unique() throws Exception {
+        // given
+        TimeOrderedTransactionIdGenerator generator =
+                new TimeOrderedTransactionIdGenerator(Clock.systemUTC(), 7);
+        int threads = 8;
+        int idsPerThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<List<String>>> futures = new ArrayList<>();
+        // when
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                List<String> ids = new ArrayList<>(idsPerThread);
+                for (int j = 0; j < idsPerThread; j++) {
+                    ids.add(generator.generate());
+                }
+                return ids;
+            }));
+        }
+        Set<String> prefixes = ConcurrentHashMap.newKeySet();
+        for (Future<List<String>> future : futures) {
+            future.get(30, TimeUnit.SECONDS).forEach(id -> prefixes.add(id.substring(0, 16)));
+        }
+        executor.shutdown();
+        // then
+        assertEquals(threads * idsPerThread, prefixes.size());
+    }
+
+    private static class MutableClock extends Clock {
+        private long millis;
+
+        private MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.account.service.importer;
+
+import com.example.account.config.AccountImportProperties;
+import com.example.account.config.PasswordConfig;
+import com.example.account.config.PasswordProperties;
+import com.example.account.dto.AccountImport;
+import com.example.account.service.AccountNumberAllocator;
+import com.example.account.service.password.AccountPasswordVerifier;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.example.account.type.ErrorCode.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+
+// 내장 H2 에 실제로 배치 insert 해서 확인한다.
+@ExtendWith(MockitoExtension.class)
+class AccountImportServiceTest {
+    @Mock
+    private AccountNumberAllocator accountNumberAllocator;
+
+    private JdbcTemplate jdbcTemplate;
+    private AccountImportService accountImportService;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:import-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table account_user (id bigint auto_increment primary key, " +
+                "name varchar(255), created_at timestamp, updated_at timestamp)");
+        jdbcTemplate.execute("create table account (id bigint auto_increment primary key, " +
+                "account_user_id bigint, account_number varchar(20), account_password varchar(100), " +
+                "balance bigint, account_status varchar(20), account_name varchar(20), version bigint, " +
+                "created_at timestamp, updated_at timestamp, registered_at timestamp)");
+
+        AtomicLong accountNumbers = new AtomicLong(1_000_000_000L);
+        given(accountNumberAllocator.nextAccountNumber())
+                .willAnswer(invocation -> String.valueOf(accountNumbers.getAndIncrement()));
+
+        AccountImportProperties properties = new AccountImportProperties();
+        properties.setChunkSize(2);
+        properties.setHashThreads(2);
+        accountImportService = new AccountImportService(properties, accountNumberAllocator,
+                new AccountPasswordVerifier(PasswordConfig.createPasswordEncoder(4), new PasswordProperties(),
+                        new SimpleMeterRegistry()),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new ObjectMapper(),
+                jdbcTemplate,
+                new DataSourceTransactionManager(dataSource),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("새 사용자와 기존 사용자의 계좌를 chunk 로 나눠 넣고, 규칙에 맞지 않는 행은 거절")
+    void importAccounts_Csv() {
+        // given
+        jdbcTemplate.update("insert into account_user (id, name) values (10, 'Egg')");
+        for (int i = 0; i < 9; i++) {
+            jdbcTemplate.update("insert into account (account_user_id, account_number) values (10, ?)", "9" + i);
+        }
+        String csv = "user_id,user_key,user_name,account_password,initial_balance,account_name\n" +
+                ",p-1,Chicken,1234,1000,\n" +
+                ",p-1,,1234,2000,적금\n" +
+                "10,,,1234,0,열번째\n" +
+                "10,,,1234,0,열한번째\n" +
+                ",p-2,Duck,12,0,\n" +
+                ",p-3,Goose,1234,0,계좌명이열자리를넘어요\n";
+        List<AccountImport.Reject> listened = new ArrayList<>();
+        // when
+        AccountImport.Response response = accountImportService.importAccounts(
+                new StringReader(csv), ImportFormat.CSV, listened::add);
+        // then
+        assertEquals(6, response.getRowsRead());
+        assertEquals(1, response.getUsersCreated());
+        assertEquals(3, response.getAccountsCreated());
+        assertEquals(3, response.getRejected());
+        assertEquals(List.of(MAX_ACCOUNT_PER_USER_10, VALIDATION_FAILED, VALIDATION_FAILED),
+                response.getRejects().stream().map(AccountImport.Reject::getErrorCode).toList());
+        assertEquals(List.of(5L, 6L, 7L), listened.stream().map(AccountImport.Reject::getLine).toList());
+        assertEquals(List.of("Chicken", "적금"), jdbcTemplate.queryForList(
+                "select a.account_name from account a join account_user u on u.id = a.account_user_id " +
+                        "where u.name = 'Chicken' order by a.id", String.class));
+        assertEquals(10, jdbcTemplate.queryForObject(
+                "select count(*) from account where account_user_id = 10", Integer.class));
+        assertTrue(jdbcTemplate.queryForObject(
+                "select account_password from account where account_name = '적금'", String.class)
+                .startsWith("{bcrypt}"));
+    }
+
+    @Test
+    @DisplayName("읽지 못한 NDJSON 행과 없는 사용자는 거절하고 나머지는 가져옴")
+    void importAccounts_Ndjson() {
+        // given
+        String ndjson = "{\"user_key\":\"p-1\",\"user_name\":\"Egg\",\"account_password\":\"1234\"," +
+                "\"initial_balance\":100}\n" +
+                "{\"user_key\":\n" +
+                "{\"user_id\":99,\"account_password\":\"1234\",\"initial_balance\":100}\n" +
+                "{\"account_password\":\"1234\",\"initial_balance\":100}\n";
+        // when
+        AccountImport.Response response = accountImportService.importAccounts(
+                new StringReader(ndjson), ImportFormat.NDJSON, reject -> {});
+        // then
+        assertEquals(1, response.getAccountsCreated());
+        assertEquals(List.of(INVALID_IMPORT_ROW, USER_NOT_FOUND, INVALID_IMPORT_ROW),
+                response.getRejects().stream().map(AccountImport.Reject::getErrorCode).toList());
+        assertEquals(100L, jdbcTemplate.queryForObject("select balance from account", Long.class));
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.account.service.importer;
+
+import com.example.account.exception.AccountException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static com.example.account.type.ErrorCode.INVALID_IMPORT_ROW;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImportRowReaderTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("CSV 는 헤더 순서대로 읽고, 따옴표 안의 쉼표와 빈 값을 처리")
+    void next_Csv() throws IOException {
+        // given
+        String csv = "account_name,user_key,user_name,account_password,initial_balance\n" +
+                "\"생활비, 적금\",p-1,Egg,1234,1000\n" +
+                "\n" +
+                ",p-1,Egg,\"12\"\"4\",0\n";
+        // when
+        ImportRowReader reader = new ImportRowReader(new StringReader(csv), ImportFormat.CSV, objectMapper);
+        ImportRow first = reader.next();
+        ImportRow second = reader.next();
+        // then
+        assertEquals("생활비, 적금", first.getAccountName());
+        assertEquals("p-1", first.getUserKey());
+        assertEquals(1000L, first.getInitialBalance());
+        assertEquals(2, first.getLine());
+        assertNull(second.getAccountName());
+        assertEquals("12\"4", second.getAccountPassword());
+        assertEquals(4, second.getLine());
+        assertNull(reader.next());
+    }
+
+    @Test
+    @DisplayName("읽지 못한 행은 이유를 담아 돌려주고 다음 행을 계속 읽음")
+    void next_InvalidRows() throws IOException {
+        // given
+        String csv = "user_id,account_password,initial_balance\n" +
+                "1,1234,abc\n" +
+                "1,1234\n" +
+                "1,\"1234,0\n" +
+                "1,1234,0\n";
+        // when
+        ImportRowReader reader = new ImportRowReader(new StringReader(csv), ImportFormat.CSV, objectMapper);
+        // then
+        assertNotNull(reader.next().getError());
+        assertNotNull(reader.next().getError());
+        assertNotNull(reader.next().getError());
+        ImportRow valid = reader.next();
+        assertNull(valid.getError());
+        assertEquals(1L, valid.getUserId());
+    }
+
+    @Test
+    @DisplayName("모르는 열이 있는 CSV 헤더 - 가져오기 실패")
+    void constructor_UnknownColumn() {
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> new ImportRowReader(new StringReader("user_id,balance\n"), ImportFormat.CSV, objectMapper));
+        // then
+        assertEquals(INVALID_IMPORT_ROW, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("NDJSON 은 snake_case 필드로 읽고, 깨진 줄은 이유를 담아 돌려줌")
+    void next_Ndjson() throws IOException {
+        // given
+        String ndjson = "{\"user_id\":10,\"account_password\":\"1234\",\"initial_balance\":500}\n" +
+                "{\"user_id\":\n";
+        // when
+        ImportRowReader reader = new ImportRowReader(new StringReader(ndjson), ImportFormat.NDJSON, objectMapper);
+        ImportRow first = reader.next();
+        ImportRow second = reader.next();
+        // then
+        assertEquals(10L, first.getUserId());
+        assertEquals(500L, first.getInitialBalance());
+        assertNotNull(second.getError());
+        assertEquals(2, second.getLine());
+    }
+}
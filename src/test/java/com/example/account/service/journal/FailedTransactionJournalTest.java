@@ -0,0 +1,208 @@
+package com.example.account.service.journal;
+
+import com.example.account.config.FailedTransactionJournalProperties;
+import com.example.account.domain.Account;
+import com.example.account.domain.Transaction;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.service.TransactionService;
+import com.example.account.service.id.TransactionIdGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static com.example.account.type.TransactionResultType.F;
+import static com.example.account.type.TransactionType.CANCEL;
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FailedTransactionJournalTest {
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionIdGenerator transactionIdGenerator;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private FailedTransactionJournalProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new FailedTransactionJournalProperties();
+        properties.setCapacity(2);
+        properties.setBatchSize(10);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private FailedTransactionJournal newJournal() {
+        return new FailedTransactionJournal(properties, transactionService, transactionRepository,
+                accountRepository, transactionIdGenerator, transactionManager, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("쌓인 실패 기록을 계좌 일괄 조회 후 한 번에 저장")
+    void drainOnce_WritesBatch() throws Exception {
+        // given
+        properties.setCapacity(10);
+        FailedTransactionJournal journal = newJournal();
+        startWithoutWriter(journal);
+        given(accountRepository.findByAccountNumberIn(anyCollection()))
+                .willReturn(List.of(Account.builder()
+                        .accountNumber("1000000012")
+                        .balance(5000L)
+                        .build()));
+        journal.append(USE, "1000000012", 1000L);
+        journal.append(CANCEL, "1000000012", 2000L);
+        journal.append(USE, "9999999999", 3000L);
+        ArgumentCaptor<List<Transaction>> captor = ArgumentCaptor.forClass(List.class);
+        // when
+        int drained = journal.drainOnce(0);
+        // then
+        verify(accountRepository, times(1)).findByAccountNumberIn(anyCollection());
+        verify(transactionRepository, times(1)).saveAll(captor.capture());
+        assertEquals(3, drained);
+        assertEquals(2, captor.getValue().size());
+        assertEquals(F, captor.getValue().get(0).getTransactionResultType());
+        assertEquals(5000L, captor.getValue().get(0).getBalanceSnapshot());
+        assertEquals(CANCEL, captor.getValue().get(1).getTransactionType());
+        assertEquals(0, journal.depth());
+    }
+
+    @Test
+    @DisplayName("큐가 가득 찬 경우 DROP_NEWEST 정책이면 새 기록을 버림")
+    void append_DropNewest() {
+        // given
+        properties.setOverflowPolicy(JournalOverflowPolicy.DROP_NEWEST);
+        FailedTransactionJournal journal = newJournal();
+        startWithoutWriter(journal);
+        // when
+        journal.append(USE, "1000000012", 1000L);
+        journal.append(USE, "1000000012", 2000L);
+        journal.append(USE, "1000000012", 3000L);
+        // then
+        assertEquals(2, journal.depth());
+        assertEquals(1.0, meterRegistry.counter("transaction.failed.journal.dropped").count());
+        verify(transactionRepository, times(0)).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("큐가 가득 찬 경우 CALLER_RUNS 정책이면 요청 스레드에서 저장")
+    void append_CallerRuns() {
+        // given
+        properties.setOverflowPolicy(JournalOverflowPolicy.CALLER_RUNS);
+        FailedTransactionJournal journal = newJournal();
+        startWithoutWriter(journal);
+        // when
+        journal.append(USE, "1000000012", 1000L);
+        journal.append(USE, "1000000012", 2000L);
+        journal.append(USE, "1000000012", 3000L);
+        // then
+        assertEquals(2, journal.depth());
+        verify(transactionRepository, times(1)).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("저널을 끄면 기존처럼 바로 저장")
+    void append_Disabled_SavesSynchronously() {
+        // given
+        properties.setEnabled(false);
+        FailedTransactionJournal journal = newJournal();
+        // when
+        journal.append(USE, "1000000012", 1000L);
+        journal.append(CANCEL, "1000000012", 1000L);
+        // then
+        verify(transactionService, times(1)).saveFailedUseTransaction("1000000012", 1000L);
+        verify(transactionService, times(1)).saveFailedCancelTransaction("1000000012", 1000L);
+        assertEquals(0, journal.depth());
+    }
+
+    @Test
+    @DisplayName("종료 시 큐에 남은 기록을 모두 저장")
+    void stop_DrainsQueue() {
+        // given
+        properties.setCapacity(100);
+        FailedTransactionJournal journal = newJournal();
+        given(accountRepository.findByAccountNumberIn(anyCollection()))
+                .willReturn(List.of(Account.builder()
+                        .accountNumber("1000000012")
+                        .balance(0L)
+                        .build()));
+        journal.start();
+        for (int i = 0; i < 50; i++) {
+            journal.append(USE, "1000000012", 1000L);
+        }
+        // when
+        journal.stop();
+        // then
+        assertFalse(journal.isRunning());
+        assertEquals(0, journal.depth());
+        assertEquals(50.0, meterRegistry.counter("transaction.failed.journal.written").count());
+    }
+
+    @Test
+    @DisplayName("종료와 동시에 들어온 기록도 빠짐없이 저장")
+    void stop_ConcurrentAppends_NoLoss() throws Exception {
+        // given
+        properties.setCapacity(10_000);
+        FailedTransactionJournal journal = newJournal();
+        given(accountRepository.findByAccountNumberIn(anyCollection()))
+                .willReturn(List.of(Account.builder()
+                        .accountNumber("1000000012")
+                        .balance(0L)
+                        .build()));
+        journal.start();
+        int threads = 8;
+        int appendsPerThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch started = new CountDownLatch(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                started.countDown();
+                for (int j = 0; j < appendsPerThread; j++) {
+                    journal.append(USE, "1000000012", 1000L);
+                }
+            }));
+        }
+        // when
+        started.await();
+        journal.stop();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        // then
+        assertEquals(0, journal.depth());
+        assertEquals(threads * appendsPerThread,
+                meterRegistry.counter("transaction.failed.journal.written").count());
+    }
+
+    // writer 스레드 없이 큐만 받도록 한다.
+    private void startWithoutWriter(FailedTransactionJournal journal) {
+        ReflectionTestUtils.setField(journal, "running", true);
+    }
+}
@@ -0,0 +1,260 @@
+package com.example.account.service.ledger;
+
+import com.example.account.config.LedgerProperties;
+import com.example.account.config.PasswordConfig;
+import com.example.account.config.PasswordProperties;
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.domain.Transaction;
+import com.example.account.domain.TransactionIdempotency;
+import com.example.account.dto.TransactionDto;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountUserRepository;
+import com.example.account.repository.LedgerCheckpointRepository;
+import com.example.account.repository.TransactionIdempotencyRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.service.IdempotencyService;
+import com.example.account.service.archive.TransactionArchive;
+import com.example.account.service.id.TransactionIdGenerator;
+import com.example.account.service.password.AccountPasswordVerifier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.account.type.AccountStatus.IN_USE;
+import static com.example.account.type.TransactionType.USE;
+import static com.example.account.type.ErrorCode.ACCOUNT_ALREADY_UNREGISTERED;
+import static com.example.account.type.ErrorCode.AMOUNT_EXCEED_BALANCE;
+import static com.example.account.type.ErrorCode.BALANCE_NOT_EMPTY;
+import static com.example.account.type.ErrorCode.IDEMPOTENCY_KEY_REUSED;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class LedgerEngineTest {
+    @TempDir
+    Path walDirectory;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private AccountUserRepository accountUserRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransactionIdempotencyRepository transactionIdempotencyRepository;
+
+    @Mock
+    private LedgerCheckpointRepository ledgerCheckpointRepository;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    @Mock
+    private TransactionIdGenerator transactionIdGenerator;
+
+    @Mock
+    private TransactionArchive transactionArchive;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final LedgerProperties properties = new LedgerProperties();
+
+    @BeforeEach
+    void setUp() {
+        properties.setWalDirectory(walDirectory.toString());
+        properties.setPartitions(2);
+        properties.setFlushIntervalMillis(10);
+        properties.setShutdownTimeoutMillis(1000);
+
+        AccountUser user = AccountUser.builder()
+                .id(10L)
+                .name("Egg")
+                .build();
+        given(accountUserRepository.findById(10L))
+                .willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumber("1000000012"))
+                .willReturn(Optional.of(Account.builder()
+                        .id(1L)
+                        .accountUser(user)
+                        .accountNumber("1000000012")
+                        .accountPassword("1234")
+                        .accountStatus(IN_USE)
+                        .balance(10000L)
+                        .build()));
+        given(ledgerCheckpointRepository.findById(LedgerEngine.CHECKPOINT_NAME))
+                .willReturn(Optional.empty());
+        given(transactionIdGenerator.generate())
+                .willReturn("transactionId");
+    }
+
+    @Test
+    @DisplayName("메모리 잔액으로 차감하고, 계좌는 처음 한 번만 DB 에서 읽음")
+    void useBalance_AppliesInMemory() {
+        // given
+        LedgerEngine engine = newEngine();
+        engine.start();
+
+        // when
+        TransactionDto first = engine.useBalance(10L, "1000000012", "1234", 3000L);
+        AccountException exception = assertThrows(AccountException.class,
+                () -> engine.useBalance(10L, "1000000012", "1234", 8000L));
+        TransactionDto second = engine.useBalance(10L, "1000000012", "1234", 7000L);
+        engine.stop();
+
+        // then
+        assertEquals(7000L, first.getBalanceSnapshot());
+        assertEquals(AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+        assertEquals(0L, second.getBalanceSnapshot());
+        verify(accountRepository, times(1)).findByAccountNumber("1000000012");
+        verify(accountRepository, atLeastOnce()).updateBalance(eq(1L), eq(0L), any());
+    }
+
+    @Test
+    @DisplayName("해지는 DB 잔액이 아니라 메모리 잔액으로 확인하고, 이후 요청은 해지된 계좌로 거절")
+    void unregister_ChecksInMemoryBalance() {
+        // given
+        LedgerEngine engine = newEngine();
+        engine.start();
+        engine.useBalance(10L, "1000000012", "1234", 3000L);
+
+        // when
+        AccountException notEmpty = assertThrows(AccountException.class,
+                () -> engine.unregister("1000000012"));
+        engine.useBalance(10L, "1000000012", "1234", 7000L);
+        engine.unregister("1000000012");
+        AccountException unregistered = assertThrows(AccountException.class,
+                () -> engine.useBalance(10L, "1000000012", "1234", 0L));
+        engine.stop();
+
+        // then
+        assertEquals(BALANCE_NOT_EMPTY, notEmpty.getErrorCode());
+        assertEquals(ACCOUNT_ALREADY_UNREGISTERED, unregistered.getErrorCode());
+        verify(accountRepository).unregister(eq(1L), any());
+    }
+
+    @Test
+    @DisplayName("DB 반영 전의 멱등성 키 재시도는 처음 결과로 응답하고, 키는 재반영 때 거래와 함께 저장")
+    void useBalance_IdempotencyKeyBeforeFlush() {
+        // given
+        given(transactionManager.getTransaction(any()))
+                .willThrow(new TransactionSystemException("db down"));
+        LedgerEngine crashed = newEngine();
+        crashed.start();
+
+        // when
+        TransactionDto first = crashed.useBalance(10L, "1000000012", "1234", 3000L, "key");
+        TransactionDto retried = crashed.useBalance(10L, "1000000012", "1234", 3000L, "key");
+        AccountException reused = assertThrows(AccountException.class,
+                () -> crashed.useBalance(10L, "1000000012", "1234", 5000L, "key"));
+        crashed.stop();
+
+        reset(transactionManager);
+        given(transactionRepository.saveAll(anyList()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        LedgerEngine restarted = newEngine();
+        restarted.start();
+        restarted.stop();
+
+        // then
+        assertEquals(7000L, first.getBalanceSnapshot());
+        assertEquals(first.getTransactionId(), retried.getTransactionId());
+        assertEquals(7000L, retried.getBalanceSnapshot());
+        assertEquals(IDEMPOTENCY_KEY_REUSED, reused.getErrorCode());
+        verify(idempotencyService, times(1)).findResponse("key", USE, "1000000012", 3000L);
+        verify(transactionIdempotencyRepository).saveAll(argThat((List<TransactionIdempotency> idempotencies) ->
+                idempotencies.size() == 1 && "key".equals(idempotencies.get(0).getIdempotencyKey())));
+        verify(accountRepository).updateBalance(eq(1L), eq(7000L), any());
+    }
+
+    @Test
+    @DisplayName("DB 에 반영하지 못한 기록은 다시 기동할 때 WAL 에서 재반영")
+    void start_ReplaysUnflushedEntries() {
+        // given
+        given(transactionManager.getTransaction(any()))
+                .willThrow(new TransactionSystemException("db down"));
+        LedgerEngine crashed = newEngine();
+        crashed.start();
+        crashed.useBalance(10L, "1000000012", "1234", 1000L);
+        crashed.stop();
+
+        reset(transactionManager);
+        LedgerEngine restarted = newEngine();
+
+        // when
+        restarted.start();
+        restarted.stop();
+
+        // then
+        ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepository).saveAll(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        verify(accountRepository).updateBalance(eq(1L), eq(9000L), any());
+        assertEquals(1L, restarted.getFlushedSequence());
+    }
+
+    @Test
+    @DisplayName("데이터 오류로 계속 실패하는 기록만 dead-letter 로 보내고 나머지는 반영")
+    void flush_PoisonEntry_DeadLettered() throws Exception {
+        // given
+        properties.setFlushMaxAttempts(2);
+        given(transactionIdGenerator.generate())
+                .willReturn("first", "poison", "third");
+        given(transactionRepository.saveAll(argThat((List<Transaction> transactions) -> transactions.stream()
+                .anyMatch(transaction -> "poison".equals(transaction.getTransactionId())))))
+                .willThrow(new DataIntegrityViolationException("duplicate"));
+        LedgerEngine engine = newEngine();
+        engine.start();
+
+        // when
+        engine.useBalance(10L, "1000000012", "1234", 1000L);
+        engine.useBalance(10L, "1000000012", "1234", 1000L);
+        engine.useBalance(10L, "1000000012", "1234", 1000L);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (engine.getFlushedSequence() < 3 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        engine.stop();
+
+        // then
+        assertEquals(3L, engine.getFlushedSequence());
+        verify(accountRepository).updateBalance(eq(1L), eq(7000L), any());
+        List<String> deadLetters = Files.readAllLines(walDirectory.resolve(LedgerEngine.DEAD_LETTER_FILE));
+        assertEquals(1, deadLetters.size());
+        assertTrue(deadLetters.get(0).startsWith("2,USE,1,1000000012,poison,1000,8000,"));
+        verify(ledgerCheckpointRepository).save(argThat(checkpoint -> checkpoint.getSequence() == 2L));
+    }
+
+    private LedgerEngine newEngine() {
+        return new LedgerEngine(properties, accountRepository, accountUserRepository, transactionRepository,
+                transactionIdempotencyRepository, ledgerCheckpointRepository, transactionIdGenerator,
+                new AccountPasswordVerifier(PasswordConfig.createPasswordEncoder(4), new PasswordProperties(),
+                        new SimpleMeterRegistry()),
+                idempotencyService, transactionArchive, transactionManager, new SimpleMeterRegistry());
+    }
+}
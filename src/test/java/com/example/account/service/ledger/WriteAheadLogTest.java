@@ -0,0 +1,134 @@
+package com.example.account.service.ledger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteAheadLogTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("다시 열면 체크포인트 이후의 기록만 돌려주고 시퀀스를 이어서 발급")
+    void open_ReturnsEntriesAfterCheckpoint() throws IOException {
+        // given
+        List<LedgerEntry> durable = new ArrayList<>();
+        WriteAheadLog wal = new WriteAheadLog(directory, 1024 * 1024, 16, durable::addAll);
+        wal.open(0);
+        for (int i = 1; i <= 3; i++) {
+            wal.append(entry("tx" + i, 10_000L - i * 1000L)).join();
+        }
+        wal.close();
+
+        // when
+        WriteAheadLog reopened = new WriteAheadLog(directory, 1024 * 1024, 16, entries -> {
+        });
+        List<LedgerEntry> unflushed = reopened.open(1);
+        LedgerEntry next = reopened.append(entry("tx4", 6000L)).join();
+        reopened.close();
+
+        // then
+        assertEquals(3, durable.size());
+        assertEquals(List.of(2L, 3L), unflushed.stream().map(LedgerEntry::getSequence).toList());
+        assertEquals("tx2", unflushed.get(0).getTransactionId());
+        assertEquals(8000L, unflushed.get(0).getBalanceSnapshot());
+        assertEquals(4L, next.getSequence());
+    }
+
+    @Test
+    @DisplayName("마지막 세그먼트 끝의 깨진 레코드는 잘라내고 복구")
+    void open_TruncatesTornTail() throws IOException {
+        // given
+        WriteAheadLog wal = new WriteAheadLog(directory, 1024 * 1024, 16, entries -> {
+        });
+        wal.open(0);
+        wal.append(entry("tx1", 9000L)).join();
+        wal.append(entry("tx2", 8000L)).join();
+        wal.close();
+        Path segment = segments().get(0);
+        long validSize = Files.size(segment);
+        Files.write(segment, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        // when
+        WriteAheadLog reopened = new WriteAheadLog(directory, 1024 * 1024, 16, entries -> {
+        });
+        List<LedgerEntry> unflushed = reopened.open(0);
+        reopened.close();
+
+        // then
+        assertEquals(2, unflushed.size());
+        assertEquals(validSize, Files.size(segment));
+    }
+
+    @Test
+    @DisplayName("DB 반영이 끝난 세그먼트만 삭제")
+    void deleteSegmentsUpTo_KeepsUnflushedSegments() throws IOException {
+        // given
+        WriteAheadLog wal = new WriteAheadLog(directory, 1, 16, entries -> {
+        });
+        wal.open(0);
+        for (int i = 1; i <= 3; i++) {
+            wal.append(entry("tx" + i, 10_000L - i * 1000L)).join();
+        }
+
+        // when
+        wal.deleteSegmentsUpTo(2);
+        wal.close();
+
+        // then
+        WriteAheadLog reopened = new WriteAheadLog(directory, 1, 16, entries -> {
+        });
+        List<LedgerEntry> unflushed = reopened.open(2);
+        reopened.close();
+        assertEquals(List.of(3L), unflushed.stream().map(LedgerEntry::getSequence).toList());
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    @Test
+    @DisplayName("멱등성 키는 기록과 함께 남고, 키 없는 기록은 null 로 읽음")
+    void open_KeepsIdempotencyKey() throws IOException {
+        // given
+        WriteAheadLog wal = new WriteAheadLog(directory, 1024 * 1024, 16, entries -> {
+        });
+        wal.open(0);
+        wal.append(entry("tx1", 9000L, "key-1")).join();
+        wal.append(entry("tx2", 8000L)).join();
+        wal.close();
+
+        // when
+        WriteAheadLog reopened = new WriteAheadLog(directory, 1024 * 1024, 16, entries -> {
+        });
+        List<LedgerEntry> unflushed = reopened.open(0);
+        reopened.close();
+
+        // then
+        assertEquals("key-1", unflushed.get(0).getIdempotencyKey());
+        assertNull(unflushed.get(1).getIdempotencyKey());
+    }
+
+    private static LedgerEntry entry(String transactionId, long balanceSnapshot) {
+        return entry(transactionId, balanceSnapshot, null);
+    }
+
+    private static LedgerEntry entry(String transactionId, long balanceSnapshot, String idempotencyKey) {
+        return new LedgerEntry(0, USE, 1L, "1000000012", transactionId, 1000L, balanceSnapshot,
+                LocalDateTime.of(2024, 5, 1, 12, 0, 0, 123_000), idempotencyKey);
+    }
+}
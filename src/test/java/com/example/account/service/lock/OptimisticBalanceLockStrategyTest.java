@@ -0,0 +1,58 @@
+package com.example.account.service.lock;
+
+import com.example.account.config.BalanceLockProperties;
+import com.example.account.exception.AccountException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.account.type.ErrorCode.TRANSACTION_IN_PROGRESS;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimisticBalanceLockStrategyTest {
+    private OptimisticBalanceLockStrategy strategy;
+
+    @BeforeEach
+    void setUp() {
+        BalanceLockProperties properties = new BalanceLockProperties();
+        properties.setOptimisticMaxAttempts(3);
+        properties.setOptimisticBackoffMillis(0);
+        strategy = new OptimisticBalanceLockStrategy(properties);
+    }
+
+    @Test
+    @DisplayName("버전 충돌 후 재시도에 성공하면 결과를 반환")
+    void execute_RetriesOnConflict() {
+        // given
+        AtomicInteger attempts = new AtomicInteger();
+        // when
+        String result = strategy.execute("1000000012", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException("Account", 1L);
+            }
+            return "done";
+        });
+        // then
+        assertEquals("done", result);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    @DisplayName("재시도 횟수를 모두 소진하면 실패")
+    void execute_RetriesExhausted() {
+        // given
+        AtomicInteger attempts = new AtomicInteger();
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> strategy.execute("1000000012", () -> {
+                    attempts.incrementAndGet();
+                    throw new ObjectOptimisticLockingFailureException("Account", 1L);
+                }));
+        // then
+        assertEquals(TRANSACTION_IN_PROGRESS, exception.getErrorCode());
+        assertEquals(3, attempts.get());
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.account.service.partition;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionPartitionMaintainerTest {
+
+    @Test
+    @DisplayName("앞으로 쓸 달의 파티션을 p_future 에서 떼어냄")
+    void plan_AddsUpcomingMonths() {
+        // given
+        List<String> partitions = List.of("p202609", "p202610", "p_future");
+        // when
+        List<String> statements = TransactionPartitionMaintainer.plan(YearMonth.of(2026, 10), partitions, 2, 0);
+        // then
+        assertEquals(List.of("ALTER TABLE `transaction` REORGANIZE PARTITION p_future INTO (" +
+                "PARTITION p202611 VALUES LESS THAN ('2026-12-01'), " +
+                "PARTITION p202612 VALUES LESS THAN ('2027-01-01'), " +
+                "PARTITION p_future VALUES LESS THAN (MAXVALUE))"), statements);
+    }
+
+    @Test
+    @DisplayName("이미 만들어 둔 달은 다시 만들지 않음")
+    void plan_NothingToAdd() {
+        // given
+        List<String> partitions = List.of("p202610", "p202611", "p202612", "p_future");
+        // when
+        List<String> statements = TransactionPartitionMaintainer.plan(YearMonth.of(2026, 10), partitions, 2, 0);
+        // then
+        assertTrue(statements.isEmpty());
+    }
+
+    @Test
+    @DisplayName("보존 기간이 지난 파티션은 지우되 취소 가능한 13개월은 남김")
+    void plan_DropsExpiredMonths() {
+        // given
+        List<String> partitions = List.of("p202508", "p202509", "p202510", "p202511", "p202610", "p_future");
+        // when
+        List<String> statements = TransactionPartitionMaintainer.plan(YearMonth.of(2026, 10), partitions, 0, 6);
+        // then
+        assertEquals(List.of("ALTER TABLE `transaction` DROP PARTITION p202508, p202509"), statements);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.account.service.password;
+
+import com.example.account.config.PasswordConfig;
+import com.example.account.config.PasswordProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountPasswordVerifierTest {
+    private SimpleMeterRegistry meterRegistry;
+    private AccountPasswordVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        verifier = new AccountPasswordVerifier(
+                PasswordConfig.createPasswordEncoder(4), new PasswordProperties(), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("비밀번호는 bcrypt 해시로 저장")
+    void encode_Bcrypt() {
+        // given
+        // when
+        String encoded = verifier.encode("1234");
+        // then
+        assertTrue(encoded.startsWith("{bcrypt}"));
+        assertTrue(verifier.isEncoded(encoded));
+        assertFalse(verifier.isEncoded("1234"));
+    }
+
+    @Test
+    @DisplayName("한 번 검증에 성공하면 저장된 비밀번호를 다시 읽거나 해시하지 않음")
+    void matches_CachedAfterSuccess() {
+        // given
+        String encoded = verifier.encode("1234");
+        AtomicInteger reads = new AtomicInteger();
+        Supplier<String> stored = () -> {
+            reads.incrementAndGet();
+            return encoded;
+        };
+        // when
+        boolean first = verifier.matches(1L, "1234", stored);
+        boolean second = verifier.matches(1L, "1234", stored);
+        // then
+        assertTrue(first);
+        assertTrue(second);
+        assertEquals(1, reads.get());
+        assertEquals(1.0, meterRegistry.get("account.password.hash.verifications").counter().count());
+    }
+
+    @Test
+    @DisplayName("검증 실패는 기억하지 않고, 다른 계좌의 성공으로 통과되지 않음")
+    void matches_FailureNotCached() {
+        // given
+        String encoded = verifier.encode("1234");
+        AtomicInteger reads = new AtomicInteger();
+        Supplier<String> stored = () -> {
+            reads.incrementAndGet();
+            return encoded;
+        };
+        verifier.matches(1L, "1234", stored);
+        // when
+        boolean wrongPassword = verifier.matches(1L, "2345", stored);
+        boolean wrongPasswordAgain = verifier.matches(1L, "2345", stored);
+        boolean otherAccount = verifier.matches(2L, "1234", () -> verifier.encode("5678"));
+        // then
+        assertFalse(wrongPassword);
+        assertFalse(wrongPasswordAgain);
+        assertFalse(otherAccount);
+        assertEquals(3, reads.get());
+    }
+
+    @Test
+    @DisplayName("해시로 바꾸기 전의 평문 비밀번호도 검증")
+    void matches_LegacyPlainText() {
+        // given
+        // when
+        // then
+        assertTrue(verifier.matches(1L, "1234", () -> "1234"));
+        assertFalse(verifier.matches(2L, "2345", () -> "1234"));
+    }
+}
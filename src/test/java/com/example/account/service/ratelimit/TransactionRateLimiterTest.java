@@ -0,0 +1,77 @@
+package com.example.account.service.ratelimit;
+
+import com.example.account.config.RateLimitProperties;
+import com.example.account.exception.AccountException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.example.account.type.ErrorCode.TOO_MANY_REQUESTS;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionRateLimiterTest {
+    private final AtomicLong now = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("용량을 넘으면 거절하고, 시간이 지나 채워진 만큼 다시 허용")
+    void acquire_RefillsOverTime() {
+        // given
+        TransactionRateLimiter limiter = limiter(new RateLimitProperties.Limit(2, 1, 0, 0));
+        limiter.acquire("use", 10L, "1000000012");
+        limiter.acquire("use", 10L, "1000000012");
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> limiter.acquire("use", 10L, "1000000012"));
+        now.addAndGet(1_000_000_000L);
+
+        // then
+        assertEquals(TOO_MANY_REQUESTS, exception.getErrorCode());
+        assertDoesNotThrow(() -> limiter.acquire("use", 10L, "1000000012"));
+        assertDoesNotThrow(() -> limiter.acquire("use", 20L, "1000000012"));
+        assertEquals(1.0, meterRegistry.get("transaction.rate.limited")
+                .tag("endpoint", "use").tag("key", "user").counter().count());
+    }
+
+    @Test
+    @DisplayName("계좌 한도로 거절되면 사용자 버킷의 토큰은 돌려줌")
+    void acquire_AccountRejected_ReleasesUserToken() {
+        // given
+        TransactionRateLimiter limiter = limiter(new RateLimitProperties.Limit(2, 0, 1, 0));
+        limiter.acquire("use", 10L, "1000000012");
+
+        // when
+        assertThrows(AccountException.class, () -> limiter.acquire("use", 10L, "1000000012"));
+
+        // then
+        assertDoesNotThrow(() -> limiter.acquire("use", 10L, "1000000013"));
+        assertThrows(AccountException.class, () -> limiter.acquire("use", 10L, "1000000014"));
+    }
+
+    @Test
+    @DisplayName("실행 중에 바꾼 한도가 기존 버킷에도 바로 적용")
+    void updateLimit_AppliesToExistingBuckets() {
+        // given
+        TransactionRateLimiter limiter = limiter(new RateLimitProperties.Limit(1, 0, 0, 0));
+        limiter.acquire("use", 10L, "1000000012");
+
+        // when
+        limiter.updateLimit("use", new RateLimitProperties.Limit(0, 0, 0, 0));
+
+        // then
+        assertDoesNotThrow(() -> limiter.acquire("use", 10L, "1000000012"));
+        assertEquals(0, limiter.getLimits().get("use").getUserCapacity());
+    }
+
+    private TransactionRateLimiter limiter(RateLimitProperties.Limit limit) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setEnabled(true);
+        properties.setStripes(4);
+        properties.setEndpoints(Map.of("use", limit));
+        return new TransactionRateLimiter(properties, meterRegistry, now::get);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.account.service.reconciliation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.example.account.type.TransactionResultType.F;
+import static com.example.account.type.TransactionResultType.S;
+import static com.example.account.type.TransactionType.CANCEL;
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BalanceChainTest {
+
+    @Test
+    @DisplayName("사용/취소 금액이 스냅샷에 이어서 반영되고 잔액이 마지막 스냅샷과 같으면 어긋남 없음")
+    void accept_ConsistentChain() {
+        // given
+        BalanceChain chain = new BalanceChain(1L);
+        // when
+        // then
+        assertNull(chain.accept("tx1", USE, S, 1000L, 9000L));
+        assertNull(chain.accept("tx2", USE, F, 50000L, 9000L));
+        assertNull(chain.accept("tx3", CANCEL, S, 1000L, 10000L));
+        assertNull(chain.accept("tx4", USE, S, 500L, 9500L));
+        assertNull(chain.finish(9500L));
+    }
+
+    @Test
+    @DisplayName("스냅샷이 끊긴 거래는 한 번만 보고하고 그 스냅샷부터 다시 이어서 확인")
+    void accept_SnapshotDrift() {
+        // given
+        BalanceChain chain = new BalanceChain(1L);
+        chain.accept("tx1", USE, S, 1000L, 9000L);
+        // when
+        BalanceDrift drift = chain.accept("tx2", USE, S, 1000L, 7000L);
+        BalanceDrift next = chain.accept("tx3", USE, S, 1000L, 6000L);
+        // then
+        assertEquals(BalanceDrift.Kind.SNAPSHOT, drift.getKind());
+        assertEquals("tx2", drift.getTransactionId());
+        assertEquals(8000L, drift.getExpected());
+        assertEquals(7000L, drift.getActual());
+        assertNull(next);
+    }
+
+    @Test
+    @DisplayName("계좌 잔액이 마지막 스냅샷과 다르면 잔액 어긋남")
+    void finish_BalanceDrift() {
+        // given
+        BalanceChain chain = new BalanceChain(1L);
+        chain.accept("tx1", USE, S, 1000L, 9000L);
+        // when
+        BalanceDrift drift = chain.finish(8000L);
+        // then
+        assertEquals(BalanceDrift.Kind.BALANCE, drift.getKind());
+        assertEquals(9000L, drift.getExpected());
+        assertEquals(8000L, drift.getActual());
+        assertNull(new BalanceChain(2L).finish(8000L));
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.account.service.reconciliation;
+
+import com.example.account.config.ReconciliationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 내장 H2(MySQL 모드)에 계좌와 거래를 넣고 구간을 나눠 대사한다.
+class BalanceReconcilerTest {
+    private static final LocalDateTime START = LocalDateTime.now().minusDays(1);
+
+    private JdbcTemplate jdbcTemplate;
+    private BalanceReconciler balanceReconciler;
+    private long transactionSequence;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:reconcile-" + UUID.randomUUID() +
+                ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table account (id bigint primary key, balance bigint, updated_at timestamp)");
+        jdbcTemplate.execute("create table `transaction` (id bigint primary key, account_id bigint, " +
+                "transaction_id varchar(32), transaction_type varchar(10), transaction_result_type varchar(1), " +
+                "amount bigint, balance_snapshot bigint, transacted_at timestamp)");
+
+        ReconciliationProperties properties = new ReconciliationProperties();
+        properties.setParallelism(2);
+        properties.setAccountsPerTask(2);
+        balanceReconciler = new BalanceReconciler(properties, jdbcTemplate, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("여러 작업으로 나눠 읽어도 모든 계좌를 확인하고 어긋난 계좌만 보고")
+    void reconcile_ReportsDrifts() {
+        // given
+        account(1L, 8000L, START);
+        transaction(1L, "USE", "S", 1000L, 9000L);
+        transaction(1L, "USE", "S", 1000L, 8000L);
+        account(2L, 5000L, START);
+        transaction(2L, "USE", "S", 1000L, 4000L);
+        account(3L, 10000L, START);
+        transaction(3L, "USE", "S", 1000L, 9000L);
+        transaction(3L, "USE", "S", 1000L, 7000L);
+        transaction(3L, "CANCEL", "S", 3000L, 10000L);
+        account(4L, 10000L, START);
+        account(5L, 3000L, LocalDateTime.now());
+        transaction(5L, "USE", "S", 1000L, 2000L);
+        // when
+        ReconciliationReport report = balanceReconciler.reconcile();
+        // then
+        assertEquals(5, report.getAccounts());
+        assertEquals(7, report.getTransactions());
+        assertEquals(1, report.getSkippedAccounts());
+        assertEquals(1, report.getBalanceDrifts());
+        assertEquals(1, report.getSnapshotDrifts());
+        assertTrue(report.getDrifts().stream().anyMatch(drift ->
+                drift.getAccountId() == 2L && drift.getKind() == BalanceDrift.Kind.BALANCE));
+        assertTrue(report.getDrifts().stream().anyMatch(drift ->
+                drift.getAccountId() == 3L && drift.getKind() == BalanceDrift.Kind.SNAPSHOT));
+    }
+
+    @Test
+    @DisplayName("계좌가 없으면 빈 결과")
+    void reconcile_NoAccounts() {
+        // when
+        ReconciliationReport report = balanceReconciler.reconcile();
+        // then
+        assertEquals(0, report.getAccounts());
+        assertTrue(report.getDrifts().isEmpty());
+    }
+
+    private void account(long id, long balance, LocalDateTime updatedAt) {
+        jdbcTemplate.update("insert into account (id, balance, updated_at) values (?, ?, ?)",
+                id, balance, Timestamp.valueOf(updatedAt));
+    }
+
+    private void transaction(long accountId, String type, String result, long amount, long snapshot) {
+        transactionSequence++;
+        jdbcTemplate.update("insert into `transaction` (id, account_id, transaction_id, transaction_type, " +
+                        "transaction_result_type, amount, balance_snapshot, transacted_at) " +
+                        "values (?, ?, ?, ?, ?, ?, ?, ?)",
+                transactionSequence, accountId, "tx" + transactionSequence, type, result, amount, snapshot,
+                Timestamp.valueOf(START.plusMinutes(transactionSequence)));
+    }
+}
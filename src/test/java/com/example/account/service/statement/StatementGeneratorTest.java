@@ -0,0 +1,134 @@
+package com.example.account.service.statement;
+
+import com.example.account.config.StatementProperties;
+import com.example.account.domain.StatementCheckpoint;
+import com.example.account.repository.StatementCheckpointRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// 내장 H2(MySQL 모드)의 거래로 명세서 파일을 만든다.
+@ExtendWith(MockitoExtension.class)
+class StatementGeneratorTest {
+    private static final YearMonth MONTH = YearMonth.of(2024, 5);
+
+    @Mock
+    private StatementCheckpointRepository statementCheckpointRepository;
+
+    @TempDir
+    private Path directory;
+
+    private JdbcTemplate jdbcTemplate;
+    private StatementGenerator statementGenerator;
+    private long transactionSequence;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:statement-" + UUID.randomUUID() +
+                ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table account (id bigint primary key, account_number varchar(10))");
+        jdbcTemplate.execute("create table `transaction` (id bigint primary key, account_id bigint, " +
+                "transaction_id varchar(32), transaction_type varchar(10), transaction_result_type varchar(1), " +
+                "amount bigint, balance_snapshot bigint, transacted_at timestamp)");
+        for (long id = 1; id <= 3; id++) {
+            jdbcTemplate.update("insert into account (id, account_number) values (?, ?)", id, "100000000" + id);
+        }
+
+        StatementProperties properties = new StatementProperties();
+        properties.setDirectory(directory.toString());
+        properties.setWorkers(2);
+        properties.setAccountsPerFile(2);
+        statementGenerator = new StatementGenerator(properties, statementCheckpointRepository,
+                jdbcTemplate, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("계좌 id 구간별 파일에 그 달 거래가 있는 계좌의 명세서를 쓰고 구간마다 체크포인트를 남김")
+    void generate_WritesStatementsPerRange() throws IOException {
+        // given
+        given(statementCheckpointRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        transaction(1L, "USE", "S", 1000L, 9000L, MONTH.atDay(3));
+        transaction(1L, "USE", "F", 50000L, 9000L, MONTH.atDay(4));
+        transaction(1L, "CANCEL", "S", 1000L, 10000L, MONTH.atDay(5));
+        transaction(1L, "USE", "S", 500L, 9500L, MONTH.plusMonths(1).atDay(1));
+        transaction(3L, "USE", "S", 2000L, 3000L, MONTH.atDay(10));
+        // when
+        statementGenerator.generate(MONTH);
+        // then
+        List<String> first = Files.readAllLines(directory.resolve("2024-05/statements-1-2.txt"));
+        assertEquals("# statement 2024-05 account 1000000001", first.get(0));
+        assertEquals(StatementWriter.HEADER, first.get(1));
+        assertEquals(3, first.stream().filter(line -> line.contains(",USE,") || line.contains(",CANCEL,")).count());
+        assertEquals("# opening_balance=10000 used=1000 cancelled=1000 closing_balance=10000", first.get(5));
+        List<String> second = Files.readAllLines(directory.resolve("2024-05/statements-3-4.txt"));
+        assertEquals("# opening_balance=5000 used=2000 cancelled=0 closing_balance=3000", second.get(3));
+        try (var files = Files.list(directory.resolve("2024-05"))) {
+            assertTrue(files.noneMatch(file -> file.toString().endsWith(".tmp")));
+        }
+
+        ArgumentCaptor<StatementCheckpoint> captor = ArgumentCaptor.forClass(StatementCheckpoint.class);
+        verify(statementCheckpointRepository, times(2)).save(captor.capture());
+        assertEquals(List.of(1L, 3L), captor.getAllValues().stream()
+                .map(StatementCheckpoint::getFromAccountId).sorted().toList());
+    }
+
+    @Test
+    @DisplayName("체크포인트가 남은 구간은 건너뛰고 나머지 구간만 다시 만듦")
+    void generate_ResumesFromCheckpoint() {
+        // given
+        given(statementCheckpointRepository.findByStatementMonth("2024-05"))
+                .willReturn(List.of(StatementCheckpoint.builder()
+                        .statementMonth("2024-05")
+                        .fromAccountId(1L)
+                        .toAccountId(3L)
+                        .build()));
+        given(statementCheckpointRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        transaction(1L, "USE", "S", 1000L, 9000L, MONTH.atDay(3));
+        transaction(3L, "USE", "S", 2000L, 3000L, MONTH.atDay(10));
+        // when
+        statementGenerator.generate(MONTH);
+        // then
+        assertFalse(Files.exists(directory.resolve("2024-05/statements-1-2.txt")));
+        assertTrue(Files.exists(directory.resolve("2024-05/statements-3-4.txt")));
+        verify(statementCheckpointRepository, times(1)).save(any());
+    }
+
+    private void transaction(long accountId, String type, String result, long amount, long snapshot,
+                             LocalDate day) {
+        transactionSequence++;
+        LocalDateTime transactedAt = day.atTime(12, 0);
+        jdbcTemplate.update("insert into `transaction` (id, account_id, transaction_id, transaction_type, " +
+                        "transaction_result_type, amount, balance_snapshot, transacted_at) " +
+                        "values (?, ?, ?, ?, ?, ?, ?, ?)",
+                transactionSequence, accountId, "tx" + transactionSequence, type, result, amount, snapshot,
+                Timestamp.valueOf(transactedAt));
+    }
+}